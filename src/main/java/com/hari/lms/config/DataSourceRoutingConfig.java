@@ -0,0 +1,98 @@
+package com.hari.lms.config;
+
+import com.hari.lms.datasource.DataSourceRole;
+import com.hari.lms.datasource.ReadWriteRoutingDataSource;
+import com.hari.lms.datasource.ReplicaLagMonitor;
+import com.hari.lms.datasource.ReplicaRoutingPolicy;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for read/write splitting between the primary database and a
+ * read replica. Enabled with app.datasource.routing.enabled=true; the primary
+ * uses the regular spring.datasource settings and the replica is configured
+ * under app.datasource.replica.
+ *
+ * @author Hari Parthu
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Connection pool for the primary (read-write) database.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("lms-primary");
+        return dataSource;
+    }
+
+    /**
+     * Connection pool for the read replica.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("lms-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingPolicy replicaRoutingPolicy(
+            @Value("${app.datasource.routing.max-replica-lag:5s}") Duration maxReplicaLag,
+            @Value("${app.datasource.routing.read-your-writes-window:10s}") Duration readYourWritesWindow) {
+        return new ReplicaRoutingPolicy(maxReplicaLag, readYourWritesWindow);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRoutingPolicy replicaRoutingPolicy,
+            @Value("${app.datasource.routing.replica-lag-query:}") String lagQuery) {
+        return new ReplicaLagMonitor(replicaDataSource, replicaRoutingPolicy, lagQuery);
+    }
+
+    /**
+     * Routing data source used by JPA. The lazy proxy defers fetching a
+     * physical connection until the first statement, by which time the
+     * transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaRoutingPolicy replicaRoutingPolicy) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(DataSourceRole.PRIMARY, primaryDataSource);
+        targetDataSources.put(DataSourceRole.REPLICA, replicaDataSource);
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaRoutingPolicy);
+        routingDataSource.setTargetDataSources(targetDataSources);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
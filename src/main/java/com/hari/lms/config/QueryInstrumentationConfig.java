@@ -0,0 +1,60 @@
+package com.hari.lms.config;
+
+import com.hari.lms.monitoring.QueryMetricsFilter;
+import com.hari.lms.monitoring.QueryStatsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration for per-request SQL instrumentation. Wraps the application
+ * DataSource in a JDBC proxy that counts statements, rows and database time,
+ * and registers the filter that turns them into metrics.
+ *
+ * @author Hari Parthu
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    /**
+     * Wrap the "dataSource" bean (plain or routing) in the statistics proxy.
+     */
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourcePostProcessor() {
+        QueryStatsListener listener = new QueryStatsListener();
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("lms")
+                            .listener(listener)
+                            .methodListener(listener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryMetricsFilter> queryMetricsFilter(MeterRegistry meterRegistry,
+            @Value("${app.instrumentation.statement-budget:20}") int statementBudget) {
+        FilterRegistrationBean<QueryMetricsFilter> registration = new FilterRegistrationBean<>(
+                new QueryMetricsFilter(meterRegistry, statementBudget));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
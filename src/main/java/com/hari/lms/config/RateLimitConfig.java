@@ -0,0 +1,65 @@
+package com.hari.lms.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hari.lms.security.ratelimit.InMemoryRateLimiter;
+import com.hari.lms.security.ratelimit.LoginRateLimitFilter;
+import com.hari.lms.security.ratelimit.RateLimit;
+import com.hari.lms.security.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Configuration for login and sign-up rate limiting. Registers the limiter
+ * filter ahead of the Spring Security filter chain, and an in-memory
+ * limiter unless another {@link RateLimiter} bean (e.g. one backed by a
+ * shared store) is defined.
+ *
+ * @author Hari Parthu
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimiter.class)
+    public InMemoryRateLimiter inMemoryRateLimiter(MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${app.rate-limit.idle-timeout:15m}") Duration idleTimeout) {
+        InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(maxKeys, idleTimeout);
+        Gauge.builder("lms.ratelimit.keys", rateLimiter, InMemoryRateLimiter::size)
+                .description("Rate limiter buckets held in memory")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilter(RateLimiter rateLimiter,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.login-ip.capacity:20}") int loginIpCapacity,
+            @Value("${app.rate-limit.login-ip.refill-period:3s}") Duration loginIpRefill,
+            @Value("${app.rate-limit.login-username.capacity:5}") int loginUsernameCapacity,
+            @Value("${app.rate-limit.login-username.refill-period:30s}") Duration loginUsernameRefill,
+            @Value("${app.rate-limit.signup-ip.capacity:5}") int signupIpCapacity,
+            @Value("${app.rate-limit.signup-ip.refill-period:1m}") Duration signupIpRefill) {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(rateLimiter,
+                new RateLimit("login-ip", loginIpCapacity, loginIpRefill),
+                new RateLimit("login-username", loginUsernameCapacity, loginUsernameRefill),
+                new RateLimit("signup-ip", signupIpCapacity, signupIpRefill),
+                objectMapper, meterRegistry);
+
+        FilterRegistrationBean<LoginRateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        // Before Spring Security, so throttled requests never reach authentication
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.addUrlPatterns("/login", "/signup", "/api/auth/signin", "/api/auth/signup");
+        return registration;
+    }
+}
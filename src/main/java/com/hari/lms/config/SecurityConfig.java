@@ -1,9 +1,13 @@
 package com.hari.lms.config;
 
+import com.hari.lms.exception.PasswordHashingUnavailableException;
+import com.hari.lms.security.BoundedPasswordEncoder;
 import com.hari.lms.security.UserDetailsServiceImpl;
 import com.hari.lms.security.jwt.AuthEntryPointJwt;
 import com.hari.lms.security.jwt.AuthTokenFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,13 +17,18 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
+import java.time.Duration;
+
 /**
  * Spring Security configuration for the LMS application.
  * Configures JWT authentication, authorization, and security filters.
@@ -37,6 +46,24 @@ public class SecurityConfig {
         @Autowired
         private AuthEntryPointJwt unauthorizedHandler;
 
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private SessionRegistry sessionRegistry;
+
+        @Value("${app.password-hashing.strength:10}")
+        private int passwordStrength;
+
+        @Value("${app.password-hashing.threads:0}")
+        private int passwordHashingThreads;
+
+        @Value("${app.password-hashing.queue-capacity:64}")
+        private int passwordHashingQueueCapacity;
+
+        @Value("${app.password-hashing.timeout:5s}")
+        private Duration passwordHashingTimeout;
+
         /**
          * JWT authentication filter bean.
          */
@@ -53,6 +80,8 @@ public class SecurityConfig {
                 DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
                 authProvider.setUserDetailsService(userDetailsService);
                 authProvider.setPasswordEncoder(passwordEncoder());
+                // Rehash with the configured strength on successful login
+                authProvider.setUserDetailsPasswordService(userDetailsService);
                 return authProvider;
         }
 
@@ -65,11 +94,33 @@ public class SecurityConfig {
         }
 
         /**
-         * Password encoder bean.
+         * Password encoder bean. BCrypt runs on its own bounded executor, one
+         * thread per core unless configured otherwise.
          */
         @Bean
         public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+                int threads = passwordHashingThreads > 0 ? passwordHashingThreads
+                                : Runtime.getRuntime().availableProcessors();
+                return new BoundedPasswordEncoder(new BCryptPasswordEncoder(passwordStrength), threads,
+                                passwordHashingQueueCapacity, passwordHashingTimeout, meterRegistry);
+        }
+
+        /**
+         * Form login failure handler. Logins rejected because password hashing
+         * is saturated get a 503 instead of the invalid credentials page.
+         */
+        @Bean
+        public AuthenticationFailureHandler loginFailureHandler() {
+                SimpleUrlAuthenticationFailureHandler invalidCredentials = new SimpleUrlAuthenticationFailureHandler(
+                                "/login?error=true");
+                return (request, response, exception) -> {
+                        if (exception instanceof PasswordHashingUnavailableException) {
+                                response.setHeader("Retry-After", "1");
+                                response.sendError(503, exception.getMessage());
+                                return;
+                        }
+                        invalidCredentials.onAuthenticationFailure(request, response, exception);
+                };
         }
 
         /**
@@ -88,6 +139,7 @@ public class SecurityConfig {
                                                 .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler()))
                                 .authorizeHttpRequests(authz -> authz
                                                 // Public endpoints - API
+                                                .requestMatchers(new AntPathRequestMatcher("/api/auth/me")).authenticated()
                                                 .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
                                                 .requestMatchers(new AntPathRequestMatcher("/api/public/**"))
                                                 .permitAll()
@@ -114,6 +166,8 @@ public class SecurityConfig {
                                                 .requestMatchers(new AntPathRequestMatcher("/actuator/health"),
                                                                 new AntPathRequestMatcher("/actuator/info"))
                                                 .permitAll()
+                                                .requestMatchers(new AntPathRequestMatcher("/actuator/**"))
+                                                .hasRole("ADMIN")
 
                                                 // H2 Console (development only)
                                                 .requestMatchers(new AntPathRequestMatcher("/h2-console/**"))
@@ -140,9 +194,17 @@ public class SecurityConfig {
                                                 // Course endpoints (allow browsing, protect enrollment)
                                                 .requestMatchers(new AntPathRequestMatcher("/courses")).permitAll()
                                                 .requestMatchers(new AntPathRequestMatcher("/courses/**")).permitAll()
+                                                .requestMatchers(new AntPathRequestMatcher("/api/courses/*/view",
+                                                                "GET"))
+                                                .permitAll()
                                                 .requestMatchers(new AntPathRequestMatcher("/api/courses/**"))
                                                 .authenticated()
 
+                                                // Certificate images are addressed by their hash and shareable
+                                                .requestMatchers(new AntPathRequestMatcher("/api/certificates/*",
+                                                                "GET"))
+                                                .permitAll()
+
                                                 // Default: require authentication
                                                 .anyRequest().authenticated())
 
@@ -150,7 +212,7 @@ public class SecurityConfig {
                                 .formLogin(form -> form
                                                 .loginPage("/login")
                                                 .defaultSuccessUrl("/dashboard", true)
-                                                .failureUrl("/login?error=true")
+                                                .failureHandler(loginFailureHandler())
                                                 .permitAll())
 
                                 // Logout configuration
@@ -159,14 +221,16 @@ public class SecurityConfig {
                                                 .logoutSuccessUrl("/login?logout=true")
                                                 .invalidateHttpSession(true)
                                                 .clearAuthentication(true)
-                                                .deleteCookies("JSESSIONID", "XSRF-TOKEN", "remember-me")
+                                                .deleteCookies("SESSION", "JSESSIONID", "XSRF-TOKEN", "remember-me")
                                                 .permitAll())
 
-                                // Session management for web
+                                // Session management for web; the registry reads the shared session
+                                // store, so the one-session limit holds across instances
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                                                 .maximumSessions(1)
-                                                .maxSessionsPreventsLogin(false))
+                                                .maxSessionsPreventsLogin(false)
+                                                .sessionRegistry(sessionRegistry))
 
                                 // Exception handling for API endpoints
                                 .exceptionHandling(exception -> exception
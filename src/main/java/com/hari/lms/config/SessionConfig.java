@@ -0,0 +1,103 @@
+package com.hari.lms.config;
+
+import com.hari.lms.session.CompactSessionSerializer;
+import com.hari.lms.session.InMemoryIndexedSessionRepository;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import java.time.Duration;
+
+/**
+ * HTTP session configuration. Sessions live in a shared store instead of the
+ * servlet container, so any instance can serve any request and the
+ * one-session-per-user rule holds across instances. The store is the
+ * database (Spring Session JDBC, auto-configured) unless
+ * app.session.store=memory selects the in-process stand-in used by tests.
+ *
+ * Only sessions are shared. The following state is still kept per instance
+ * and only sees the changes made on that instance:
+ * <ul>
+ * <li>Hibernate second-level cache, course catalog and course detail caches
+ * and the admin stats snapshot: changes made on another instance show up
+ * when entries expire or the next full refresh runs.</li>
+ * <li>Enrolled-course bitmaps: entries expire
+ * app.enrolled-courses-cache.expire-after-write after they were loaded,
+ * however often they are read, so an enrollment made on another instance
+ * shows up within that time.</li>
+ * <li>ETag version counters: stamps differ per instance, and a change made
+ * on another instance is picked up within app.content-version.max-age.</li>
+ * <li>Popularity counters and the recommendation model: built from the
+ * events seen by this instance, plus the periodic rebuild.</li>
+ * <li>Username/email Bloom filters: availability checks may report a name
+ * taken elsewhere as free until the next rebuild; registration still checks
+ * the database.</li>
+ * <li>Access token revocation list: a logout or account change on one
+ * instance does not revoke the access token on the others before it
+ * expires.</li>
+ * <li>Login and sign-up rate limits: each instance has its own buckets, so
+ * the effective limit is the configured one times the number of
+ * instances.</li>
+ * <li>Lesson media and chunked upload parts: app.media.root must be a
+ * volume shared by all instances. Certificate images are re-rendered by
+ * the instance that serves them if they are missing.</li>
+ * </ul>
+ *
+ * @author Hari Parthu
+ */
+@Configuration
+public class SessionConfig implements BeanClassLoaderAware {
+
+    private ClassLoader classLoader;
+
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Attribute serialization used by the JDBC session store.
+     */
+    @Bean("springSessionConversionService")
+    public ConversionService springSessionConversionService(
+            @Value("${app.session.compression-threshold:512}") int compressionThreshold) {
+        CompactSessionSerializer serializer = new CompactSessionSerializer(compressionThreshold, classLoader);
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, serializer::serialize);
+        conversionService.addConverter(byte[].class, Object.class, serializer::deserialize);
+        return conversionService;
+    }
+
+    /**
+     * Session registry backed by the session store, used by Spring Security
+     * to enforce the concurrent session limit.
+     */
+    @Bean
+    public SessionRegistry sessionRegistry(FindByIndexNameSessionRepository<? extends Session> sessionRepository) {
+        return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+    }
+
+    /**
+     * In-process session store, replacing the JDBC store when selected.
+     */
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(prefix = "app.session", name = "store", havingValue = "memory")
+    static class InMemorySessionConfig {
+
+        @Bean
+        public InMemoryIndexedSessionRepository sessionRepository(
+                @Value("${spring.session.timeout:30m}") Duration timeout) {
+            return new InMemoryIndexedSessionRepository(timeout);
+        }
+    }
+}
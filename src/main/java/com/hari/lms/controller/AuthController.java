@@ -2,8 +2,10 @@ package com.hari.lms.controller;
 
 import com.hari.lms.dto.request.LoginRequest;
 import com.hari.lms.dto.request.SignupRequest;
+import com.hari.lms.dto.request.TokenRefreshRequest;
 import com.hari.lms.dto.response.JwtResponse;
 import com.hari.lms.dto.response.UserResponse;
+import com.hari.lms.exception.PasswordHashingUnavailableException;
 import com.hari.lms.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -36,7 +38,8 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User authenticated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "401", description = "Authentication failed")
+            @ApiResponse(responseCode = "401", description = "Authentication failed"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent logins, retry shortly")
     })
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         JwtResponse jwtResponse = authService.authenticateUser(loginRequest);
@@ -51,18 +54,52 @@ public class AuthController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User registered successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid registration data"),
-            @ApiResponse(responseCode = "409", description = "Username or email already exists")
+            @ApiResponse(responseCode = "409", description = "Username or email already exists"),
+            @ApiResponse(responseCode = "503", description = "Too many concurrent sign-ups, retry shortly")
     })
     public ResponseEntity<UserResponse> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
         try {
             UserResponse userResponse = authService.registerUser(signUpRequest);
             return ResponseEntity.ok(userResponse);
+        } catch (PasswordHashingUnavailableException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(null);
         }
     }
 
+    /**
+     * Exchange a refresh token for a new access token.
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Token", description = "Exchange a refresh token for a new access token and refresh token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully"),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired or already used")
+    })
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        JwtResponse jwtResponse = authService.refreshToken(request);
+        return ResponseEntity.ok(jwtResponse);
+    }
+
+    /**
+     * Log out: revoke the refresh token and the current access token.
+     */
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the refresh token and the current access token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revoked")
+    })
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) TokenRefreshRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Get current authenticated user information.
      */
@@ -0,0 +1,68 @@
+package com.hari.lms.controller;
+
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.media.MediaFileSender;
+import com.hari.lms.service.CertificateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * REST controller for certificate images.
+ *
+ * @author Hari Parthu
+ */
+@RestController
+@RequestMapping("/api/certificates")
+@Tag(name = "Certificates", description = "Course certificate APIs")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class CertificateController {
+
+    @Autowired
+    private CertificateService certificateService;
+
+    @Autowired
+    private MediaFileSender mediaFileSender;
+
+    @Value("${app.certificates.max-age:365d}")
+    private Duration maxAge;
+
+    /**
+     * Serve a certificate image. The URL holds the image's SHA-256, so the
+     * content behind it never changes, and an instance that does not have
+     * the image yet renders it again.
+     */
+    @GetMapping("/{contentHash:[0-9a-f]{64}}.png")
+    @Operation(summary = "Get Certificate Image", description = "Get a generated certificate by its content hash")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Certificate image returned"),
+            @ApiResponse(responseCode = "304", description = "Certificate not modified"),
+            @ApiResponse(responseCode = "404", description = "Certificate not found")
+    })
+    public void getCertificateImage(@Parameter(description = "SHA-256 of the image") @PathVariable String contentHash,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaFile image = certificateService.findImage(contentHash)
+                .orElseThrow(() -> new ResourceNotFoundException("Certificate", "hash", contentHash));
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(image.getETag(), image.getLastModified())) {
+            return;
+        }
+        mediaFileSender.send(request, response, image);
+    }
+}
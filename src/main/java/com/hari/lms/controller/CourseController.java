@@ -1,8 +1,18 @@
 package com.hari.lms.controller;
 
 import com.hari.lms.dto.request.CourseRequest;
+import com.hari.lms.dto.response.CourseDeletionStatus;
+import com.hari.lms.dto.response.CourseEnrollmentStats;
 import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.dto.view.CoursePageView;
+import com.hari.lms.enums.PopularityWindow;
+import com.hari.lms.service.AuthService;
+import com.hari.lms.service.CourseCatalogService;
+import com.hari.lms.service.CourseDetailService;
+import com.hari.lms.service.CoursePopularityService;
+import com.hari.lms.service.ContentVersionService;
 import com.hari.lms.service.CourseService;
+import com.hari.lms.util.VersionStamp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,9 +22,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * REST controller for course operations.
@@ -31,6 +45,21 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CoursePopularityService coursePopularityService;
+
+    @Autowired
+    private CourseCatalogService courseCatalogService;
+
+    @Autowired
+    private CourseDetailService courseDetailService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
     /**
      * Create a new course.
      */
@@ -75,9 +104,30 @@ public class CourseController {
             @ApiResponse(responseCode = "404", description = "Course not found")
     })
     public ResponseEntity<CourseResponse> getCourse(
-            @Parameter(description = "Course ID") @PathVariable Long id) {
+            @Parameter(description = "Course ID") @PathVariable Long id, WebRequest webRequest) {
+        VersionStamp version = contentVersionService.getCourseVersion(id);
+        if (webRequest.checkNotModified(version.toETag())) {
+            return null;
+        }
+
         CourseResponse courseResponse = courseService.getCourse(id);
-        return ResponseEntity.ok(courseResponse);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(courseResponse);
+    }
+
+    /**
+     * Get everything the course detail page shows in one call.
+     */
+    @GetMapping("/{id}/view")
+    @Operation(summary = "Get Course Page", description = "Get a course with its instructor, ordered lessons and "
+            + "the current user's enrollment, progress and payment state. Available without authentication.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Course page retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<CoursePageView> getCoursePage(
+            @Parameter(description = "Course ID") @PathVariable Long id) {
+        CoursePageView page = courseDetailService.getCoursePage(id);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(page);
     }
 
     /**
@@ -92,10 +142,16 @@ public class CourseController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest webRequest) {
+
+        VersionStamp version = contentVersionService.getCoursesVersion().and(page, size, sortBy, sortDir);
+        if (webRequest.checkNotModified(version.toETag())) {
+            return null;
+        }
 
         Page<CourseResponse> courses = courseService.getAllCourses(page, size, sortBy, sortDir);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(courses);
     }
 
     /**
@@ -110,9 +166,50 @@ public class CourseController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest webRequest) {
+
+        VersionStamp version = contentVersionService.getPublishedCoursesVersion().and(page, size, sortBy, sortDir);
+        if (webRequest.checkNotModified(version.toETag())) {
+            return null;
+        }
 
         Page<CourseResponse> courses = courseService.getPublishedCourses(page, size, sortBy, sortDir);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(courses);
+    }
+
+    /**
+     * Get most popular published courses.
+     */
+    @GetMapping("/popular")
+    @Operation(summary = "Get Popular Courses", description = "Get published courses ranked by enrollments, all-time or over the last 24 hours / 7 days")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Popular courses retrieved successfully")
+    })
+    public ResponseEntity<List<CourseEnrollmentStats>> getPopularCourses(
+            @Parameter(description = "Ranking window") @RequestParam(defaultValue = "ALL_TIME") PopularityWindow window,
+            @Parameter(description = "Number of courses (max 50)") @RequestParam(defaultValue = "10") int limit) {
+
+        List<CourseEnrollmentStats> courses = coursePopularityService.getTopCourses(window, limit, true);
+        return ResponseEntity.ok(courses);
+    }
+
+    /**
+     * Get published courses the current student is not enrolled in.
+     */
+    @GetMapping("/available")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get Available Courses", description = "Get published courses the current student is not enrolled in (Student only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Available courses retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<Page<CourseResponse>> getAvailableCourses(
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+
+        Long studentId = authService.getCurrentUserEntity().getId();
+        Page<CourseResponse> courses = courseCatalogService.getAvailableCourses(studentId, page, size);
         return ResponseEntity.ok(courses);
     }
 
@@ -242,4 +339,22 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the progress of a course deletion.
+     */
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get Course Deletion Progress", description = "Get the progress of the background deletion of a course")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Deletion progress retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "No recent deletion of this course"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<CourseDeletionStatus> getCourseDeletionStatus(
+            @Parameter(description = "Course ID") @PathVariable Long id) {
+        return courseService.getDeletionStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
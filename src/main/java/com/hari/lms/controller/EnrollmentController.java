@@ -1,7 +1,13 @@
 package com.hari.lms.controller;
 
+import com.hari.lms.dto.response.CertificateResponse;
 import com.hari.lms.dto.response.EnrollmentResponse;
+import com.hari.lms.entity.User;
+import com.hari.lms.service.AuthService;
+import com.hari.lms.service.CertificateService;
+import com.hari.lms.service.ContentVersionService;
 import com.hari.lms.service.EnrollmentService;
+import com.hari.lms.util.VersionStamp;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,9 +16,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for enrollment operations.
@@ -29,6 +37,15 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentService enrollmentService;
 
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private CertificateService certificateService;
+
     /**
      * Enroll in a course.
      */
@@ -79,9 +96,17 @@ public class EnrollmentController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "enrollmentDate") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            WebRequest webRequest) {
+        User student = authService.getCurrentUserEntity();
+        VersionStamp version = contentVersionService.getStudentEnrollmentsVersion(student.getId())
+                .and(student.getUpdatedAt(), page, size, sortBy, sortDir);
+        if (webRequest.checkNotModified(version.toETag())) {
+            return null;
+        }
+
         Page<EnrollmentResponse> enrollments = enrollmentService.getMyEnrollments(page, size, sortBy, sortDir);
-        return ResponseEntity.ok(enrollments);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(enrollments);
     }
 
     /**
@@ -142,4 +167,22 @@ public class EnrollmentController {
         EnrollmentResponse enrollment = enrollmentService.updateProgress(courseId, progress);
         return ResponseEntity.ok(enrollment);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the certificate of a completed course.
+     */
+    @GetMapping("/courses/{courseId}/certificate")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(summary = "Get Certificate", description = "Get the certificate of a completed course. It is "
+            + "generated in the background, so its URL is only set once the status is ISSUED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Certificate status retrieved"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Course not completed")
+    })
+    public ResponseEntity<CertificateResponse> getCertificate(
+            @Parameter(description = "Course ID") @PathVariable Long courseId) {
+        CertificateResponse certificate = certificateService.getCertificate(courseId);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(certificate);
+    }
+}
@@ -0,0 +1,68 @@
+package com.hari.lms.controller;
+
+import com.hari.lms.dto.response.CourseAnalyticsResponse;
+import com.hari.lms.dto.response.InstructorAnalyticsResponse;
+import com.hari.lms.service.InstructorAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for instructor analytics.
+ *
+ * @author Hari Parthu
+ */
+@RestController
+@RequestMapping("/api/instructor/analytics")
+@Tag(name = "Instructor Analytics", description = "Course enrollment, progress and revenue analytics APIs")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class InstructorAnalyticsController {
+
+    @Autowired
+    private InstructorAnalyticsService instructorAnalyticsService;
+
+    /**
+     * Get analytics of all courses of the current instructor.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get My Analytics", description = "Get enrollments, average progress, completion rate and "
+            + "revenue of the current instructor's courses, with enrollments per day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<InstructorAnalyticsResponse> getMyAnalytics(
+            @Parameter(description = "Days of enrollment history") @RequestParam(defaultValue = "30") int days) {
+        InstructorAnalyticsResponse analytics = instructorAnalyticsService.getInstructorAnalytics(days);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(analytics);
+    }
+
+    /**
+     * Get analytics of a single course.
+     */
+    @GetMapping("/courses/{courseId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get Course Analytics", description = "Get analytics of a course (Instructor of the course "
+            + "or Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Analytics retrieved successfully"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<CourseAnalyticsResponse> getCourseAnalytics(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Days of enrollment history") @RequestParam(defaultValue = "30") int days) {
+        CourseAnalyticsResponse analytics = instructorAnalyticsService.getCourseAnalytics(courseId, days);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(analytics);
+    }
+}
@@ -0,0 +1,156 @@
+package com.hari.lms.controller;
+
+import com.hari.lms.dto.request.MediaUploadRequest;
+import com.hari.lms.dto.response.MediaUploadResponse;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.media.MediaFileSender;
+import com.hari.lms.service.LessonMediaService;
+import com.hari.lms.service.MediaUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * REST controller for lesson operations.
+ *
+ * @author Hari Parthu
+ */
+@RestController
+@RequestMapping("/api/lessons")
+@Tag(name = "Lessons", description = "Lesson content APIs")
+@SecurityRequirement(name = "bearerAuth")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class LessonController {
+
+    @Autowired
+    private LessonMediaService lessonMediaService;
+
+    @Autowired
+    private MediaFileSender mediaFileSender;
+
+    @Autowired
+    private MediaUploadService mediaUploadService;
+
+    @Value("${app.media.max-age:1h}")
+    private Duration mediaMaxAge;
+
+    /**
+     * Stream the video or PDF of a lesson, with support for range requests.
+     */
+    @GetMapping("/{id}/media")
+    @Operation(summary = "Stream Lesson Media", description = "Stream the video or PDF of a lesson. Supports "
+            + "Range and conditional requests (Admin, course instructor or enrolled student)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Media returned"),
+            @ApiResponse(responseCode = "206", description = "Requested byte range returned"),
+            @ApiResponse(responseCode = "304", description = "Media not modified"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Lesson or media not found"),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable")
+    })
+    public void streamLessonMedia(@Parameter(description = "Lesson ID") @PathVariable Long id,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaFile media = lessonMediaService.getLessonMedia(id);
+
+        // Private: access depends on the user, so shared caches must not keep it
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.maxAge(mediaMaxAge).cachePrivate().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(media.getETag(), media.getLastModified())) {
+            return;
+        }
+        mediaFileSender.send(request, response, media);
+    }
+
+    /**
+     * Start a resumable upload of new lesson media.
+     */
+    @PostMapping("/{id}/media/uploads")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Start Media Upload", description = "Start a resumable chunked upload of the lesson's "
+            + "video or PDF (Instructor of the course or Admin)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Upload started"),
+            @ApiResponse(responseCode = "400", description = "Invalid input or text lesson"),
+            @ApiResponse(responseCode = "403", description = "Access denied"),
+            @ApiResponse(responseCode = "404", description = "Lesson not found"),
+            @ApiResponse(responseCode = "413", description = "File too large")
+    })
+    public ResponseEntity<MediaUploadResponse> createMediaUpload(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            @Valid @RequestBody MediaUploadRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(mediaUploadService.createUpload(id, request));
+    }
+
+    /**
+     * Get the state of an upload, e.g. the offset to resume from.
+     */
+    @GetMapping("/{id}/media/uploads/{uploadId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get Media Upload", description = "Get the received size and status of an upload")
+    public ResponseEntity<MediaUploadResponse> getMediaUpload(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+        return ResponseEntity.ok(mediaUploadService.getUpload(id, uploadId));
+    }
+
+    /**
+     * Append the next chunk of an upload. The request body is the raw chunk
+     * and is streamed to disk, never read into memory.
+     */
+    @PutMapping("/{id}/media/uploads/{uploadId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Upload Media Chunk", description = "Append a chunk starting at the current offset. "
+            + "An optional X-Chunk-Sha256 header is checked against the received bytes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Chunk stored"),
+            @ApiResponse(responseCode = "400", description = "Incomplete chunk or checksum mismatch"),
+            @ApiResponse(responseCode = "409", description = "Wrong offset; Upload-Offset holds the expected one"),
+            @ApiResponse(responseCode = "410", description = "Upload expired"),
+            @ApiResponse(responseCode = "411", description = "Content-Length missing"),
+            @ApiResponse(responseCode = "413", description = "Chunk too large"),
+            @ApiResponse(responseCode = "503", description = "Too many uploads in progress, retry later")
+    })
+    public ResponseEntity<MediaUploadResponse> uploadMediaChunk(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId,
+            @Parameter(description = "Offset of the chunk in the file") @RequestParam long offset,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String chunkSha256,
+            HttpServletRequest request) throws IOException {
+        MediaUploadResponse upload = mediaUploadService.appendChunk(id, uploadId, offset,
+                request.getContentLengthLong(), chunkSha256, request.getInputStream());
+        return ResponseEntity.ok()
+                .header("Upload-Offset", String.valueOf(upload.getOffset()))
+                .body(upload);
+    }
+
+    /**
+     * Cancel an upload that has not been processed yet.
+     */
+    @DeleteMapping("/{id}/media/uploads/{uploadId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Cancel Media Upload", description = "Cancel an upload and discard the received bytes")
+    public ResponseEntity<Void> cancelMediaUpload(
+            @Parameter(description = "Lesson ID") @PathVariable Long id,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+        mediaUploadService.cancelUpload(id, uploadId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.hari.lms.controller;
 
+import com.hari.lms.dto.view.PaymentReceiptView;
 import com.hari.lms.entity.Payment;
 import com.hari.lms.entity.User;
 import com.hari.lms.service.PaymentService;
@@ -99,11 +100,10 @@ public class PaymentController {
         logger.info("Showing payment success page for payment {}", paymentId);
 
         try {
-            Payment payment = paymentService.getPaymentById(paymentId)
+            PaymentReceiptView payment = paymentService.getPaymentReceipt(paymentId)
                     .orElseThrow(() -> new RuntimeException("Payment not found"));
 
             model.addAttribute("payment", payment);
-            model.addAttribute("course", payment.getCourse());
 
             return "payment/success";
         } catch (Exception e) {
@@ -121,11 +121,10 @@ public class PaymentController {
         logger.info("Showing payment failure page for payment {}", paymentId);
 
         try {
-            Payment payment = paymentService.getPaymentById(paymentId)
+            PaymentReceiptView payment = paymentService.getPaymentReceipt(paymentId)
                     .orElseThrow(() -> new RuntimeException("Payment not found"));
 
             model.addAttribute("payment", payment);
-            model.addAttribute("course", payment.getCourse());
 
             return "payment/failure";
         } catch (Exception e) {
@@ -1,22 +1,48 @@
 package com.hari.lms.controller;
 
 import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.dto.view.CourseEditView;
+import com.hari.lms.dto.view.CoursePageView;
+import com.hari.lms.dto.view.InstructorOptionView;
+import com.hari.lms.dto.view.UserRowView;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.User;
+import com.hari.lms.enums.PopularityWindow;
 import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.exception.PasswordHashingUnavailableException;
+import com.hari.lms.exception.ResourceNotFoundException;
 import com.hari.lms.repository.UserRepository;
 import com.hari.lms.repository.CourseRepository;
 import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.service.AdminStatsService;
+import com.hari.lms.service.AdminUserService;
 import com.hari.lms.service.AuthService;
+import com.hari.lms.service.CourseCatalogService;
+import com.hari.lms.service.CourseDeletionService;
+import com.hari.lms.service.CourseDetailService;
+import com.hari.lms.service.CoursePopularityService;
+import com.hari.lms.service.CourseRecommendationService;
 import com.hari.lms.service.CourseService;
+import com.hari.lms.service.EnrolledCourseCache;
+import com.hari.lms.service.ContentVersionService;
 import com.hari.lms.service.EnrollmentService;
+import com.hari.lms.service.FragmentCacheService;
+import com.hari.lms.service.InstructorAnalyticsService;
+import com.hari.lms.util.VersionStamp;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -24,10 +50,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -58,6 +89,45 @@ public class WebController {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    @Autowired
+    private CourseDeletionService courseDeletionService;
+
+    @Autowired
+    private CoursePopularityService coursePopularityService;
+
+    @Autowired
+    private CourseRecommendationService courseRecommendationService;
+
+    @Autowired
+    private CourseCatalogService courseCatalogService;
+
+    @Autowired
+    private CourseDetailService courseDetailService;
+
+    @Autowired
+    private EnrolledCourseCache enrolledCourseCache;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private FragmentCacheService fragmentCacheService;
+
+    @Autowired
+    private InstructorAnalyticsService instructorAnalyticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     /**
      * Home page.
      */
@@ -134,7 +204,7 @@ public class WebController {
             @RequestParam String email,
             @RequestParam String password,
             @RequestParam String role,
-            Model model) {
+            Model model, HttpServletResponse response) {
         try {
             // Create signup request
             com.hari.lms.dto.request.SignupRequest signupRequest = new com.hari.lms.dto.request.SignupRequest();
@@ -149,6 +219,13 @@ public class WebController {
 
             // Redirect to login with success message
             return "redirect:/login?success=Account created successfully! Please log in.";
+        } catch (PasswordHashingUnavailableException e) {
+            // Password hashing is saturated; keep the form so the user can retry
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            model.addAttribute("error", e.getMessage());
+            model.addAttribute("title", "Sign Up");
+            return "auth/signup";
         } catch (RuntimeException e) {
             // Handle registration errors
             model.addAttribute("error", e.getMessage());
@@ -193,7 +270,8 @@ public class WebController {
      * Courses page.
      */
     @GetMapping("/courses")
-    public String courses(Model model) {
+    public String courses(Model model, HttpServletRequest request, HttpServletResponse response,
+            WebRequest webRequest) {
         model.addAttribute("title", "Courses");
 
         // Check if user is authenticated
@@ -207,31 +285,51 @@ public class WebController {
             model.addAttribute("username", null);
         }
 
-        // Load approved courses
-        var courses = courseService.getPublishedCourses(0, 50, "createdAt", "desc");
-        model.addAttribute("courses", courses.getContent());
-
-        // If user is authenticated and is a student, check enrollment status for each
-        // course
+        // If user is authenticated and is a student, look up their enrolled courses
+        Long studentId = null;
         if (isAuthenticated) {
             try {
                 User currentUser = authService.getCurrentUserEntity();
                 if (currentUser.getRole() == Role.STUDENT) {
-                    Map<Long, Boolean> enrollmentStatus = new HashMap<>();
-                    for (CourseResponse course : courses.getContent()) {
-                        enrollmentStatus.put(course.getId(), enrollmentService.isEnrolledInCourse(course.getId()));
-                    }
-                    model.addAttribute("enrollmentStatus", enrollmentStatus);
+                    studentId = currentUser.getId();
                 }
             } catch (Exception e) {
                 // If there's an error getting user info, just continue without enrollment
                 // status
-                model.addAttribute("enrollmentStatus", new HashMap<>());
             }
-        } else {
-            model.addAttribute("enrollmentStatus", new HashMap<>());
         }
 
+        // The page only changes with the cached catalog and the student's enrollments
+        VersionStamp version = VersionStamp.of("courses-page", courseCatalogService.getCatalogVersion(),
+                studentId != null ? contentVersionService.getStudentEnrollmentsVersion(studentId).toETag() : null);
+        if (isPageNotModified(version, request, response, webRequest)) {
+            return null;
+        }
+        Roaring64Bitmap enrolledCourses = studentId != null ? enrolledCourseCache.getEnrolledCourses(studentId) : null;
+
+        // Load approved courses
+        List<CourseResponse> courses = courseCatalogService.getNewestCourses(50);
+        model.addAttribute("courses", courses);
+
+        // Course cards only depend on the course, so they come from the fragment cache
+        List<String> courseCards = new ArrayList<>(courses.size());
+        for (int i = 0; i < courses.size(); i++) {
+            CourseResponse course = courses.get(i);
+            courseCards.add(fragmentCacheService.renderCourseCard(course, course.getId(), i,
+                    Arrays.asList(course.getUpdatedAt(), course.getTotalLessons(), course.getTotalEnrollments(), i % 12),
+                    request, response));
+        }
+        model.addAttribute("courseCards", courseCards);
+
+        Map<Long, Boolean> enrollmentStatus = null;
+        if (enrolledCourses != null) {
+            enrollmentStatus = new HashMap<>();
+            for (CourseResponse course : courses) {
+                enrollmentStatus.put(course.getId(), enrolledCourses.contains(course.getId()));
+            }
+        }
+        model.addAttribute("enrollmentStatus", enrollmentStatus);
+
         return "courses/index";
     }
 
@@ -243,6 +341,15 @@ public class WebController {
         model.addAttribute("title", "Course Details");
         model.addAttribute("courseId", id);
 
+        // Render course, lessons and viewer state up front instead of separate API calls
+        try {
+            CoursePageView page = courseDetailService.getCoursePage(id);
+            model.addAttribute("page", page);
+            model.addAttribute("course", page.getCourse());
+        } catch (ResourceNotFoundException e) {
+            return "redirect:/courses";
+        }
+
         // Check if user is authenticated
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         boolean isAuthenticated = auth != null && auth.isAuthenticated() && !auth.getName().equals("anonymousUser");
@@ -260,15 +367,15 @@ public class WebController {
      */
     @GetMapping("/admin")
     public String adminDashboard(Model model) {
-        // Get statistics for dashboard
-        long totalUsers = userRepository.count();
-        long totalCourses = courseRepository.count();
-        long totalEnrollments = enrollmentRepository.count();
+        // Get statistics for dashboard from the in-memory snapshot
+        AdminStatsService.AdminStats stats = adminStatsService.getSnapshot();
 
         model.addAttribute("title", "Admin Dashboard");
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("totalCourses", totalCourses);
-        model.addAttribute("totalEnrollments", totalEnrollments);
+        model.addAttribute("totalUsers", stats.getTotalUsers());
+        model.addAttribute("totalCourses", stats.getTotalCourses());
+        model.addAttribute("totalEnrollments", stats.getTotalEnrollments());
+        model.addAttribute("pendingCourses", stats.getPendingCourses());
+        model.addAttribute("usersByRole", stats.getUsersByRole());
         return "admin/dashboard";
     }
 
@@ -276,10 +383,22 @@ public class WebController {
      * Admin courses page - view all courses.
      */
     @GetMapping("/admin/courses")
-    public String adminCourses(Model model) {
+    public String adminCourses(Model model, HttpServletRequest request, HttpServletResponse response,
+            WebRequest webRequest) {
+        if (isPageNotModified(contentVersionService.getCoursesVersion(), request, response, webRequest)) {
+            return null;
+        }
+
         Page<CourseResponse> courses = courseService.getAllCourses(0, 50, "createdAt", "desc");
         model.addAttribute("title", "All Courses");
         model.addAttribute("courses", courses.getContent());
+
+        List<String> courseRows = new ArrayList<>(courses.getNumberOfElements());
+        for (CourseResponse course : courses.getContent()) {
+            courseRows.add(fragmentCacheService.renderAdminCourseRow(course, course.getId(), course.getUpdatedAt(),
+                    request, response));
+        }
+        model.addAttribute("courseRows", courseRows);
         model.addAttribute("totalCourses", courses.getTotalElements());
         return "admin/courses";
     }
@@ -288,10 +407,27 @@ public class WebController {
      * Admin user management page.
      */
     @GetMapping("/admin/users")
-    public String adminUsers(Model model, HttpServletRequest request) {
-        List<User> users = userRepository.findAll();
+    public String adminUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size,
+            Model model, HttpServletRequest request) {
+        Slice<UserRowView> users = adminUserService.findUsers(q, role, enabled, page, size);
+        AdminStatsService.AdminStats stats = adminStatsService.getSnapshot();
+
         model.addAttribute("title", "User Management");
-        model.addAttribute("users", users);
+        model.addAttribute("users", users.getContent());
+        model.addAttribute("usersPage", users);
+        model.addAttribute("estimatedTotal", adminUserService.estimateTotal(q, role, enabled));
+        model.addAttribute("totalUsers", stats.getTotalUsers());
+        model.addAttribute("totalInstructors", stats.getUserCount(Role.INSTRUCTOR));
+        model.addAttribute("totalStudents", stats.getUserCount(Role.STUDENT));
+        model.addAttribute("q", q);
+        model.addAttribute("role", role);
+        model.addAttribute("enabled", enabled);
+        model.addAttribute("roles", Role.values());
 
         // Add CSRF token to model
         CsrfToken csrfToken = (CsrfToken) request.getAttribute(CsrfToken.class.getName());
@@ -311,6 +447,7 @@ public class WebController {
             User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
             user.setEnabled(true);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserEvent(ChangeType.UPDATED, user));
             redirectAttributes.addFlashAttribute("successMessage", "User enabled successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to enable user: " + e.getMessage());
@@ -327,6 +464,7 @@ public class WebController {
             User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
             user.setEnabled(false);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserEvent(ChangeType.UPDATED, user));
             redirectAttributes.addFlashAttribute("successMessage", "User disabled successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to disable user: " + e.getMessage());
@@ -380,6 +518,7 @@ public class WebController {
 
             // Safe to delete - no dependencies
             userRepository.delete(user);
+            eventPublisher.publishEvent(new UserEvent(ChangeType.DELETED, user));
             redirectAttributes.addFlashAttribute("successMessage", "User deleted successfully!");
 
         } catch (Exception e) {
@@ -388,12 +527,55 @@ public class WebController {
         return "redirect:/admin/users";
     }
 
+    /**
+     * Enable, disable or delete users in bulk, selected by ID or by role and
+     * enabled filter.
+     */
+    @PostMapping("/admin/users/bulk")
+    public String bulkUsers(@RequestParam String action,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            RedirectAttributes redirectAttributes) {
+        try {
+            List<Long> userIds = ids != null && !ids.isEmpty() ? ids
+                    : role != null || enabled != null ? adminUserService.findUserIds(role, enabled)
+                    : List.of();
+            if (userIds.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage", "No users selected.");
+                return "redirect:/admin/users";
+            }
+
+            int count;
+            switch (action) {
+                case "enable":
+                    count = adminUserService.setUsersEnabled(userIds, true);
+                    break;
+                case "disable":
+                    count = adminUserService.setUsersEnabled(userIds, false);
+                    break;
+                case "delete":
+                    count = adminUserService.deleteUsers(userIds);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action: " + action);
+            }
+            redirectAttributes.addFlashAttribute("successMessage",
+                    count + " of " + userIds.size() + " user(s) updated. Admins and users with courses, "
+                            + "enrollments or payments are skipped where needed.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Bulk operation failed: " + e.getMessage());
+        }
+        return "redirect:/admin/users";
+    }
+
     /**
      * Show edit user form.
      */
     @GetMapping("/admin/users/{id}/edit")
     public String editUserForm(@PathVariable Long id, Model model) {
-        User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
+        UserRowView user = userRepository.findRowViewById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
         model.addAttribute("title", "Edit User");
         model.addAttribute("user", user);
         model.addAttribute("roles", com.hari.lms.enums.Role.values());
@@ -413,6 +595,7 @@ public class WebController {
             RedirectAttributes redirectAttributes) {
         try {
             User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
+            Role previousRole = user.getRole();
 
             user.setFullName(fullName);
             user.setEmail(email);
@@ -421,11 +604,11 @@ public class WebController {
 
             // Only update password if provided
             if (password != null && !password.trim().isEmpty()) {
-                BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
-                user.setPassword(encoder.encode(password));
+                user.setPassword(passwordEncoder.encode(password));
             }
 
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserEvent(ChangeType.UPDATED, user, previousRole));
             redirectAttributes.addFlashAttribute("successMessage", "User updated successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to update user: " + e.getMessage());
@@ -442,10 +625,8 @@ public class WebController {
      */
     @GetMapping("/admin/courses/add")
     public String addCourseForm(Model model) {
-        Pageable pageable = PageRequest.of(0, 100); // Get up to 100 instructors
-        Page<User> instructorsPage = userRepository.findByRole(com.hari.lms.enums.Role.INSTRUCTOR, pageable);
         model.addAttribute("title", "Add New Course");
-        model.addAttribute("instructors", instructorsPage.getContent());
+        model.addAttribute("instructors", getInstructorOptions());
         return "admin/add-course";
     }
 
@@ -489,7 +670,8 @@ public class WebController {
             course.setInstructor(instructor);
             course.setIsApproved(isApproved != null ? isApproved : false);
 
-            courseRepository.save(course);
+            Course savedCourse = courseRepository.save(course);
+            eventPublisher.publishEvent(new CourseEvent(ChangeType.CREATED, savedCourse));
             redirectAttributes.addFlashAttribute("successMessage", "Course created successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to create course: " + e.getMessage());
@@ -503,14 +685,12 @@ public class WebController {
     @GetMapping("/admin/courses/{id}/edit")
     public String editCourseForm(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
         try {
-            Course course = courseRepository.findById(id)
+            CourseEditView course = courseRepository.findEditViewById(id)
                     .orElseThrow(() -> new RuntimeException("Course not found"));
-            Pageable pageable = PageRequest.of(0, 100); // Get up to 100 instructors
-            Page<User> instructorsPage = userRepository.findByRole(com.hari.lms.enums.Role.INSTRUCTOR, pageable);
 
             model.addAttribute("title", "Edit Course");
             model.addAttribute("course", course);
-            model.addAttribute("instructors", instructorsPage.getContent());
+            model.addAttribute("instructors", getInstructorOptions());
             return "admin/edit-course";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Course not found: " + e.getMessage());
@@ -555,6 +735,7 @@ public class WebController {
 
             User instructor = userRepository.findById(instructorId)
                     .orElseThrow(() -> new RuntimeException("Instructor not found"));
+            Boolean previouslyApproved = course.getIsApproved();
 
             course.setTitle(title.trim());
             course.setDescription(description.trim());
@@ -562,6 +743,7 @@ public class WebController {
             course.setIsApproved(isApproved != null ? isApproved : false);
 
             courseRepository.save(course);
+            eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, course, previouslyApproved));
             redirectAttributes.addFlashAttribute("successMessage", "Course updated successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to update course: " + e.getMessage());
@@ -579,13 +761,13 @@ public class WebController {
                     .orElseThrow(() -> new RuntimeException("Course not found"));
 
             // Check if course has enrollments
-            if (!course.getEnrollments().isEmpty()) {
+            if (enrollmentRepository.countByCourseId(id) > 0) {
                 redirectAttributes.addFlashAttribute("errorMessage",
                         "Cannot delete course '" + course.getTitle() + "' as it has active enrollments.");
                 return "redirect:/admin/courses";
             }
 
-            courseRepository.delete(course);
+            courseDeletionService.deleteCourse(course);
             redirectAttributes.addFlashAttribute("successMessage",
                     "Course '" + course.getTitle() + "' deleted successfully!");
         } catch (Exception e) {
@@ -602,8 +784,10 @@ public class WebController {
         try {
             Course course = courseRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Course not found"));
+            Boolean previouslyApproved = course.getIsApproved();
             course.setIsApproved(true);
             courseRepository.save(course);
+            eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, course, previouslyApproved));
             redirectAttributes.addFlashAttribute("successMessage",
                     "Course '" + course.getTitle() + "' approved successfully!");
         } catch (Exception e) {
@@ -620,8 +804,10 @@ public class WebController {
         try {
             Course course = courseRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Course not found"));
+            Boolean previouslyApproved = course.getIsApproved();
             course.setIsApproved(false);
             courseRepository.save(course);
+            eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, course, previouslyApproved));
             redirectAttributes.addFlashAttribute("successMessage",
                     "Course '" + course.getTitle() + "' disapproved successfully!");
         } catch (Exception e) {
@@ -630,24 +816,68 @@ public class WebController {
         return "redirect:/admin/courses";
     }
 
+    /**
+     * Approve, disapprove or delete courses in bulk, selected by ID or by
+     * instructor and approval filter.
+     */
+    @PostMapping("/admin/courses/bulk")
+    public String bulkCourses(@RequestParam String action,
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long instructorId,
+            @RequestParam(required = false) Boolean isApproved,
+            RedirectAttributes redirectAttributes) {
+        try {
+            List<Long> courseIds = ids != null && !ids.isEmpty() ? ids
+                    : instructorId != null || isApproved != null ? courseService.findCourseIds(instructorId, isApproved)
+                    : List.of();
+            if (courseIds.isEmpty()) {
+                redirectAttributes.addFlashAttribute("errorMessage", "No courses selected.");
+                return "redirect:/admin/courses";
+            }
+
+            int count;
+            switch (action) {
+                case "approve":
+                    count = courseService.setCoursesApproved(courseIds, true);
+                    break;
+                case "disapprove":
+                    count = courseService.setCoursesApproved(courseIds, false);
+                    break;
+                case "delete":
+                    count = courseService.deleteCourses(courseIds);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action: " + action);
+            }
+            redirectAttributes.addFlashAttribute("successMessage",
+                    count + " of " + courseIds.size() + " course(s) updated. Courses with enrollments "
+                            + "or payments are not deleted.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Bulk operation failed: " + e.getMessage());
+        }
+        return "redirect:/admin/courses";
+    }
+
     /**
      * Admin reports page.
      */
     @GetMapping("/admin/reports")
     public String adminReports(Model model) {
-        // Generate basic reports
-        long totalUsers = userRepository.count();
-        long totalCourses = courseRepository.count();
-        long totalEnrollments = enrollmentRepository.count();
-
-        // Course enrollment statistics
-        List<Course> popularCourses = courseRepository.findAll();
+        // Generate basic reports from the in-memory snapshot
+        AdminStatsService.AdminStats stats = adminStatsService.getSnapshot();
 
         model.addAttribute("title", "Reports");
-        model.addAttribute("totalUsers", totalUsers);
-        model.addAttribute("totalCourses", totalCourses);
-        model.addAttribute("totalEnrollments", totalEnrollments);
-        model.addAttribute("popularCourses", popularCourses);
+        model.addAttribute("totalUsers", stats.getTotalUsers());
+        model.addAttribute("totalCourses", stats.getTotalCourses());
+        model.addAttribute("totalEnrollments", stats.getTotalEnrollments());
+        model.addAttribute("pendingCourses", stats.getPendingCourses());
+        model.addAttribute("popularCourses", coursePopularityService.getTopCourses(PopularityWindow.ALL_TIME, 5, false));
+
+        // Enrollments over the last 7 days, keyed by course ID
+        Map<Long, Long> weeklyEnrollments = new HashMap<>();
+        coursePopularityService.getTopCourses(PopularityWindow.LAST_7_DAYS, CoursePopularityService.MAX_LIMIT, false)
+                .forEach(course -> weeklyEnrollments.put(course.getCourseId(), course.getEnrollmentCount()));
+        model.addAttribute("weeklyEnrollments", weeklyEnrollments);
         return "admin/reports";
     }
 
@@ -666,6 +896,7 @@ public class WebController {
     @GetMapping("/instructor")
     public String instructorDashboard(Model model) {
         model.addAttribute("title", "Instructor Dashboard");
+        model.addAttribute("analytics", instructorAnalyticsService.getInstructorAnalytics(30));
         return "instructor/dashboard";
     }
 
@@ -684,6 +915,7 @@ public class WebController {
     @GetMapping("/instructor/students")
     public String instructorStudents(Model model) {
         model.addAttribute("title", "My Students");
+        model.addAttribute("analytics", instructorAnalyticsService.getInstructorAnalytics(30));
         return "instructor/students";
     }
 
@@ -705,9 +937,15 @@ public class WebController {
             model.addAttribute("username", null);
         }
 
-        // Load some recommended courses for enrollment
-        var recommendedCourses = courseService.getPublishedCourses(0, 6, "createdAt", "desc");
-        model.addAttribute("recommendedCourses", recommendedCourses.getContent());
+        // Recommend courses based on what similar students enrolled in
+        List<CourseResponse> recommendedCourses;
+        if (isAuthenticated && authService.isStudent()) {
+            User currentUser = authService.getCurrentUserEntity();
+            recommendedCourses = courseRecommendationService.getRecommendations(currentUser.getId(), 6);
+        } else {
+            recommendedCourses = courseService.getPublishedCourses(0, 6, "createdAt", "desc").getContent();
+        }
+        model.addAttribute("recommendedCourses", recommendedCourses);
 
         return "student/dashboard";
     }
@@ -748,4 +986,30 @@ public class WebController {
         }
         return "redirect:/courses";
     }
-}
\ No newline at end of file
+
+    /**
+     * Get up to 100 instructors for the course form drop-downs.
+     */
+    private List<InstructorOptionView> getInstructorOptions() {
+        return userRepository.findOptionViewsByRole(Role.INSTRUCTOR, PageRequest.of(0, 100));
+    }
+
+    /**
+     * Answer a conditional GET for a page from the version of its data. Pages
+     * embed the session's CSRF token, so the session is part of the version,
+     * and pages carrying flash messages are always rendered.
+     */
+    private boolean isPageNotModified(VersionStamp version, HttpServletRequest request,
+            HttpServletResponse response, WebRequest webRequest) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+
+        Map<String, ?> flashAttributes = RequestContextUtils.getInputFlashMap(request);
+        if (flashAttributes != null && !flashAttributes.isEmpty()) {
+            return false;
+        }
+
+        HttpSession session = request.getSession(false);
+        version.and(session != null ? session.getId() : null);
+        return webRequest.checkNotModified(version.toETag());
+    }
+}
@@ -0,0 +1,11 @@
+package com.hari.lms.datasource;
+
+/**
+ * Enum for the physical data sources behind the read/write routing data source.
+ *
+ * @author Hari Parthu
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
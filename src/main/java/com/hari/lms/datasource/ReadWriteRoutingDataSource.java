@@ -0,0 +1,63 @@
+package com.hari.lms.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routing data source that sends read-only transactions to the replica and
+ * everything else to the primary. Must be wrapped in a
+ * LazyConnectionDataSourceProxy so the connection is fetched after the
+ * transaction's read-only flag has been set.
+ *
+ * @author Hari Parthu
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Object WRITE_TRACKED = new Object();
+
+    private final ReplicaRoutingPolicy routingPolicy;
+
+    public ReadWriteRoutingDataSource(ReplicaRoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return routingPolicy.canReadFromReplica() ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+        }
+
+        trackWriteTransaction();
+        return DataSourceRole.PRIMARY;
+    }
+
+    /**
+     * Register a callback that marks the current user as a recent writer once
+     * the read-write transaction commits.
+     */
+    private void trackWriteTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WRITE_TRACKED)) {
+            return;
+        }
+
+        String username = ReplicaRoutingPolicy.currentUsername();
+        if (username == null) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(WRITE_TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                routingPolicy.recordWrite(username);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WRITE_TRACKED);
+            }
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package com.hari.lms.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Periodically measures replica lag and feeds it into the routing policy.
+ * The lag query must return the lag in seconds as a single numeric column;
+ * when no query is configured the replica is only checked for reachability.
+ *
+ * @author Hari Parthu
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replicaDataSource;
+    private final ReplicaRoutingPolicy routingPolicy;
+    private final String lagQuery;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, ReplicaRoutingPolicy routingPolicy, String lagQuery) {
+        this.replicaDataSource = replicaDataSource;
+        this.routingPolicy = routingPolicy;
+        this.lagQuery = lagQuery;
+    }
+
+    /**
+     * Measure replica lag and expire old read-your-writes markers.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval-ms:10000}")
+    public void checkReplicaLag() {
+        boolean wasAvailable = routingPolicy.isReplicaAvailable();
+        routingPolicy.updateReplicaLag(measureLag());
+        routingPolicy.evictExpiredWrites();
+
+        if (wasAvailable && !routingPolicy.isReplicaAvailable()) {
+            logger.warn("Replica lag {} exceeds tolerance {}, routing reads to primary",
+                    routingPolicy.getLastObservedLag(), routingPolicy.getMaxReplicaLag());
+        } else if (!wasAvailable && routingPolicy.isReplicaAvailable()) {
+            logger.info("Replica caught up (lag {}), routing reads to replica again",
+                    routingPolicy.getLastObservedLag());
+        }
+    }
+
+    private Duration measureLag() {
+        try (Connection connection = replicaDataSource.getConnection()) {
+            if (!StringUtils.hasText(lagQuery)) {
+                return connection.isValid(2) ? Duration.ZERO : null;
+            }
+
+            try (Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return Duration.ZERO;
+                }
+                double seconds = resultSet.getDouble(1);
+                return Duration.ofMillis((long) (seconds * 1000));
+            }
+        } catch (Exception e) {
+            logger.error("Error checking replica lag: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.hari.lms.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a read-only transaction may be served by the replica.
+ * Reads fall back to the primary while the replica lags more than the
+ * configured tolerance, and for a short window after the current user's own
+ * write so that they always read their own changes.
+ *
+ * @author Hari Parthu
+ */
+public class ReplicaRoutingPolicy {
+
+    private final Duration maxReplicaLag;
+    private final Duration readYourWritesWindow;
+
+    /**
+     * Last committed write per username, in epoch millis.
+     */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private volatile boolean replicaAvailable = true;
+    private volatile Duration lastObservedLag = Duration.ZERO;
+
+    public ReplicaRoutingPolicy(Duration maxReplicaLag, Duration readYourWritesWindow) {
+        this.maxReplicaLag = maxReplicaLag;
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    /**
+     * Check if the current read-only transaction may be routed to the replica.
+     */
+    public boolean canReadFromReplica() {
+        if (!replicaAvailable) {
+            return false;
+        }
+
+        String username = currentUsername();
+        if (username == null) {
+            return true;
+        }
+
+        Long lastWrite = lastWrites.get(username);
+        return lastWrite == null || System.currentTimeMillis() - lastWrite > readYourWritesWindow.toMillis();
+    }
+
+    /**
+     * Record a committed write by the given user.
+     */
+    public void recordWrite(String username) {
+        if (username != null) {
+            lastWrites.put(username, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Update the replica state from a lag measurement. A null lag means the
+     * replica could not be reached.
+     */
+    public void updateReplicaLag(Duration lag) {
+        if (lag == null) {
+            replicaAvailable = false;
+            return;
+        }
+
+        lastObservedLag = lag;
+        replicaAvailable = lag.compareTo(maxReplicaLag) <= 0;
+    }
+
+    /**
+     * Drop write markers that are older than the read-your-writes window.
+     */
+    public void evictExpiredWrites() {
+        long cutoff = System.currentTimeMillis() - readYourWritesWindow.toMillis();
+        lastWrites.values().removeIf(timestamp -> timestamp < cutoff);
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public Duration getLastObservedLag() {
+        return lastObservedLag;
+    }
+
+    public Duration getMaxReplicaLag() {
+        return maxReplicaLag;
+    }
+
+    /**
+     * Get the username of the authenticated user on the current thread.
+     */
+    static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getName())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
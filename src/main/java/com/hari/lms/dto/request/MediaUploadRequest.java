@@ -0,0 +1,61 @@
+package com.hari.lms.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for starting a chunked lesson media upload.
+ * 
+ * @author Hari Parthu
+ */
+public class MediaUploadRequest {
+
+    @NotBlank(message = "File name is required")
+    @Size(max = 255, message = "File name must not exceed 255 characters")
+    private String fileName;
+
+    @NotNull(message = "File size is required")
+    @Positive(message = "File size must be positive")
+    private Long size;
+
+    @Pattern(regexp = "^[0-9a-fA-F]{64}$", message = "SHA-256 must be 64 hexadecimal characters")
+    private String sha256;
+
+    // Constructors
+    public MediaUploadRequest() {
+    }
+
+    public MediaUploadRequest(String fileName, Long size, String sha256) {
+        this.fileName = fileName;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hari.lms.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for refresh and logout requests.
+ * 
+ * @author Hari Parthu
+ */
+public class TokenRefreshRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    // Constructors
+    public TokenRefreshRequest() {
+    }
+
+    public TokenRefreshRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
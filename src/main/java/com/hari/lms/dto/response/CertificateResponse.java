@@ -0,0 +1,63 @@
+package com.hari.lms.dto.response;
+
+import com.hari.lms.enums.CertificateStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a student's course certificate. The URL is set once the
+ * certificate has been generated.
+ *
+ * @author Hari Parthu
+ */
+public class CertificateResponse {
+
+    private Long courseId;
+    private CertificateStatus status;
+    private String url;
+    private LocalDateTime issuedAt;
+
+    // Constructors
+    public CertificateResponse() {
+    }
+
+    public CertificateResponse(Long courseId, CertificateStatus status, String url, LocalDateTime issuedAt) {
+        this.courseId = courseId;
+        this.status = status;
+        this.url = url;
+        this.issuedAt = issuedAt;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public CertificateStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CertificateStatus status) {
+        this.status = status;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public LocalDateTime getIssuedAt() {
+        return issuedAt;
+    }
+
+    public void setIssuedAt(LocalDateTime issuedAt) {
+        this.issuedAt = issuedAt;
+    }
+}
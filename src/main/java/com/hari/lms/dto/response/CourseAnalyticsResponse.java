@@ -0,0 +1,43 @@
+package com.hari.lms.dto.response;
+
+import com.hari.lms.dto.view.CourseAnalyticsView;
+import com.hari.lms.dto.view.DailyEnrollmentView;
+
+import java.util.List;
+
+/**
+ * DTO for the analytics of a single course, with its enrollments per day.
+ *
+ * @author Hari Parthu
+ */
+public class CourseAnalyticsResponse {
+
+    private CourseAnalyticsView course;
+    private List<DailyEnrollmentView> enrollmentsByDay;
+
+    // Constructors
+    public CourseAnalyticsResponse() {
+    }
+
+    public CourseAnalyticsResponse(CourseAnalyticsView course, List<DailyEnrollmentView> enrollmentsByDay) {
+        this.course = course;
+        this.enrollmentsByDay = enrollmentsByDay;
+    }
+
+    // Getters and Setters
+    public CourseAnalyticsView getCourse() {
+        return course;
+    }
+
+    public void setCourse(CourseAnalyticsView course) {
+        this.course = course;
+    }
+
+    public List<DailyEnrollmentView> getEnrollmentsByDay() {
+        return enrollmentsByDay;
+    }
+
+    public void setEnrollmentsByDay(List<DailyEnrollmentView> enrollmentsByDay) {
+        this.enrollmentsByDay = enrollmentsByDay;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hari.lms.dto.response;
+
+import com.hari.lms.enums.CourseDeletionState;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the progress of a course deletion job. Updated by the job thread
+ * and read by API requests, so the fields are volatile.
+ *
+ * @author Hari Parthu
+ */
+public class CourseDeletionStatus {
+
+    private final Long courseId;
+    private final Long instructorId;
+    private volatile CourseDeletionState state = CourseDeletionState.PENDING;
+    private volatile long enrollmentsDeleted;
+    private volatile long paymentsDeleted;
+    private volatile long lessonsDeleted;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public CourseDeletionStatus(Long courseId, Long instructorId) {
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public CourseDeletionState getState() {
+        return state;
+    }
+
+    public void setState(CourseDeletionState state) {
+        this.state = state;
+    }
+
+    public long getEnrollmentsDeleted() {
+        return enrollmentsDeleted;
+    }
+
+    public void setEnrollmentsDeleted(long enrollmentsDeleted) {
+        this.enrollmentsDeleted = enrollmentsDeleted;
+    }
+
+    public long getPaymentsDeleted() {
+        return paymentsDeleted;
+    }
+
+    public void setPaymentsDeleted(long paymentsDeleted) {
+        this.paymentsDeleted = paymentsDeleted;
+    }
+
+    public long getLessonsDeleted() {
+        return lessonsDeleted;
+    }
+
+    public void setLessonsDeleted(long lessonsDeleted) {
+        this.lessonsDeleted = lessonsDeleted;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,58 @@
+package com.hari.lms.dto.response;
+
+/**
+ * DTO for a course together with its number of enrollments.
+ *
+ * @author Hari Parthu
+ */
+public class CourseEnrollmentStats {
+
+    private Long courseId;
+    private String title;
+    private String instructorName;
+    private long enrollmentCount;
+
+    // Constructors
+    public CourseEnrollmentStats() {
+    }
+
+    public CourseEnrollmentStats(Long courseId, String title, String instructorName, long enrollmentCount) {
+        this.courseId = courseId;
+        this.title = title;
+        this.instructorName = instructorName;
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+}
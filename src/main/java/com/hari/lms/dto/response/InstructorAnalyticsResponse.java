@@ -0,0 +1,107 @@
+package com.hari.lms.dto.response;
+
+import com.hari.lms.dto.view.CourseAnalyticsView;
+import com.hari.lms.dto.view.DailyEnrollmentView;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for an instructor's analytics: totals over all their courses, the
+ * per-course figures and enrollments per day. Rates are in percent.
+ *
+ * @author Hari Parthu
+ */
+public class InstructorAnalyticsResponse {
+
+    private long courseCount;
+    private long enrollmentCount;
+    private long completedCount;
+    private double averageProgress;
+    private double completionRate;
+    private BigDecimal revenue;
+    private List<CourseAnalyticsView> courses;
+    private List<DailyEnrollmentView> enrollmentsByDay;
+
+    // Constructors
+    public InstructorAnalyticsResponse() {
+    }
+
+    public InstructorAnalyticsResponse(long courseCount, long enrollmentCount, long completedCount,
+            double averageProgress, double completionRate, BigDecimal revenue, List<CourseAnalyticsView> courses,
+            List<DailyEnrollmentView> enrollmentsByDay) {
+        this.courseCount = courseCount;
+        this.enrollmentCount = enrollmentCount;
+        this.completedCount = completedCount;
+        this.averageProgress = averageProgress;
+        this.completionRate = completionRate;
+        this.revenue = revenue;
+        this.courses = courses;
+        this.enrollmentsByDay = enrollmentsByDay;
+    }
+
+    // Getters and Setters
+    public long getCourseCount() {
+        return courseCount;
+    }
+
+    public void setCourseCount(long courseCount) {
+        this.courseCount = courseCount;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public double getAverageProgress() {
+        return averageProgress;
+    }
+
+    public void setAverageProgress(double averageProgress) {
+        this.averageProgress = averageProgress;
+    }
+
+    public double getCompletionRate() {
+        return completionRate;
+    }
+
+    public void setCompletionRate(double completionRate) {
+        this.completionRate = completionRate;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public List<CourseAnalyticsView> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<CourseAnalyticsView> courses) {
+        this.courses = courses;
+    }
+
+    public List<DailyEnrollmentView> getEnrollmentsByDay() {
+        return enrollmentsByDay;
+    }
+
+    public void setEnrollmentsByDay(List<DailyEnrollmentView> enrollmentsByDay) {
+        this.enrollmentsByDay = enrollmentsByDay;
+    }
+}
@@ -11,6 +11,8 @@ public class JwtResponse {
 
     private String token;
     private String type = "Bearer";
+    private String refreshToken;
+    private long expiresIn;
     private Long id;
     private String username;
     private String email;
@@ -28,6 +30,13 @@ public class JwtResponse {
         this.roles = roles;
     }
 
+    public JwtResponse(String accessToken, String refreshToken, long expiresIn, Long id, String username,
+            String email, List<String> roles) {
+        this(accessToken, id, username, email, roles);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
     // Getters and Setters
     public String getToken() {
         return token;
@@ -45,6 +54,25 @@ public class JwtResponse {
         this.type = type;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    /**
+     * Seconds until the access token expires.
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,110 @@
+package com.hari.lms.dto.response;
+
+import com.hari.lms.enums.UploadStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of a chunked media upload. Offset is the number of
+ * bytes received; a client resumes by sending the chunk starting there.
+ * 
+ * @author Hari Parthu
+ */
+public class MediaUploadResponse {
+
+    private String uploadId;
+    private Long lessonId;
+    private String fileName;
+    private Long size;
+    private Long offset;
+    private UploadStatus status;
+    private String mediaType;
+    private String failureReason;
+    private Long maxChunkSize;
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public MediaUploadResponse() {
+    }
+
+    // Getters and Setters
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getLessonId() {
+        return lessonId;
+    }
+
+    public void setLessonId(Long lessonId) {
+        this.lessonId = lessonId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public UploadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadStatus status) {
+        this.status = status;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public Long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(Long maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
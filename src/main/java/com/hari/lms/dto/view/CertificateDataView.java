@@ -0,0 +1,82 @@
+package com.hari.lms.dto.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model with the names and dates printed on a course certificate,
+ * and the number of attempts made to generate it.
+ *
+ * @author Hari Parthu
+ */
+public class CertificateDataView {
+
+    private Long id;
+    private Integer attempts;
+    private String studentName;
+    private String courseTitle;
+    private String instructorName;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public CertificateDataView() {
+    }
+
+    public CertificateDataView(Long id, Integer attempts, String studentName, String courseTitle,
+            String instructorName, LocalDateTime completedAt) {
+        this.id = id;
+        this.attempts = attempts;
+        this.studentName = studentName;
+        this.courseTitle = courseTitle;
+        this.instructorName = instructorName;
+        this.completedAt = completedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getStudentName() {
+        return studentName;
+    }
+
+    public void setStudentName(String studentName) {
+        this.studentName = studentName;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
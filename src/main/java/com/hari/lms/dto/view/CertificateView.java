@@ -0,0 +1,52 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.CertificateStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for the certificate of an enrollment.
+ *
+ * @author Hari Parthu
+ */
+public class CertificateView {
+
+    private CertificateStatus status;
+    private String contentHash;
+    private LocalDateTime issuedAt;
+
+    // Constructors
+    public CertificateView() {
+    }
+
+    public CertificateView(CertificateStatus status, String contentHash, LocalDateTime issuedAt) {
+        this.status = status;
+        this.contentHash = contentHash;
+        this.issuedAt = issuedAt;
+    }
+
+    // Getters and Setters
+    public CertificateStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CertificateStatus status) {
+        this.status = status;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getIssuedAt() {
+        return issuedAt;
+    }
+
+    public void setIssuedAt(LocalDateTime issuedAt) {
+        this.issuedAt = issuedAt;
+    }
+}
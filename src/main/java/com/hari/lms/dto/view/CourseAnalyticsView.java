@@ -0,0 +1,120 @@
+package com.hari.lms.dto.view;
+
+import java.math.BigDecimal;
+
+/**
+ * Read model for the analytics of one course, built from its precomputed
+ * totals. Courses without any totals yet read as zero.
+ *
+ * @author Hari Parthu
+ */
+public class CourseAnalyticsView {
+
+    private Long courseId;
+    private Long instructorId;
+    private String title;
+    private Boolean isApproved;
+    private long enrollmentCount;
+    private long completedCount;
+    private double averageProgress;
+    private double completionRate;
+    private BigDecimal revenue;
+
+    // Constructors
+    public CourseAnalyticsView() {
+    }
+
+    public CourseAnalyticsView(Long courseId, Long instructorId, String title, Boolean isApproved,
+            Long enrollmentCount, Long completedCount, Long progressSum, BigDecimal revenue) {
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+        this.title = title;
+        this.isApproved = isApproved;
+        this.enrollmentCount = enrollmentCount != null ? enrollmentCount : 0;
+        this.completedCount = completedCount != null ? completedCount : 0;
+        this.averageProgress = this.enrollmentCount > 0 && progressSum != null
+                ? (double) progressSum / this.enrollmentCount
+                : 0;
+        this.completionRate = this.enrollmentCount > 0 ? this.completedCount * 100.0 / this.enrollmentCount : 0;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public void setInstructorId(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Boolean getIsApproved() {
+        return isApproved;
+    }
+
+    public void setIsApproved(Boolean isApproved) {
+        this.isApproved = isApproved;
+    }
+
+    public long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    /**
+     * Average progress of the course's enrollments, in percent.
+     */
+    public double getAverageProgress() {
+        return averageProgress;
+    }
+
+    public void setAverageProgress(double averageProgress) {
+        this.averageProgress = averageProgress;
+    }
+
+    /**
+     * Share of enrollments that completed the course, in percent.
+     */
+    public double getCompletionRate() {
+        return completionRate;
+    }
+
+    public void setCompletionRate(double completionRate) {
+        this.completionRate = completionRate;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+}
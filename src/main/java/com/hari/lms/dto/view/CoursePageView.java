@@ -0,0 +1,51 @@
+package com.hari.lms.dto.view;
+
+import java.util.List;
+
+/**
+ * Everything the course detail page shows: the course with its instructor,
+ * the ordered lesson list and the state of the current user.
+ *
+ * @author Hari Parthu
+ */
+public class CoursePageView {
+
+    private CourseDetailView course;
+    private List<LessonSummaryView> lessons;
+    private CourseViewerState viewer;
+
+    // Constructors
+    public CoursePageView() {
+    }
+
+    public CoursePageView(CourseDetailView course, List<LessonSummaryView> lessons, CourseViewerState viewer) {
+        this.course = course;
+        this.lessons = lessons;
+        this.viewer = viewer;
+    }
+
+    // Getters and Setters
+    public CourseDetailView getCourse() {
+        return course;
+    }
+
+    public void setCourse(CourseDetailView course) {
+        this.course = course;
+    }
+
+    public List<LessonSummaryView> getLessons() {
+        return lessons;
+    }
+
+    public void setLessons(List<LessonSummaryView> lessons) {
+        this.lessons = lessons;
+    }
+
+    public CourseViewerState getViewer() {
+        return viewer;
+    }
+
+    public void setViewer(CourseViewerState viewer) {
+        this.viewer = viewer;
+    }
+}
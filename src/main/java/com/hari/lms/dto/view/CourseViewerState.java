@@ -0,0 +1,93 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the current user with respect to one course: whether they own
+ * it, are enrolled and how far they got, and the status of their latest
+ * payment for it. Everything is empty for anonymous users.
+ *
+ * @author Hari Parthu
+ */
+public class CourseViewerState {
+
+    private boolean authenticated;
+    private String role;
+    private boolean owner;
+    private boolean enrolled;
+    private Integer progress;
+    private String completedLessons;
+    private LocalDateTime enrollmentDate;
+    private PaymentStatus paymentStatus;
+
+    // Constructors
+    public CourseViewerState() {
+    }
+
+    // Getters and Setters
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    public void setAuthenticated(boolean authenticated) {
+        this.authenticated = authenticated;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public boolean isOwner() {
+        return owner;
+    }
+
+    public void setOwner(boolean owner) {
+        this.owner = owner;
+    }
+
+    public boolean isEnrolled() {
+        return enrolled;
+    }
+
+    public void setEnrolled(boolean enrolled) {
+        this.enrolled = enrolled;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public String getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(String completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(LocalDateTime enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+}
@@ -0,0 +1,40 @@
+package com.hari.lms.dto.view;
+
+import java.time.LocalDate;
+
+/**
+ * Read model for the number of enrollments made on a day.
+ *
+ * @author Hari Parthu
+ */
+public class DailyEnrollmentView {
+
+    private LocalDate day;
+    private Long enrollments;
+
+    // Constructors
+    public DailyEnrollmentView() {
+    }
+
+    public DailyEnrollmentView(LocalDate day, Long enrollments) {
+        this.day = day;
+        this.enrollments = enrollments;
+    }
+
+    // Getters and Setters
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(Long enrollments) {
+        this.enrollments = enrollments;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.PaymentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a student's enrollment in one course, with the status of
+ * the payment it was created from.
+ *
+ * @author Hari Parthu
+ */
+public class EnrollmentStateView {
+
+    private Integer progress;
+    private String completedLessons;
+    private LocalDateTime enrollmentDate;
+    private PaymentStatus paymentStatus;
+
+    // Constructors
+    public EnrollmentStateView() {
+    }
+
+    public EnrollmentStateView(Integer progress, String completedLessons, LocalDateTime enrollmentDate,
+            PaymentStatus paymentStatus) {
+        this.progress = progress;
+        this.completedLessons = completedLessons;
+        this.enrollmentDate = enrollmentDate;
+        this.paymentStatus = paymentStatus;
+    }
+
+    // Getters and Setters
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+
+    public String getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(String completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public void setEnrollmentDate(LocalDateTime enrollmentDate) {
+        this.enrollmentDate = enrollmentDate;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(PaymentStatus paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+}
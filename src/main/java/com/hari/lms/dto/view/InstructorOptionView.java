@@ -0,0 +1,48 @@
+package com.hari.lms.dto.view;
+
+/**
+ * Read model for an instructor in the course form drop-downs.
+ *
+ * @author Hari Parthu
+ */
+public class InstructorOptionView {
+
+    private Long id;
+    private String fullName;
+    private String email;
+
+    // Constructors
+    public InstructorOptionView() {
+    }
+
+    public InstructorOptionView(Long id, String fullName, String email) {
+        this.id = id;
+        this.fullName = fullName;
+        this.email = email;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+}
@@ -0,0 +1,82 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.ContentType;
+
+/**
+ * Read model for serving a lesson's media, with the course fields needed to
+ * decide who may access it.
+ *
+ * @author Hari Parthu
+ */
+public class LessonMediaView {
+
+    private Long id;
+    private Long courseId;
+    private Long instructorId;
+    private Boolean courseApproved;
+    private ContentType contentType;
+    private String contentUrl;
+
+    // Constructors
+    public LessonMediaView() {
+    }
+
+    public LessonMediaView(Long id, Long courseId, Long instructorId, Boolean courseApproved,
+            ContentType contentType, String contentUrl) {
+        this.id = id;
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+        this.courseApproved = courseApproved;
+        this.contentType = contentType;
+        this.contentUrl = contentUrl;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public void setInstructorId(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+
+    public Boolean getCourseApproved() {
+        return courseApproved;
+    }
+
+    public void setCourseApproved(Boolean courseApproved) {
+        this.courseApproved = courseApproved;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentUrl() {
+        return contentUrl;
+    }
+
+    public void setContentUrl(String contentUrl) {
+        this.contentUrl = contentUrl;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.ContentType;
+
+/**
+ * Read model for a curriculum entry on the course detail page. Lesson
+ * content is left out, it is only loaded when the lesson is opened.
+ *
+ * @author Hari Parthu
+ */
+public class LessonSummaryView {
+
+    private Long id;
+    private Integer sequenceNumber;
+    private String title;
+    private ContentType contentType;
+
+    // Constructors
+    public LessonSummaryView() {
+    }
+
+    public LessonSummaryView(Long id, Integer sequenceNumber, String title, ContentType contentType) {
+        this.id = id;
+        this.sequenceNumber = sequenceNumber;
+        this.title = title;
+        this.contentType = contentType;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Integer sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(ContentType contentType) {
+        this.contentType = contentType;
+    }
+}
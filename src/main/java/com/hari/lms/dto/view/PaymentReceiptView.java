@@ -0,0 +1,126 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for the payment result pages, flattened with the paid course
+ * and its instructor.
+ *
+ * @author Hari Parthu
+ */
+public class PaymentReceiptView {
+
+    private Long id;
+    private String transactionId;
+    private BigDecimal amount;
+    private PaymentStatus status;
+    private Long courseId;
+    private String courseTitle;
+    private BigDecimal coursePrice;
+    private String instructorName;
+    private LocalDateTime completedAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PaymentReceiptView() {
+    }
+
+    public PaymentReceiptView(Long id, String transactionId, BigDecimal amount, PaymentStatus status,
+            Long courseId, String courseTitle, BigDecimal coursePrice, String instructorName,
+            LocalDateTime completedAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.status = status;
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.coursePrice = coursePrice;
+        this.instructorName = instructorName;
+        this.completedAt = completedAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PaymentStatus status) {
+        this.status = status;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(String courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public BigDecimal getCoursePrice() {
+        return coursePrice;
+    }
+
+    public void setCoursePrice(BigDecimal coursePrice) {
+        this.coursePrice = coursePrice;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.hari.lms.dto.view;
+
+import com.hari.lms.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for a user row in the admin pages.
+ *
+ * @author Hari Parthu
+ */
+public class UserRowView {
+
+    private Long id;
+    private String username;
+    private String fullName;
+    private String email;
+    private Role role;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public UserRowView() {
+    }
+
+    public UserRowView(Long id, String username, String fullName, String email, Role role, Boolean enabled,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.fullName = fullName;
+        this.email = email;
+        this.role = role;
+        this.enabled = enabled;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -5,6 +5,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Where;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,12 +21,17 @@ import java.util.Objects;
 
 /**
  * Course entity representing courses in the LMS system.
+ * Deleted courses are hidden from every query until the deletion job has
+ * purged their rows.
  * 
  * @author Hari Parthu
  */
 @Entity
 @Table(name = "courses")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
+@Where(clause = "deleted = false")
 public class Course {
 
     @Id
@@ -47,12 +56,17 @@ public class Course {
     @Column(name = "is_approved", nullable = false)
     private Boolean isApproved = false;
 
+    @ColumnDefault("false")
+    @Column(name = "deleted", nullable = false)
+    private Boolean deleted = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id", nullable = false)
     private User instructor;
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("sequenceNumber ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course-lessons")
     private List<Lesson> lessons = new ArrayList<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
@@ -148,6 +162,14 @@ public class Course {
         this.isApproved = isApproved;
     }
 
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+
     public User getInstructor() {
         return instructor;
     }
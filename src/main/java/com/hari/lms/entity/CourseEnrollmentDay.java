@@ -0,0 +1,100 @@
+package com.hari.lms.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number of enrollments a course received on a day, kept for the
+ * enrollments-over-time chart of instructor analytics.
+ * 
+ * @author Hari Parthu
+ */
+@Entity
+@Table(name = "course_enrollment_days", uniqueConstraints = {
+        @UniqueConstraint(name = "unique_course_enrollment_day", columnNames = { "course_id", "enrollment_day" })
+})
+public class CourseEnrollmentDay {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "enrollment_day", nullable = false)
+    private LocalDate enrollmentDay;
+
+    @Column(nullable = false)
+    private Long enrollments = 0L;
+
+    // Constructors
+    public CourseEnrollmentDay() {
+    }
+
+    public CourseEnrollmentDay(Long courseId, LocalDate enrollmentDay, Long enrollments) {
+        this.courseId = courseId;
+        this.enrollmentDay = enrollmentDay;
+        this.enrollments = enrollments;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public LocalDate getEnrollmentDay() {
+        return enrollmentDay;
+    }
+
+    public void setEnrollmentDay(LocalDate enrollmentDay) {
+        this.enrollmentDay = enrollmentDay;
+    }
+
+    public Long getEnrollments() {
+        return enrollments;
+    }
+
+    public void setEnrollments(Long enrollments) {
+        this.enrollments = enrollments;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        CourseEnrollmentDay that = (CourseEnrollmentDay) o;
+        return Objects.equals(courseId, that.courseId) &&
+                Objects.equals(enrollmentDay, that.enrollmentDay);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseId, enrollmentDay);
+    }
+
+    @Override
+    public String toString() {
+        return "CourseEnrollmentDay{" +
+                "courseId=" + courseId +
+                ", enrollmentDay=" + enrollmentDay +
+                ", enrollments=" + enrollments +
+                '}';
+    }
+}
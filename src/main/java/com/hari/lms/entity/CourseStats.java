@@ -0,0 +1,124 @@
+package com.hari.lms.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Running enrollment, progress and revenue totals of a course. Rows are
+ * adjusted by enrollment and payment events and rebuilt from the source
+ * tables nightly, so analytics read one row per course instead of
+ * aggregating enrollments.
+ * 
+ * @author Hari Parthu
+ */
+@Entity
+@Table(name = "course_stats")
+public class CourseStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "enrollment_count", nullable = false)
+    private Long enrollmentCount = 0L;
+
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount = 0L;
+
+    // Sum of enrollment progress; divided by the count for the average
+    @Column(name = "progress_sum", nullable = false)
+    private Long progressSum = 0L;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CourseStats() {
+    }
+
+    public CourseStats(Long courseId) {
+        this.courseId = courseId;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getEnrollmentCount() {
+        return enrollmentCount;
+    }
+
+    public void setEnrollmentCount(Long enrollmentCount) {
+        this.enrollmentCount = enrollmentCount;
+    }
+
+    public Long getCompletedCount() {
+        return completedCount;
+    }
+
+    public void setCompletedCount(Long completedCount) {
+        this.completedCount = completedCount;
+    }
+
+    public Long getProgressSum() {
+        return progressSum;
+    }
+
+    public void setProgressSum(Long progressSum) {
+        this.progressSum = progressSum;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        CourseStats that = (CourseStats) o;
+        return Objects.equals(courseId, that.courseId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseId);
+    }
+
+    @Override
+    public String toString() {
+        return "CourseStats{" +
+                "courseId=" + courseId +
+                ", enrollmentCount=" + enrollmentCount +
+                ", completedCount=" + completedCount +
+                ", progressSum=" + progressSum +
+                ", revenue=" + revenue +
+                '}';
+    }
+}
@@ -19,6 +19,8 @@ import java.util.Objects;
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
         @UniqueConstraint(name = "unique_enrollment", columnNames = { "student_id", "course_id" })
+}, indexes = {
+        @Index(name = "idx_enrollments_course_student", columnList = "course_id, student_id")
 })
 @EntityListeners(AuditingEntityListener.class)
 public class Enrollment {
@@ -0,0 +1,235 @@
+package com.hari.lms.entity;
+
+import com.hari.lms.enums.UploadStatus;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Media upload entity tracking a resumable, chunked upload of a lesson's
+ * video or PDF. The bytes live in a part file in the media store; the row
+ * records how many of them have been received so a client can resume after
+ * a dropped connection.
+ * 
+ * @author Hari Parthu
+ */
+@Entity
+@Table(name = "media_uploads", indexes = {
+        @Index(name = "idx_media_uploads_status", columnList = "status"),
+        @Index(name = "idx_media_uploads_expires_at", columnList = "expires_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class MediaUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, unique = true, length = 36)
+    private String uploadId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lesson_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Lesson lesson;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_size", nullable = false)
+    private Long receivedSize = 0L;
+
+    @Column(name = "expected_sha256", length = 64)
+    private String expectedSha256;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadStatus status = UploadStatus.UPLOADING;
+
+    @Column(name = "media_type", length = 100)
+    private String mediaType;
+
+    @Column(name = "failure_reason", length = 255)
+    private String failureReason;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public MediaUpload() {
+    }
+
+    public MediaUpload(String uploadId, Lesson lesson, User user, String fileName, Long totalSize,
+            String expectedSha256, LocalDateTime expiresAt) {
+        this.uploadId = uploadId;
+        this.lesson = lesson;
+        this.user = user;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.expectedSha256 = expectedSha256;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Lesson getLesson() {
+        return lesson;
+    }
+
+    public void setLesson(Lesson lesson) {
+        this.lesson = lesson;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public Long getReceivedSize() {
+        return receivedSize;
+    }
+
+    public void setReceivedSize(Long receivedSize) {
+        this.receivedSize = receivedSize;
+    }
+
+    public String getExpectedSha256() {
+        return expectedSha256;
+    }
+
+    public void setExpectedSha256(String expectedSha256) {
+        this.expectedSha256 = expectedSha256;
+    }
+
+    public UploadStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(UploadStatus status) {
+        this.status = status;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public void setMediaType(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public void setFailureReason(String failureReason) {
+        this.failureReason = failureReason;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        MediaUpload that = (MediaUpload) o;
+        return Objects.equals(id, that.id) &&
+                Objects.equals(uploadId, that.uploadId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, uploadId);
+    }
+
+    @Override
+    public String toString() {
+        return "MediaUpload{" +
+                "id=" + id +
+                ", uploadId='" + uploadId + '\'' +
+                ", fileName='" + fileName + '\'' +
+                ", totalSize=" + totalSize +
+                ", receivedSize=" + receivedSize +
+                ", status=" + status +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package com.hari.lms.enums;
+
+/**
+ * Enumeration representing the generation state of a course certificate.
+ * 
+ * @author Hari Parthu
+ */
+public enum CertificateStatus {
+
+    /**
+     * Course completed; the certificate is waiting to be generated or retried
+     */
+    PENDING,
+
+    /**
+     * Certificate has been generated and stored
+     */
+    ISSUED,
+
+    /**
+     * Generation failed on every attempt
+     */
+    FAILED
+}
@@ -0,0 +1,29 @@
+package com.hari.lms.enums;
+
+/**
+ * Enumeration representing the states of a course deletion job.
+ * 
+ * @author Hari Parthu
+ */
+public enum CourseDeletionState {
+
+    /**
+     * Course is hidden and waiting for the deletion job to start
+     */
+    PENDING,
+
+    /**
+     * Dependent rows are being deleted in chunks
+     */
+    RUNNING,
+
+    /**
+     * Course and all its dependent rows have been deleted
+     */
+    COMPLETED,
+
+    /**
+     * Deletion stopped with an error; the course stays hidden and is retried
+     */
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.hari.lms.enums;
+
+/**
+ * Enum for the time windows of the popular courses ranking.
+ * 
+ * @author Hari Parthu
+ */
+public enum PopularityWindow {
+    ALL_TIME(0),
+    LAST_24_HOURS(24),
+    LAST_7_DAYS(168);
+
+    private final int hours;
+
+    PopularityWindow(int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hari.lms.enums;
+
+/**
+ * Enumeration representing the states of a chunked media upload.
+ * 
+ * @author Hari Parthu
+ */
+public enum UploadStatus {
+
+    /**
+     * Upload is open and accepting chunks
+     */
+    UPLOADING,
+
+    /**
+     * All bytes have been received and verified, waiting for post-processing
+     */
+    UPLOADED,
+
+    /**
+     * File is being validated and moved into the media store
+     */
+    PROCESSING,
+
+    /**
+     * File has been stored and attached to its lesson
+     */
+    COMPLETED,
+
+    /**
+     * Upload was rejected by checksum verification or post-processing
+     */
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.hari.lms.event;
+
+/**
+ * Enum for the kind of change carried by a domain event.
+ *
+ * @author Hari Parthu
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,29 @@
+package com.hari.lms.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Event published once per batch when many courses are updated or deleted by
+ * a single set-based statement, instead of one {@link CourseEvent} per course.
+ *
+ * @author Hari Parthu
+ */
+public class CourseBatchEvent {
+
+    private final ChangeType changeType;
+    private final Set<Long> courseIds;
+
+    public CourseBatchEvent(ChangeType changeType, Collection<Long> courseIds) {
+        this.changeType = changeType;
+        this.courseIds = Set.copyOf(courseIds);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Set<Long> getCourseIds() {
+        return courseIds;
+    }
+}
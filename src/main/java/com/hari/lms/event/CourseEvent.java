@@ -0,0 +1,65 @@
+package com.hari.lms.event;
+
+import com.hari.lms.entity.Course;
+import org.hibernate.Hibernate;
+
+/**
+ * Event published when a course is created, updated or deleted.
+ *
+ * @author Hari Parthu
+ */
+public class CourseEvent {
+
+    private final ChangeType changeType;
+    private final Long courseId;
+    private final String title;
+    private final Long instructorId;
+    private final String instructorName;
+    private final boolean approved;
+    private final Boolean previouslyApproved;
+
+    public CourseEvent(ChangeType changeType, Course course) {
+        this(changeType, course, null);
+    }
+
+    public CourseEvent(ChangeType changeType, Course course, Boolean previouslyApproved) {
+        this.changeType = changeType;
+        this.courseId = course.getId();
+        this.title = course.getTitle();
+        this.instructorId = course.getInstructor() != null ? course.getInstructor().getId() : null;
+        // Avoid initializing a lazy instructor proxy just for the name
+        this.instructorName = course.getInstructor() != null && Hibernate.isInitialized(course.getInstructor())
+                ? course.getInstructor().getFullName()
+                : null;
+        this.approved = Boolean.TRUE.equals(course.getIsApproved());
+        this.previouslyApproved = previouslyApproved;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public boolean isApproved() {
+        return approved;
+    }
+
+    public Boolean getPreviouslyApproved() {
+        return previouslyApproved;
+    }
+}
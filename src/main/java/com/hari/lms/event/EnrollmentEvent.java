@@ -0,0 +1,64 @@
+package com.hari.lms.event;
+
+import com.hari.lms.entity.Enrollment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published when an enrollment is created, its progress changes or it
+ * is deleted.
+ *
+ * @author Hari Parthu
+ */
+public class EnrollmentEvent {
+
+    private final ChangeType changeType;
+    private final Long enrollmentId;
+    private final Long studentId;
+    private final Long courseId;
+    private final Integer progress;
+    private final Integer previousProgress;
+    private final LocalDateTime enrollmentDate;
+
+    public EnrollmentEvent(ChangeType changeType, Enrollment enrollment) {
+        this(changeType, enrollment, null);
+    }
+
+    public EnrollmentEvent(ChangeType changeType, Enrollment enrollment, Integer previousProgress) {
+        this.changeType = changeType;
+        this.enrollmentId = enrollment.getId();
+        this.studentId = enrollment.getStudent().getId();
+        this.courseId = enrollment.getCourse().getId();
+        this.progress = enrollment.getProgress();
+        this.previousProgress = previousProgress;
+        this.enrollmentDate = enrollment.getEnrollmentDate();
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Integer getProgress() {
+        return progress;
+    }
+
+    public Integer getPreviousProgress() {
+        return previousProgress;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+}
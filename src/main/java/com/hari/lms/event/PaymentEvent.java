@@ -0,0 +1,48 @@
+package com.hari.lms.event;
+
+import com.hari.lms.entity.Payment;
+import com.hari.lms.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Event published when a payment reaches a final status.
+ *
+ * @author Hari Parthu
+ */
+public class PaymentEvent {
+
+    private final Long paymentId;
+    private final Long studentId;
+    private final Long courseId;
+    private final BigDecimal amount;
+    private final PaymentStatus status;
+
+    public PaymentEvent(Payment payment) {
+        this.paymentId = payment.getId();
+        this.studentId = payment.getStudent().getId();
+        this.courseId = payment.getCourse().getId();
+        this.amount = payment.getAmount();
+        this.status = payment.getStatus();
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public PaymentStatus getStatus() {
+        return status;
+    }
+}
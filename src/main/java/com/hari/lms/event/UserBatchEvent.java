@@ -0,0 +1,29 @@
+package com.hari.lms.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Event published once per batch when many users are updated or deleted by a
+ * single set-based statement, instead of one {@link UserEvent} per user.
+ *
+ * @author Hari Parthu
+ */
+public class UserBatchEvent {
+
+    private final ChangeType changeType;
+    private final Set<Long> userIds;
+
+    public UserBatchEvent(ChangeType changeType, Collection<Long> userIds) {
+        this.changeType = changeType;
+        this.userIds = Set.copyOf(userIds);
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Set<Long> getUserIds() {
+        return userIds;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hari.lms.event;
+
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.Role;
+
+/**
+ * Event published when a user is created, updated or deleted.
+ *
+ * @author Hari Parthu
+ */
+public class UserEvent {
+
+    private final ChangeType changeType;
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final Role role;
+    private final Role previousRole;
+    private final Boolean enabled;
+
+    public UserEvent(ChangeType changeType, User user) {
+        this(changeType, user, null);
+    }
+
+    public UserEvent(ChangeType changeType, User user, Role previousRole) {
+        this.changeType = changeType;
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.previousRole = previousRole;
+        this.enabled = user.getEnabled();
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Role getPreviousRole() {
+        return previousRole;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+}
@@ -2,6 +2,7 @@ package com.hari.lms.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -60,6 +61,69 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle rejected refresh tokens.
+     */
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<ErrorResponse> handleTokenRefreshException(
+            TokenRefreshException ex, WebRequest request) {
+
+        logger.warn("Token refresh rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Handle saturated password hashing on login and sign-up.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailableException(
+            PasswordHashingUnavailableException ex, WebRequest request) {
+
+        logger.warn("Password hashing unavailable: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle rejected media upload requests.
+     */
+    @ExceptionHandler(MediaUploadException.class)
+    public ResponseEntity<ErrorResponse> handleMediaUploadException(
+            MediaUploadException ex, WebRequest request) {
+
+        logger.warn("Media upload rejected: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                ex.getStatus().value(),
+                ex.getMessage(),
+                request.getDescription(false),
+                LocalDateTime.now());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(ex.getStatus());
+        if (ex.getOffset() != null) {
+            response.header("Upload-Offset", String.valueOf(ex.getOffset()));
+        }
+        if (ex.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+            response.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return response.body(errorResponse);
+    }
+
     /**
      * Handle validation exceptions.
      */
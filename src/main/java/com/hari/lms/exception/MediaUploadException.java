@@ -0,0 +1,37 @@
+package com.hari.lms.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a media upload request cannot be accepted. It
+ * carries the HTTP status to answer with and, where it helps the client to
+ * resume, the number of bytes the server already has.
+ *
+ * @author Hari Parthu
+ */
+public class MediaUploadException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final Long offset;
+
+    public MediaUploadException(HttpStatus status, String message) {
+        this(status, message, null);
+    }
+
+    public MediaUploadException(HttpStatus status, String message, Long offset) {
+        super(message);
+        this.status = status;
+        this.offset = offset;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Bytes received so far, or null if not relevant to the error.
+     */
+    public Long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,25 @@
+package com.hari.lms.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a password cannot be hashed or verified because the
+ * password hashing executor is saturated. It is an authentication exception
+ * so login filters route it to their failure handlers instead of failing the
+ * request with a server error.
+ *
+ * @author Hari Parthu
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends AuthenticationServiceException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.hari.lms.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, already used or
+ * belongs to a disabled user.
+ * 
+ * @author Hari Parthu
+ */
+@ResponseStatus(value = HttpStatus.UNAUTHORIZED)
+public class TokenRefreshException extends RuntimeException {
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
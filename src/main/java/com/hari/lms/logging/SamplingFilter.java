@@ -0,0 +1,36 @@
+package com.hari.lms.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that lets one in every N events through. Used to keep
+ * high-volume loggers such as the slow query log from flooding the output.
+ *
+ * @author Hari Parthu
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private int sampleEvery = 1;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (sampleEvery <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+}
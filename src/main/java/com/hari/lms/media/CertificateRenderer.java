@@ -0,0 +1,94 @@
+package com.hari.lms.media;
+
+import com.hari.lms.dto.view.CertificateDataView;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Draws course certificates as PNG images with Java2D. Rendering is only
+ * done by the certificate workers; requests are served the stored image.
+ *
+ * @author Hari Parthu
+ */
+@Component
+public class CertificateRenderer {
+
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 1131;
+    private static final int MARGIN = 60;
+
+    private static final Color BACKGROUND = new Color(0xFD, 0xFB, 0xF5);
+    private static final Color ACCENT = new Color(0x1F, 0x3A, 0x5F);
+    private static final Color TEXT = new Color(0x33, 0x33, 0x33);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM d, yyyy", Locale.ENGLISH);
+
+    /**
+     * Render the certificate and encode it as PNG.
+     */
+    public byte[] render(CertificateDataView certificate) throws IOException {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setColor(ACCENT);
+            g.setStroke(new BasicStroke(8));
+            g.drawRect(MARGIN, MARGIN, WIDTH - 2 * MARGIN, HEIGHT - 2 * MARGIN);
+            g.setStroke(new BasicStroke(2));
+            g.drawRect(MARGIN + 20, MARGIN + 20, WIDTH - 2 * (MARGIN + 20), HEIGHT - 2 * (MARGIN + 20));
+
+            drawCentered(g, "CERTIFICATE OF COMPLETION", new Font(Font.SERIF, Font.BOLD, 72), ACCENT, 260);
+            drawCentered(g, "This certifies that", new Font(Font.SERIF, Font.ITALIC, 36), TEXT, 380);
+            drawCentered(g, certificate.getStudentName(), new Font(Font.SERIF, Font.BOLD, 80), ACCENT, 500);
+            drawCentered(g, "has successfully completed the course", new Font(Font.SERIF, Font.ITALIC, 36), TEXT,
+                    600);
+            drawCentered(g, certificate.getCourseTitle(), new Font(Font.SANS_SERIF, Font.BOLD, 56), TEXT, 710);
+            drawCentered(g, "Instructor: " + certificate.getInstructorName(),
+                    new Font(Font.SANS_SERIF, Font.PLAIN, 32), TEXT, 820);
+            drawCentered(g, certificate.getCompletedAt().format(DATE_FORMAT),
+                    new Font(Font.SANS_SERIF, Font.PLAIN, 32), TEXT, 880);
+            drawCentered(g, String.format("Certificate No. LMS-%08d", certificate.getId()),
+                    new Font(Font.MONOSPACED, Font.PLAIN, 24), ACCENT, 980);
+        } finally {
+            g.dispose();
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(64 * 1024);
+        if (!ImageIO.write(image, "png", output)) {
+            throw new IOException("No PNG writer available");
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Draw a line of text centred horizontally, shrinking the font until it
+     * fits between the borders.
+     */
+    private static void drawCentered(Graphics2D g, String text, Font font, Color color, int baseline) {
+        int maxWidth = WIDTH - 2 * (MARGIN + 60);
+        FontMetrics metrics = g.getFontMetrics(font);
+        while (metrics.stringWidth(text) > maxWidth && font.getSize() > 12) {
+            font = font.deriveFont(font.getSize2D() - 2);
+            metrics = g.getFontMetrics(font);
+        }
+        g.setFont(font);
+        g.setColor(color);
+        g.drawString(text, (WIDTH - metrics.stringWidth(text)) / 2, baseline);
+    }
+}
@@ -0,0 +1,155 @@
+package com.hari.lms.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+/**
+ * Lesson media kept on the local disk under a single root directory. Files
+ * are addressed by a relative key such as lessons/12/intro.mp4; a lesson
+ * whose content URL is "media:" followed by a key is served from here.
+ *
+ * @author Hari Parthu
+ */
+@Component
+public class LocalMediaStore {
+
+    public static final String URL_PREFIX = "media:";
+
+    // Directory under the root holding uploads in progress
+    private static final String PARTS_DIRECTORY = ".uploads";
+
+    private final Path root;
+
+    public LocalMediaStore(@Value("${app.media.root:./data/media}") String root) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create media directory " + this.root, e);
+        }
+    }
+
+    /**
+     * Check if a lesson content URL refers to this store.
+     */
+    public static boolean isStored(String contentUrl) {
+        return contentUrl != null && contentUrl.startsWith(URL_PREFIX);
+    }
+
+    /**
+     * Get the store key of a content URL that refers to this store.
+     */
+    public static String keyOf(String contentUrl) {
+        return contentUrl.substring(URL_PREFIX.length());
+    }
+
+    /**
+     * Get the content URL under which a key is stored on a lesson.
+     */
+    public static String toContentUrl(String key) {
+        return URL_PREFIX + key;
+    }
+
+    /**
+     * Look up a stored file, or empty if there is none for the key.
+     */
+    public Optional<MediaFile> find(String key) {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            MediaType mediaType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM);
+            return Optional.of(new MediaFile(path, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                    mediaType));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read media file " + key, e);
+        }
+    }
+
+    /**
+     * Store a file under a key, replacing any previous file. The content is
+     * written to a temporary file first and moved into place, so readers
+     * never see a partial file.
+     */
+    public MediaFile store(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return find(key).orElseThrow(() -> new NoSuchFileException(target.toString()));
+    }
+
+    /**
+     * Get the part file of an upload in progress. It lives on the same file
+     * system as the stored media, so promoting it is a rename.
+     */
+    public Path partPath(String uploadId) throws IOException {
+        Path parts = Files.createDirectories(root.resolve(PARTS_DIRECTORY));
+        Path part = parts.resolve(uploadId + ".part").normalize();
+        if (!part.getParent().equals(parts)) {
+            throw new IllegalArgumentException("Invalid upload ID: " + uploadId);
+        }
+        return part;
+    }
+
+    /**
+     * Move a finished part file into the store under a key, replacing any
+     * previous file.
+     */
+    public MediaFile promote(Path part, String key) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        move(part, target);
+        return find(key).orElseThrow(() -> new NoSuchFileException(target.toString()));
+    }
+
+    /**
+     * Delete a stored file. Returns false if there was none.
+     */
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    /**
+     * Resolve a key to a path inside the root directory.
+     */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid media key: " + key);
+        }
+        return path;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
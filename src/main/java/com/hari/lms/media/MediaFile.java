@@ -0,0 +1,53 @@
+package com.hari.lms.media;
+
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+
+/**
+ * A file in the media store with the metadata needed to serve it.
+ *
+ * @author Hari Parthu
+ */
+public class MediaFile {
+
+    private final Path path;
+    private final long length;
+    private final long lastModified;
+    private final MediaType mediaType;
+
+    public MediaFile(Path path, long length, long lastModified, MediaType mediaType) {
+        this.path = path;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.mediaType = mediaType;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Last modification time in milliseconds since the epoch.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Strong entity tag derived from size and modification time. Files are
+     * replaced as a whole, never edited in place, so both change together
+     * with the content.
+     */
+    public String getETag() {
+        return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+}
@@ -0,0 +1,146 @@
+package com.hari.lms.media;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a media file, or a single byte range of it, to the response
+ * without copying it through the Java heap. Large bodies are handed to the
+ * servlet container's sendfile support, so the kernel copies straight from
+ * the page cache to the socket; otherwise FileChannel.transferTo is used.
+ *
+ * Multiple ranges in one request are answered with the whole file, which
+ * RFC 9110 allows; players only ever ask for one.
+ *
+ * @author Hari Parthu
+ */
+@Component
+public class MediaFileSender {
+
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final long sendfileThreshold;
+    private final Counter sendfileBytes;
+    private final Counter channelBytes;
+
+    public MediaFileSender(@Value("${app.media.sendfile-threshold:48KB}") DataSize sendfileThreshold,
+            MeterRegistry meterRegistry) {
+        this.sendfileThreshold = sendfileThreshold.toBytes();
+        this.sendfileBytes = sentBytesCounter(meterRegistry, "sendfile");
+        this.channelBytes = sentBytesCounter(meterRegistry, "channel");
+    }
+
+    /**
+     * Send a file with status 200, 206 or 416 depending on the Range and
+     * If-Range headers. Conditional GET headers must have been checked by
+     * the caller.
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, MediaFile file) throws IOException {
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && rangeApplies(request, file)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                try {
+                    start = requested.getRangeStart(length);
+                    end = requested.getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(file.getMediaType().toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (count >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // The container writes the file after this request returns
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfileBytes.increment(count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("Media file shrank while sending: " + file.getPath());
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+        channelBytes.increment(count);
+    }
+
+    /**
+     * A Range header only applies if there is no If-Range, or If-Range still
+     * matches the file's entity tag or modification date.
+     */
+    private static boolean rangeApplies(HttpServletRequest request, MediaFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(file.getETag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == file.getLastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static Counter sentBytesCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("lms.media.sent")
+                .description("Lesson media bytes sent, by transfer mode")
+                .baseUnit("bytes")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.hari.lms.media;
+
+import com.hari.lms.enums.ContentType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Media formats accepted for lessons, recognised by their leading bytes
+ * rather than by the file name the client sent.
+ *
+ * @author Hari Parthu
+ */
+public enum MediaFormat {
+
+    MP4("video/mp4", "mp4", ContentType.VIDEO),
+    WEBM("video/webm", "webm", ContentType.VIDEO),
+    PDF("application/pdf", "pdf", ContentType.PDF);
+
+    private static final int HEADER_SIZE = 12;
+
+    private final String mediaType;
+    private final String extension;
+    private final ContentType contentType;
+
+    MediaFormat(String mediaType, String extension, ContentType contentType) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ContentType getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Detect the format of a file from its first bytes.
+     */
+    public static Optional<MediaFormat> detect(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+        }
+        return detect(header.array(), header.position());
+    }
+
+    static Optional<MediaFormat> detect(byte[] header, int length) {
+        // ISO base media file: box size, then "ftyp"
+        if (length >= 8 && header[4] == 'f' && header[5] == 't' && header[6] == 'y' && header[7] == 'p') {
+            return Optional.of(MP4);
+        }
+        // EBML header of Matroska/WebM
+        if (length >= 4 && (header[0] & 0xFF) == 0x1A && (header[1] & 0xFF) == 0x45
+                && (header[2] & 0xFF) == 0xDF && (header[3] & 0xFF) == 0xA3) {
+            return Optional.of(WEBM);
+        }
+        if (length >= 5 && header[0] == '%' && header[1] == 'P' && header[2] == 'D' && header[3] == 'F'
+                && header[4] == '-') {
+            return Optional.of(PDF);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hari.lms.media;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Part file of an upload in progress. Each chunk is written at its offset
+ * straight into the one file that becomes the stored media, so finishing an
+ * upload is a rename rather than a concatenation of parts. Data moves
+ * through a fixed 64 KB buffer, so memory use does not depend on chunk or
+ * file size.
+ *
+ * @author Hari Parthu
+ */
+public final class UploadPart {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private UploadPart() {
+    }
+
+    /**
+     * Write a chunk of exactly length bytes from the input at the offset.
+     * The chunk is flushed to disk before returning, so a recorded offset
+     * survives a crash.
+     *
+     * @return the SHA-256 of the chunk
+     */
+    public static byte[] write(Path part, long offset, long length, InputStream input) throws IOException {
+        MessageDigest chunkDigest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        ReadableByteChannel source = Channels.newChannel(input);
+
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, remaining));
+                int read = source.read(buffer);
+                if (read < 0) {
+                    throw new EOFException("Chunk ended after " + (length - remaining) + " of " + length + " bytes");
+                }
+                buffer.flip();
+                chunkDigest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                remaining -= read;
+            }
+            if (input.read() >= 0) {
+                throw new IOException("Chunk is longer than " + length + " bytes");
+            }
+            channel.force(false);
+        }
+        return chunkDigest.digest();
+    }
+
+    /**
+     * Compute the SHA-256 of the first length bytes of a part file, to
+     * check a finished upload against its declared checksum.
+     */
+    public static MessageDigest digest(Path part, long length) throws IOException {
+        MessageDigest digest = sha256();
+        if (length == 0) {
+            return digest;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < length) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, length - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Part file is shorter than " + length + " bytes");
+                }
+                buffer.flip();
+                digest.update(buffer);
+                position += read;
+            }
+        }
+        return digest;
+    }
+
+    /**
+     * Create an empty SHA-256 digest.
+     */
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
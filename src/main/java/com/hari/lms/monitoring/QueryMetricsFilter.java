@@ -0,0 +1,86 @@
+package com.hari.lms.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter that collects SQL statistics for each HTTP request and records them
+ * as metrics tagged by the controller method that handled it. Requests that
+ * issue more statements than the configured budget are logged as warnings.
+ *
+ * @author Hari Parthu
+ */
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (!(handler instanceof HandlerMethod handlerMethod) && stats.getStatements() == 0) {
+            return;
+        }
+
+        String handlerName = handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName()
+                : "none";
+
+        DistributionSummary.builder("lms.request.db.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("handler", handlerName)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        DistributionSummary.builder("lms.request.db.rows")
+                .description("Rows fetched or updated per HTTP request")
+                .tag("handler", handlerName)
+                .register(meterRegistry)
+                .record(stats.getRows());
+
+        Timer.builder("lms.request.db.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tag("handler", handlerName)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getDbTimeMillis(), TimeUnit.MILLISECONDS);
+
+        if (stats.getStatements() > statementBudget) {
+            logger.warn("{} {} ({}) executed {} SQL statements ({} rows, {} ms), budget is {}",
+                    request.getMethod(), request.getRequestURI(), handlerName,
+                    stats.getStatements(), stats.getRows(), stats.getDbTimeMillis(), statementBudget);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hari.lms.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * JDBC proxy listener that adds executed statements, fetched or updated
+ * rows and database time to the current request's statistics.
+ *
+ * @author Hari Parthu
+ */
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return;
+        }
+
+        long count = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), 1) : 1;
+        stats.addStatements(count, execInfo.getElapsedTime());
+
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated && updated > 0) {
+            stats.addRows(updated);
+        } else if (result instanceof int[] batchResults) {
+            for (int updated : batchResults) {
+                if (updated > 0) {
+                    stats.addRows(updated);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && "next".equals(executionContext.getMethod().getName())
+                && Boolean.TRUE.equals(executionContext.getResult())) {
+            RequestQueryStats stats = RequestQueryStats.current();
+            if (stats != null) {
+                stats.addRows(1);
+            }
+        }
+    }
+}
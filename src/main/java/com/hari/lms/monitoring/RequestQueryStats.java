@@ -0,0 +1,59 @@
+package com.hari.lms.monitoring;
+
+/**
+ * SQL statistics collected for the HTTP request running on the current thread.
+ *
+ * @author Hari Parthu
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+    private long dbTimeMillis;
+
+    /**
+     * Start collecting statistics for the current thread.
+     */
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Get the statistics for the current thread, or null outside a request.
+     */
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting statistics for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void addStatements(long count, long elapsedMillis) {
+        statements += count;
+        dbTimeMillis += elapsedMillis;
+    }
+
+    public void addRows(long count) {
+        rows += count;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbTimeMillis() {
+        return dbTimeMillis;
+    }
+}
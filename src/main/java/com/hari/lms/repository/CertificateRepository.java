@@ -0,0 +1,108 @@
+package com.hari.lms.repository;
+
+import com.hari.lms.dto.view.CertificateDataView;
+import com.hari.lms.dto.view.CertificateView;
+import com.hari.lms.entity.Certificate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Certificate entity operations.
+ * 
+ * @author Hari Parthu
+ */
+@Repository
+public interface CertificateRepository extends JpaRepository<Certificate, Long> {
+
+    /**
+     * Check if a certificate was already requested for an enrollment.
+     */
+    boolean existsByEnrollmentId(Long enrollmentId);
+
+    /**
+     * Find the certificate of a student's enrollment in a course.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CertificateView(c.status, c.contentHash, c.issuedAt) " +
+            "FROM Certificate c JOIN c.enrollment e WHERE e.student.id = :studentId AND e.course.id = :courseId")
+    Optional<CertificateView> findViewByStudentAndCourse(@Param("studentId") Long studentId,
+            @Param("courseId") Long courseId);
+
+    /**
+     * Find pending certificates due for an attempt, oldest first.
+     */
+    @Query("SELECT c.id FROM Certificate c WHERE c.status = com.hari.lms.enums.CertificateStatus.PENDING " +
+            "AND c.nextAttemptAt <= :now ORDER BY c.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claim a due certificate for an attempt by pushing its next attempt to
+     * the end of a lease, so a worker that dies leaves it to be retried.
+     * Returns 1 for the single caller that wins, 0 for any other.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Certificate c SET c.nextAttemptAt = :leaseUntil, c.attempts = c.attempts + 1, " +
+            "c.updatedAt = :now WHERE c.id = :id AND c.status = com.hari.lms.enums.CertificateStatus.PENDING " +
+            "AND c.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Find what to print on a batch of certificates in one query.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CertificateDataView(c.id, c.attempts, s.fullName, co.title, " +
+            "i.fullName, c.createdAt) FROM Certificate c JOIN c.enrollment e JOIN e.student s JOIN e.course co " +
+            "JOIN co.instructor i WHERE c.id IN :ids")
+    List<CertificateDataView> findDataViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find what was printed on the issued certificates with an image hash,
+     * to render an image again that is missing from this instance.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CertificateDataView(c.id, c.attempts, s.fullName, co.title, " +
+            "i.fullName, c.createdAt) FROM Certificate c JOIN c.enrollment e JOIN e.student s JOIN e.course co " +
+            "JOIN co.instructor i WHERE c.contentHash = :contentHash " +
+            "AND c.status = com.hari.lms.enums.CertificateStatus.ISSUED")
+    List<CertificateDataView> findIssuedDataViewsByContentHash(@Param("contentHash") String contentHash);
+
+    /**
+     * Record a generated certificate.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Certificate c SET c.status = com.hari.lms.enums.CertificateStatus.ISSUED, " +
+            "c.contentHash = :contentHash, c.issuedAt = :now, c.lastError = NULL, c.updatedAt = :now " +
+            "WHERE c.id = :id")
+    int markIssued(@Param("id") Long id, @Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Record a failed attempt to be retried at a later time.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Certificate c SET c.nextAttemptAt = :nextAttemptAt, c.lastError = :error, c.updatedAt = :now " +
+            "WHERE c.id = :id")
+    int markRetry(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Give up on a certificate after its last attempt failed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Certificate c SET c.status = com.hari.lms.enums.CertificateStatus.FAILED, " +
+            "c.lastError = :error, c.updatedAt = :now WHERE c.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete the certificates of enrollments, before the enrollments are
+     * deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM Certificate c WHERE c.enrollment.id IN :enrollmentIds")
+    int deleteByEnrollmentIdIn(@Param("enrollmentIds") Collection<Long> enrollmentIds);
+}
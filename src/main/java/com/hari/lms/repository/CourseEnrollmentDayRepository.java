@@ -0,0 +1,80 @@
+package com.hari.lms.repository;
+
+import com.hari.lms.dto.view.DailyEnrollmentView;
+import com.hari.lms.entity.CourseEnrollmentDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for CourseEnrollmentDay entity operations.
+ * 
+ * @author Hari Parthu
+ */
+@Repository
+public interface CourseEnrollmentDayRepository extends JpaRepository<CourseEnrollmentDay, Long> {
+
+    /**
+     * Add to the enrollments of a course on a day. Returns 0 if there is no
+     * row for that day yet.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CourseEnrollmentDay d SET d.enrollments = d.enrollments + :delta " +
+            "WHERE d.courseId = :courseId AND d.enrollmentDay = :day")
+    int addEnrollments(@Param("courseId") Long courseId, @Param("day") LocalDate day, @Param("delta") long delta);
+
+    /**
+     * Create the row of a course for a day. Fails if another request created
+     * it first.
+     */
+    @Modifying
+    @Query("INSERT INTO CourseEnrollmentDay (courseId, enrollmentDay, enrollments) VALUES (:courseId, :day, :delta)")
+    int insert(@Param("courseId") Long courseId, @Param("day") LocalDate day, @Param("delta") long delta);
+
+    /**
+     * Get enrollments per day over all courses of an instructor.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.DailyEnrollmentView(d.enrollmentDay, SUM(d.enrollments)) " +
+            "FROM CourseEnrollmentDay d, Course c WHERE c.id = d.courseId AND c.instructor.id = :instructorId " +
+            "AND d.enrollmentDay >= :since GROUP BY d.enrollmentDay ORDER BY d.enrollmentDay")
+    List<DailyEnrollmentView> findDailyByInstructorId(@Param("instructorId") Long instructorId,
+            @Param("since") LocalDate since);
+
+    /**
+     * Get enrollments per day of a course.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.DailyEnrollmentView(d.enrollmentDay, d.enrollments) " +
+            "FROM CourseEnrollmentDay d WHERE d.courseId = :courseId AND d.enrollmentDay >= :since " +
+            "ORDER BY d.enrollmentDay")
+    List<DailyEnrollmentView> findDailyByCourseId(@Param("courseId") Long courseId, @Param("since") LocalDate since);
+
+    /**
+     * Delete the daily counts of courses, to rebuild them or when the courses
+     * are purged.
+     */
+    @Modifying
+    @Query("DELETE FROM CourseEnrollmentDay d WHERE d.courseId IN :courseIds")
+    int deleteByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Delete daily counts older than the kept history.
+     */
+    @Modifying
+    @Query("DELETE FROM CourseEnrollmentDay d WHERE d.enrollmentDay < :before")
+    int deleteExpired(@Param("before") LocalDate before);
+
+    /**
+     * Delete daily counts of courses that no longer exist. Native, so that
+     * soft deleted courses keep theirs until they are purged.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM course_enrollment_days WHERE course_id NOT IN (SELECT id FROM courses)",
+            nativeQuery = true)
+    int deleteOrphans();
+}
@@ -1,14 +1,27 @@
 package com.hari.lms.repository;
 
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.dto.view.CourseDetailView;
+import com.hari.lms.dto.view.CourseEditView;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.User;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository interface for Course entity operations.
  * 
@@ -18,10 +31,32 @@ import org.springframework.stereotype.Repository;
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
     /**
-     * Find courses by approval status with pagination.
+     * Find courses by approval status with pagination. Cached because it backs
+     * the public catalog.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Page<Course> findByIsApproved(Boolean isApproved, Pageable pageable);
 
+    /**
+     * Find published courses as responses with pagination. Lesson and
+     * enrollment counts are subqueries, so neither collection is loaded.
+     * Cached because it backs the public catalog.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new com.hari.lms.dto.response.CourseResponse(c.id, c.title, c.description, c.price, " +
+            "c.isApproved, i.username, i.email, SIZE(c.lessons), SIZE(c.enrollments), c.createdAt, c.updatedAt) " +
+            "FROM Course c JOIN c.instructor i WHERE c.isApproved = true",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.isApproved = true")
+    Page<CourseResponse> findPublishedResponses(Pageable pageable);
+
+    /**
+     * Find published courses by ID as responses.
+     */
+    @Query("SELECT new com.hari.lms.dto.response.CourseResponse(c.id, c.title, c.description, c.price, " +
+            "c.isApproved, i.username, i.email, SIZE(c.lessons), SIZE(c.enrollments), c.createdAt, c.updatedAt) " +
+            "FROM Course c JOIN c.instructor i WHERE c.isApproved = true AND c.id IN :ids")
+    List<CourseResponse> findPublishedResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find courses by instructor with pagination.
      */
@@ -54,11 +89,17 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Page<Course> searchPublishedCourses(@Param("searchTerm") String searchTerm, Pageable pageable);
 
     /**
-     * Find courses that a student is not enrolled in.
+     * Find published courses that a student is not enrolled in. Written as a
+     * NOT EXISTS anti-join, which unlike NOT IN is NULL-safe and lets the
+     * database probe the unique (student_id, course_id) index per course.
      */
-    @Query("SELECT c FROM Course c WHERE c.isApproved = true AND " +
-            "c.id NOT IN (SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId)")
-    Page<Course> findAvailableCoursesForStudent(@Param("studentId") Long studentId, Pageable pageable);
+    @Query(value = "SELECT new com.hari.lms.dto.response.CourseResponse(c.id, c.title, c.description, c.price, " +
+            "c.isApproved, i.username, i.email, SIZE(c.lessons), SIZE(c.enrollments), c.createdAt, c.updatedAt) " +
+            "FROM Course c JOIN c.instructor i WHERE c.isApproved = true AND " +
+            "NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId)",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.isApproved = true AND " +
+            "NOT EXISTS (SELECT 1 FROM Enrollment e WHERE e.course = c AND e.student.id = :studentId)")
+    Page<CourseResponse> findAvailableCoursesForStudent(@Param("studentId") Long studentId, Pageable pageable);
 
     /**
      * Find courses that a student is enrolled in.
@@ -80,4 +121,88 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * Count courses by instructor ID.
      */
     long countByInstructorId(Long instructorId);
-}
\ No newline at end of file
+
+    /**
+     * Get every course with its enrollment count.
+     */
+    @Query("SELECT new com.hari.lms.dto.response.CourseEnrollmentStats(c.id, c.title, i.fullName, COUNT(e)) " +
+            "FROM Course c JOIN c.instructor i LEFT JOIN c.enrollments e " +
+            "GROUP BY c.id, c.title, i.fullName")
+    List<CourseEnrollmentStats> findCourseEnrollmentStats();
+
+    /**
+     * Get courses by ID with their instructor's name, optionally only
+     * published ones. The enrollment count is left at 0 for the caller.
+     */
+    @Query("SELECT new com.hari.lms.dto.response.CourseEnrollmentStats(c.id, c.title, i.fullName, 0L) " +
+            "FROM Course c JOIN c.instructor i " +
+            "WHERE c.id IN :ids AND (:publishedOnly = false OR c.isApproved = true)")
+    List<CourseEnrollmentStats> findRankingStatsByIdIn(@Param("ids") Collection<Long> ids,
+            @Param("publishedOnly") boolean publishedOnly);
+
+    /**
+     * Find a course for the admin edit form, with lesson and enrollment counts.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CourseEditView(c.id, c.title, c.description, c.isApproved, " +
+            "c.instructor.id, SIZE(c.lessons), SIZE(c.enrollments), c.createdAt, c.updatedAt) " +
+            "FROM Course c WHERE c.id = :id")
+    Optional<CourseEditView> findEditViewById(@Param("id") Long id);
+
+    /**
+     * Find a course for the detail page, with its instructor and enrollment
+     * count.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CourseDetailView(c.id, c.title, c.description, c.price, " +
+            "c.isApproved, i.id, i.fullName, i.username, SIZE(c.enrollments), c.createdAt, c.updatedAt) " +
+            "FROM Course c JOIN c.instructor i WHERE c.id = :id")
+    Optional<CourseDetailView> findDetailViewById(@Param("id") Long id);
+
+    /**
+     * Find the IDs of courses, optionally filtered by instructor and approval
+     * status.
+     */
+    @Query("SELECT c.id FROM Course c WHERE (:instructorId IS NULL OR c.instructor.id = :instructorId) " +
+            "AND (:isApproved IS NULL OR c.isApproved = :isApproved) ORDER BY c.id")
+    List<Long> findIdsByFilter(@Param("instructorId") Long instructorId, @Param("isApproved") Boolean isApproved);
+
+    /**
+     * Set the approval status of courses in one statement, skipping those
+     * already in that state. Returns the number of courses changed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Course c SET c.isApproved = :isApproved, c.updatedAt = :updatedAt " +
+            "WHERE c.id IN :ids AND c.isApproved <> :isApproved")
+    int updateApprovalByIdIn(@Param("ids") Collection<Long> ids, @Param("isApproved") Boolean isApproved,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find which of the given courses can be deleted: those without
+     * enrollments or payments.
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.id IN :ids " +
+            "AND NOT EXISTS (SELECT e.id FROM Enrollment e WHERE e.course = c) " +
+            "AND NOT EXISTS (SELECT p.id FROM Payment p WHERE p.course = c)")
+    List<Long> findDeletableIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mark a course as deleted, hiding it from every query.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Course c SET c.deleted = true, c.updatedAt = :updatedAt WHERE c.id = :id")
+    int softDeleteById(@Param("id") Long id, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find the IDs of courses marked as deleted but not yet purged. Native, as
+     * the entity restriction hides them from JPQL.
+     */
+    @Query(value = "SELECT id, instructor_id FROM courses WHERE deleted = true", nativeQuery = true)
+    List<Object[]> findSoftDeletedOwners();
+
+    /**
+     * Remove the row of a deleted course once its dependent rows are gone.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "courses"))
+    @Query(value = "DELETE FROM courses WHERE id = :id AND deleted = true", nativeQuery = true)
+    int purgeSoftDeletedById(@Param("id") Long id);
+}
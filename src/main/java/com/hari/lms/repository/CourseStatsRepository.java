@@ -0,0 +1,106 @@
+package com.hari.lms.repository;
+
+import com.hari.lms.dto.view.CourseAnalyticsView;
+import com.hari.lms.entity.CourseStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for CourseStats entity operations. Event updates
+ * are relative, so concurrent events on the same course add up instead of
+ * overwriting each other.
+ * 
+ * @author Hari Parthu
+ */
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    /**
+     * Add to the enrollment totals of a course. Returns 0 if the course has
+     * no totals row yet.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CourseStats s SET s.enrollmentCount = s.enrollmentCount + :enrollments, " +
+            "s.completedCount = s.completedCount + :completed, s.progressSum = s.progressSum + :progress, " +
+            "s.updatedAt = :now WHERE s.courseId = :courseId")
+    int addEnrollments(@Param("courseId") Long courseId, @Param("enrollments") long enrollments,
+            @Param("completed") long completed, @Param("progress") long progress, @Param("now") LocalDateTime now);
+
+    /**
+     * Add to the revenue of a course. Returns 0 if the course has no totals
+     * row yet.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CourseStats s SET s.revenue = s.revenue + :amount, s.updatedAt = :now WHERE s.courseId = :courseId")
+    int addRevenue(@Param("courseId") Long courseId, @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Create the totals row of a course. Fails if another request created it
+     * first.
+     */
+    @Modifying
+    @Query("INSERT INTO CourseStats (courseId, enrollmentCount, completedCount, progressSum, revenue, updatedAt) " +
+            "VALUES (:courseId, :enrollments, :completed, :progress, :revenue, :now)")
+    int insert(@Param("courseId") Long courseId, @Param("enrollments") long enrollments,
+            @Param("completed") long completed, @Param("progress") long progress,
+            @Param("revenue") BigDecimal revenue, @Param("now") LocalDateTime now);
+
+    /**
+     * Get the analytics of every course of an instructor, newest first.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CourseAnalyticsView(c.id, c.instructor.id, c.title, c.isApproved, " +
+            "s.enrollmentCount, s.completedCount, s.progressSum, s.revenue) " +
+            "FROM Course c LEFT JOIN CourseStats s ON s.courseId = c.id " +
+            "WHERE c.instructor.id = :instructorId ORDER BY c.createdAt DESC")
+    List<CourseAnalyticsView> findAnalyticsByInstructorId(@Param("instructorId") Long instructorId);
+
+    /**
+     * Get the analytics of a course.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.CourseAnalyticsView(c.id, c.instructor.id, c.title, c.isApproved, " +
+            "s.enrollmentCount, s.completedCount, s.progressSum, s.revenue) " +
+            "FROM Course c LEFT JOIN CourseStats s ON s.courseId = c.id WHERE c.id = :courseId")
+    Optional<CourseAnalyticsView> findAnalyticsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Get course IDs after the given one, in order, for a full recompute.
+     */
+    @Query("SELECT c.id FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findCourseIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Get which of the given courses have a totals row.
+     */
+    @Query("SELECT s.courseId FROM CourseStats s WHERE s.courseId IN :courseIds")
+    List<Long> findExistingIds(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Lock the totals rows of courses for a recompute, in course order so
+     * that concurrent lockers cannot deadlock. Event updates of these
+     * courses wait until the recompute commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CourseStats s WHERE s.courseId IN :courseIds ORDER BY s.courseId")
+    List<CourseStats> findAllByIdForUpdate(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Delete totals of courses that no longer exist. Native, so that soft
+     * deleted courses keep theirs until they are purged.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM course_stats WHERE course_id NOT IN (SELECT id FROM courses)", nativeQuery = true)
+    int deleteOrphans();
+}
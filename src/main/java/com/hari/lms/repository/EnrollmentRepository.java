@@ -1,5 +1,6 @@
 package com.hari.lms.repository;
 
+import com.hari.lms.dto.view.EnrollmentStateView;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.Enrollment;
 import com.hari.lms.entity.User;
@@ -10,6 +11,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -104,4 +108,57 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT COUNT(e) * 100.0 / (SELECT COUNT(e2) FROM Enrollment e2 WHERE e2.course.id = :courseId) " +
             "FROM Enrollment e WHERE e.course.id = :courseId AND e.progress >= 100")
     Double getCompletionRateByCourse(@Param("courseId") Long courseId);
-}
\ No newline at end of file
+
+    /**
+     * Get (course ID, enrollments, completed enrollments, progress sum) of
+     * the given courses.
+     */
+    @Query("SELECT e.course.id, COUNT(e), SUM(CASE WHEN e.progress >= 100 THEN 1 ELSE 0 END), SUM(e.progress) " +
+            "FROM Enrollment e WHERE e.course.id IN :courseIds GROUP BY e.course.id")
+    List<Object[]> aggregateByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Get (course ID, day, enrollments) of the given courses since a time.
+     */
+    @Query("SELECT e.course.id, CAST(e.enrollmentDate AS LocalDate), COUNT(e) FROM Enrollment e " +
+            "WHERE e.course.id IN :courseIds AND e.enrollmentDate >= :since " +
+            "GROUP BY e.course.id, CAST(e.enrollmentDate AS LocalDate)")
+    List<Object[]> countByCourseIdsAndDaySince(@Param("courseIds") Collection<Long> courseIds,
+            @Param("since") LocalDateTime since);
+
+    /**
+     * Get course ID and enrollment date of enrollments made since the given time.
+     */
+    @Query("SELECT e.course.id, e.enrollmentDate FROM Enrollment e WHERE e.enrollmentDate >= :since")
+    List<Object[]> findCourseEnrollmentDatesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Get IDs of the courses a student is enrolled in.
+     */
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Get the next page of (student ID, course ID) pairs for published
+     * courses after the given pair, ordered by student and course.
+     */
+    @Query("SELECT e.student.id, e.course.id FROM Enrollment e WHERE e.course.isApproved = true " +
+            "AND (e.student.id > :afterStudentId OR (e.student.id = :afterStudentId AND e.course.id > :afterCourseId)) " +
+            "ORDER BY e.student.id, e.course.id")
+    List<Object[]> findPublishedEnrollmentPairsAfter(@Param("afterStudentId") Long afterStudentId,
+            @Param("afterCourseId") Long afterCourseId, Pageable pageable);
+
+    /**
+     * Find a chunk of enrollment IDs of a course.
+     */
+    @Query("SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Find a student's enrollment state in a course, with its payment status.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.EnrollmentStateView(e.progress, e.completedLessons, " +
+            "e.enrollmentDate, p.status) " +
+            "FROM Enrollment e LEFT JOIN e.payment p WHERE e.student.id = :studentId AND e.course.id = :courseId")
+    Optional<EnrollmentStateView> findStateView(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+}
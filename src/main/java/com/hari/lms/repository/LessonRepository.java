@@ -1,15 +1,20 @@
 package com.hari.lms.repository;
 
+import com.hari.lms.dto.view.LessonMediaView;
+import com.hari.lms.dto.view.LessonSummaryView;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.Lesson;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -101,4 +106,39 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
      * Find lessons by content type.
      */
     List<Lesson> findByContentType(com.hari.lms.enums.ContentType contentType);
-}
\ No newline at end of file
+
+    /**
+     * Delete the lessons of courses in one statement.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Lesson l WHERE l.course.id IN :courseIds")
+    int deleteByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Find a chunk of lesson IDs of a course.
+     */
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Find the lesson summaries of a course in sequence order.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.LessonSummaryView(l.id, l.sequenceNumber, l.title, l.contentType) " +
+            "FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.sequenceNumber")
+    List<LessonSummaryView> findSummaryViewsByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Find a lesson's media location with its course and instructor IDs.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.LessonMediaView(l.id, c.id, c.instructor.id, c.isApproved, " +
+            "l.contentType, l.contentUrl) FROM Lesson l JOIN l.course c WHERE l.id = :id")
+    Optional<LessonMediaView> findMediaViewById(@Param("id") Long id);
+
+    /**
+     * Point a lesson at new content.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Lesson l SET l.contentUrl = :contentUrl, l.updatedAt = :now WHERE l.id = :id")
+    int updateContentUrl(@Param("id") Long id, @Param("contentUrl") String contentUrl,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,86 @@
+package com.hari.lms.repository;
+
+import com.hari.lms.entity.MediaUpload;
+import com.hari.lms.enums.UploadStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for MediaUpload entity operations. Updates are
+ * guarded by the expected current state, so concurrent requests and
+ * instances cannot both advance the same upload.
+ *
+ * @author Hari Parthu
+ */
+@Repository
+public interface MediaUploadRepository extends JpaRepository<MediaUpload, Long> {
+
+    /**
+     * Find an upload by its public ID.
+     */
+    Optional<MediaUpload> findByUploadId(String uploadId);
+
+    /**
+     * Find an upload with its lesson.
+     */
+    @Query("SELECT u FROM MediaUpload u JOIN FETCH u.lesson WHERE u.id = :id")
+    Optional<MediaUpload> findWithLessonById(@Param("id") Long id);
+
+    /**
+     * Record received bytes, unless another request advanced the upload
+     * first. Returns 1 on success, 0 otherwise.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaUpload u SET u.receivedSize = :receivedSize, u.status = :status, u.updatedAt = :now " +
+            "WHERE u.id = :id AND u.receivedSize = :offset AND u.status = com.hari.lms.enums.UploadStatus.UPLOADING")
+    int updateProgress(@Param("id") Long id, @Param("offset") Long offset, @Param("receivedSize") Long receivedSize,
+            @Param("status") UploadStatus status, @Param("now") LocalDateTime now);
+
+    /**
+     * Move an upload from one status to another. Returns 1 for the single
+     * caller that wins, 0 for any other.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaUpload u SET u.status = :to, u.updatedAt = :now WHERE u.id = :id AND u.status = :from")
+    int transition(@Param("id") Long id, @Param("from") UploadStatus from, @Param("to") UploadStatus to,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Mark an upload as completed with the detected media type.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaUpload u SET u.status = com.hari.lms.enums.UploadStatus.COMPLETED, " +
+            "u.mediaType = :mediaType, u.updatedAt = :now WHERE u.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("mediaType") String mediaType, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark an upload as failed with a reason.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaUpload u SET u.status = com.hari.lms.enums.UploadStatus.FAILED, " +
+            "u.failureReason = :reason, u.updatedAt = :now WHERE u.id = :id")
+    int markFailed(@Param("id") Long id, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    /**
+     * Find uploads in a status last changed before a time.
+     */
+    @Query("SELECT u.id FROM MediaUpload u WHERE u.status = :status AND u.updatedAt < :before")
+    List<Long> findIdsByStatusUpdatedBefore(@Param("status") UploadStatus status,
+            @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Find expired uploads that never completed.
+     */
+    @Query("SELECT u FROM MediaUpload u WHERE u.expiresAt < :now AND u.status IN :statuses")
+    List<MediaUpload> findExpired(@Param("now") LocalDateTime now,
+            @Param("statuses") Collection<UploadStatus> statuses, Pageable pageable);
+}
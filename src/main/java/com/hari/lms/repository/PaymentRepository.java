@@ -1,5 +1,6 @@
 package com.hari.lms.repository;
 
+import com.hari.lms.dto.view.PaymentReceiptView;
 import com.hari.lms.entity.Payment;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.PaymentStatus;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -71,4 +73,34 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
      */
     @Query("SELECT p FROM Payment p ORDER BY p.createdAt DESC")
     Page<Payment> findRecentPayments(Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Find a payment with its course and instructor for the payment result
+     * pages.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.PaymentReceiptView(p.id, p.transactionId, p.amount, p.status, " +
+            "c.id, c.title, c.price, i.fullName, p.completedAt, p.updatedAt) " +
+            "FROM Payment p JOIN p.course c JOIN c.instructor i WHERE p.id = :id")
+    Optional<PaymentReceiptView> findReceiptViewById(@Param("id") Long id);
+
+    /**
+     * Find a chunk of payment IDs of a course.
+     */
+    @Query("SELECT p.id FROM Payment p WHERE p.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    /**
+     * Find the statuses of a student's payments for a course, newest first.
+     */
+    @Query("SELECT p.status FROM Payment p WHERE p.student.id = :studentId AND p.course.id = :courseId " +
+            "ORDER BY p.createdAt DESC")
+    List<PaymentStatus> findLatestStatuses(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+            Pageable pageable);
+
+    /**
+     * Get (course ID, revenue) of completed payments for the given courses.
+     */
+    @Query("SELECT p.course.id, SUM(p.amount) FROM Payment p WHERE p.course.id IN :courseIds " +
+            "AND p.status = com.hari.lms.enums.PaymentStatus.COMPLETED GROUP BY p.course.id")
+    List<Object[]> sumRevenueByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+}
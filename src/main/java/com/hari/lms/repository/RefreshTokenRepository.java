@@ -0,0 +1,55 @@
+package com.hari.lms.repository;
+
+import com.hari.lms.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for RefreshToken entity operations.
+ * 
+ * @author Hari Parthu
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find a refresh token by its hash, with its user.
+     */
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Mark a token as used unless it already is. Returns 1 for the single
+     * caller that wins, 0 for any other.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.usedAt = :usedAt WHERE r.id = :id AND r.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") LocalDateTime usedAt);
+
+    /**
+     * Delete a refresh token by its hash.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Delete all refresh tokens of a user.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Delete tokens that expired before a time.
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
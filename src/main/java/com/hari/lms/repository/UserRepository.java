@@ -1,14 +1,25 @@
 package com.hari.lms.repository;
 
+import com.hari.lms.dto.view.InstructorOptionView;
+import com.hari.lms.dto.view.UserRowView;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.Role;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,8 +31,10 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Find user by username.
+     * Find user by username. Served from the query cache since it runs on
+     * every authenticated request.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
@@ -71,4 +84,103 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Count enabled users.
      */
     long countByEnabled(Boolean enabled);
-}
\ No newline at end of file
+
+    /**
+     * Find a slice of users as admin table rows.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u")
+    Slice<UserRowView> findRowViewsBy(Pageable pageable);
+
+    /**
+     * Find a slice of users with a role as admin table rows.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u WHERE u.role = :role")
+    Slice<UserRowView> findRowViewsByRole(@Param("role") Role role, Pageable pageable);
+
+    /**
+     * Find a slice of users with an enabled status as admin table rows.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u WHERE u.enabled = :enabled")
+    Slice<UserRowView> findRowViewsByEnabled(@Param("enabled") Boolean enabled, Pageable pageable);
+
+    /**
+     * Find a slice of users with a role and enabled status as admin table rows.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u WHERE u.role = :role AND u.enabled = :enabled")
+    Slice<UserRowView> findRowViewsByRoleAndEnabled(@Param("role") Role role, @Param("enabled") Boolean enabled,
+            Pageable pageable);
+
+    /**
+     * Find a slice of users whose username or email starts with a LIKE
+     * pattern, as admin table rows. The pattern must already be escaped with
+     * a backslash; comparing the raw columns keeps both sides on the unique
+     * indexes.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u WHERE (u.username LIKE :pattern ESCAPE '\\' OR u.email LIKE :pattern ESCAPE '\\') " +
+            "AND (:role IS NULL OR u.role = :role) AND (:enabled IS NULL OR u.enabled = :enabled)")
+    Slice<UserRowView> searchRowViewsByPrefix(@Param("pattern") String pattern, @Param("role") Role role,
+            @Param("enabled") Boolean enabled, Pageable pageable);
+
+    /**
+     * Find a user as an admin table row.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.UserRowView(u.id, u.username, u.fullName, u.email, u.role, u.enabled, u.createdAt) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<UserRowView> findRowViewById(@Param("id") Long id);
+
+    /**
+     * Find users with a role as drop-down options, ordered by name.
+     */
+    @Query("SELECT new com.hari.lms.dto.view.InstructorOptionView(u.id, u.fullName, u.email) " +
+            "FROM User u WHERE u.role = :role ORDER BY u.fullName")
+    List<InstructorOptionView> findOptionViewsByRole(@Param("role") Role role, Pageable pageable);
+
+    /**
+     * Find the IDs of users, optionally filtered by role and enabled status.
+     */
+    @Query("SELECT u.id FROM User u WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:enabled IS NULL OR u.enabled = :enabled) ORDER BY u.id")
+    List<Long> findIdsByFilter(@Param("role") Role role, @Param("enabled") Boolean enabled);
+
+    /**
+     * Enable or disable users in one statement, skipping those already in
+     * that state. Admins are never disabled. Returns the number of users
+     * changed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.enabled = :enabled, u.updatedAt = :updatedAt " +
+            "WHERE u.id IN :ids AND u.enabled <> :enabled " +
+            "AND (:enabled = true OR u.role <> com.hari.lms.enums.Role.ADMIN)")
+    int updateEnabledByIdIn(@Param("ids") Collection<Long> ids, @Param("enabled") Boolean enabled,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Find which of the given users can be deleted: non-admins without
+     * courses, enrollments or payments.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.role <> com.hari.lms.enums.Role.ADMIN " +
+            "AND NOT EXISTS (SELECT c.id FROM Course c WHERE c.instructor = u) " +
+            "AND NOT EXISTS (SELECT e.id FROM Enrollment e WHERE e.student = u) " +
+            "AND NOT EXISTS (SELECT p.id FROM Payment p WHERE p.student = u)")
+    List<Long> findDeletableIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Get a chunk of (id, username, email) rows after an ID, in ID order.
+     */
+    @Query("SELECT u.id, u.username, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findIdentitiesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Replace the password hash of a user, e.g. after rehashing it with a
+     * higher work factor. Returns the number of users changed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,126 @@
+package com.hari.lms.security;
+
+import com.hari.lms.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder that runs hashing and verification of a delegate encoder
+ * on a dedicated, fixed-size executor with a bounded queue. Request threads
+ * wait for the result instead of burning CPU themselves, so a login storm
+ * can use at most the executor's threads and leaves the rest of the server
+ * responsive. When the queue is full, or a result does not arrive in time,
+ * the call fails at once with {@link PasswordHashingUnavailableException}.
+ *
+ * @author Hari Parthu
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("lms.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("lms.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("lms.password.hash.rejected")
+                .description("Password operations rejected because the executor was saturated")
+                .register(meterRegistry);
+        Gauge.builder("lms.password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password operations waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("lms.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password operations being hashed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Upgrading a hash costs an extra encode after a successful login, so it
+     * is deferred while other password operations are waiting.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return executor.getQueue().isEmpty() && delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stop the hashing threads. Called by the container on shutdown.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Server is busy, please try again shortly", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Server is busy, please try again shortly", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
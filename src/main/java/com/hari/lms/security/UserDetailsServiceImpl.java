@@ -4,18 +4,23 @@ import com.hari.lms.entity.User;
 import com.hari.lms.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 /**
- * Implementation of Spring Security UserDetailsService interface.
+ * Implementation of Spring Security UserDetailsService interface. Also
+ * stores rehashed passwords when a login finds a hash weaker than the
+ * configured BCrypt strength.
  * 
  * @author Hari Parthu
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -28,4 +33,13 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 
         return UserDetailsImpl.build(user);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword, LocalDateTime.now());
+        UserDetailsImpl details = (UserDetailsImpl) user;
+        return new UserDetailsImpl(details.getId(), details.getUsername(), details.getEmail(), newPassword,
+                details.getAuthorities(), details.isEnabled());
+    }
+}
@@ -31,7 +31,7 @@ public class AuthEntryPointJwt implements AuthenticationEntryPoint {
 
         logger.error("Unauthorized error: {}", authException.getMessage());
 
-        String requestPath = request.getServletPath();
+        String requestPath = request.getRequestURI().substring(request.getContextPath().length());
         String accept = request.getHeader("Accept");
 
         // If this is an API request or AJAX request, return JSON
@@ -1,6 +1,8 @@
 package com.hari.lms.security.jwt;
 
-import com.hari.lms.security.UserDetailsServiceImpl;
+import com.hari.lms.security.UserDetailsImpl;
+import com.hari.lms.service.TokenRevocationService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +13,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,7 +20,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * JWT authentication filter to process JWT tokens in requests.
+ * JWT authentication filter to process JWT tokens in requests. The user is
+ * built from the token's claims and checked against the in-memory
+ * revocation list, so authenticating a request needs no database access.
  * 
  * @author Hari Parthu
  */
@@ -31,18 +34,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
+            Claims claims = jwt != null ? jwtUtils.parseValidClaims(jwt) : null;
+            UserDetailsImpl userDetails = claims != null ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+            if (userDetails != null && !tokenRevocationService.isRevoked(claims, userDetails.getId())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null,
                         userDetails.getAuthorities());
@@ -7,13 +7,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
- * Utility class for JWT token operations.
+ * Utility class for JWT token operations. Access tokens are short-lived and
+ * carry the user's ID, email and roles, so requests can be authenticated
+ * from the token alone; each has a unique ID so it can be revoked.
  * 
  * @author Hari Parthu
  */
@@ -22,68 +29,118 @@ public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_EMAIL = "email";
+    private static final String CLAIM_ROLES = "roles";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
-    private int jwtExpirationMs;
+    private long jwtExpirationMs;
 
     /**
      * Generate JWT token from user authentication.
      */
     public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+        return generateAccessToken((UserDetailsImpl) authentication.getPrincipal());
+    }
 
+    /**
+     * Generate an access token for a user.
+     */
+    public String generateAccessToken(UserDetailsImpl userPrincipal) {
         SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        Date now = new Date();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + jwtExpirationMs))
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_ROLES, roles)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     /**
-     * Get username from JWT token.
+     * Lifetime of access tokens in milliseconds.
      */
-    public String getUserNameFromJwtToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    public long getJwtExpirationMs() {
+        return jwtExpirationMs;
     }
 
     /**
-     * Validate JWT token.
+     * Parse and validate a token, returning its claims, or null if the token
+     * is invalid or expired.
      */
-    public boolean validateJwtToken(String authToken) {
+    public Claims parseValidClaims(String authToken) {
         try {
             SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
 
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                     .setSigningKey(key)
                     .build()
-                    .parseClaimsJws(authToken);
-
-            return true;
+                    .parseClaimsJws(authToken)
+                    .getBody();
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    /**
+     * Build the principal of an access token from its claims, or return null
+     * for tokens without the user claims.
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        Collection<?> roles = claims.get(CLAIM_ROLES, Collection.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        // Disabled users never hold a valid token: disabling revokes them
+        return new UserDetailsImpl(userId.longValue(), claims.getSubject(), claims.get(CLAIM_EMAIL, String.class),
+                null, authorities, true);
+    }
+
+    /**
+     * Get username from JWT token.
+     */
+    public String getUserNameFromJwtToken(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    /**
+     * Validate JWT token.
+     */
+    public boolean validateJwtToken(String authToken) {
+        return parseValidClaims(authToken) != null;
     }
 
     /**
@@ -0,0 +1,64 @@
+package com.hari.lms.security.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory rate limiter. Each bucket is a single {@link AtomicLong} holding
+ * the time at which it will be full again (the generic cell rate algorithm,
+ * equivalent to a token bucket), updated with compare-and-set, so requests
+ * never lock. Buckets live in a size-bounded Caffeine cache and are dropped
+ * after being idle for the configured time; the idle time should be at least
+ * the longest time a bucket takes to refill, so dropping one loses nothing.
+ *
+ * @author Hari Parthu
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+
+    public InMemoryRateLimiter(long maxKeys, Duration idleTimeout) {
+        this(maxKeys, idleTimeout, Ticker.systemTicker());
+    }
+
+    InMemoryRateLimiter(long maxKeys, Duration idleTimeout, Ticker ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long interval = limit.getRefillPeriod().toNanos();
+        long burst = interval * limit.getCapacity();
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = ticker.read();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            if (next - now > burst) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(next - now - burst));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of buckets currently held.
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,247 @@
+package com.hari.lms.security.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filter that throttles login and sign-up attempts per client IP, and login
+ * attempts per username, before the request reaches Spring Security. A
+ * throttled request gets a 429 with Retry-After without any password
+ * hashing or database work.
+ *
+ * The client IP is the servlet remote address. Behind a reverse proxy it is
+ * taken from X-Forwarded-For by server.forward-headers-strategy=native, which
+ * only trusts the header when the proxy's own address is internal; a proxy
+ * on a public address must be added to server.tomcat.remoteip.internal-proxies
+ * or every client shares the proxy's buckets.
+ *
+ * @author Hari Parthu
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    private static final Set<String> LOGIN_PATHS = Set.of("/login", "/api/auth/signin");
+    private static final Set<String> SIGNUP_PATHS = Set.of("/signup", "/api/auth/signup");
+
+    // Largest JSON login body buffered to read the username
+    private static final int MAX_LOGIN_BODY = 16 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final RateLimit loginIpLimit;
+    private final RateLimit loginUsernameLimit;
+    private final RateLimit signupIpLimit;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+
+    public LoginRateLimitFilter(RateLimiter rateLimiter, RateLimit loginIpLimit, RateLimit loginUsernameLimit,
+            RateLimit signupIpLimit, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.loginIpLimit = loginIpLimit;
+        this.loginUsernameLimit = loginUsernameLimit;
+        this.signupIpLimit = signupIpLimit;
+        this.objectMapper = objectMapper;
+        for (RateLimit limit : new RateLimit[] {loginIpLimit, loginUsernameLimit, signupIpLimit}) {
+            rejectedCounters.computeIfAbsent(limit.getName(), name -> Counter.builder("lms.ratelimit.rejected")
+                    .description("Requests rejected by the login and sign-up rate limiter")
+                    .tag("limit", name)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !"POST".equals(request.getMethod())
+                || !(LOGIN_PATHS.contains(path) || SIGNUP_PATHS.contains(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = path(request);
+        String ip = request.getRemoteAddr();
+
+        if (SIGNUP_PATHS.contains(path)) {
+            if (acquire("signup-ip:" + ip, signupIpLimit, request, response)) {
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+
+        if (!acquire("login-ip:" + ip, loginIpLimit, request, response)) {
+            return;
+        }
+
+        HttpServletRequest target = request;
+        String username;
+        if ("/api/auth/signin".equals(path)) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+            if (cached == null) {
+                reject(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Request body is too large",
+                        request, response);
+                return;
+            }
+            target = cached;
+            username = readUsername(cached.body);
+        } else {
+            username = request.getParameter("username");
+        }
+
+        if (username != null && !username.isBlank()
+                && !acquire("login-user:" + username.trim().toLowerCase(Locale.ROOT), loginUsernameLimit,
+                        request, response)) {
+            return;
+        }
+        filterChain.doFilter(target, response);
+    }
+
+    /**
+     * Take a token for a key, or write a 429 response and return false.
+     */
+    private boolean acquire(String key, RateLimit limit, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long retryAfterMillis = rateLimiter.tryAcquire(key, limit);
+        if (retryAfterMillis == 0) {
+            return true;
+        }
+
+        rejectedCounters.get(limit.getName()).increment();
+        logger.warn("Rate limit {} exceeded for {} {} from {}", limit.getName(), request.getMethod(),
+                path(request), request.getRemoteAddr());
+
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        reject(429, "Too many attempts, please try again in " + retryAfterSeconds + " seconds", request, response);
+        return false;
+    }
+
+    /**
+     * Write an error response, as JSON for API paths and plain text otherwise.
+     */
+    private void reject(int status, String message, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(status);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        if (path(request).startsWith("/api/")) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getWriter(), Map.of("status", status, "message", message));
+        } else {
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(message);
+        }
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private String readUsername(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected later by request validation
+            return null;
+        }
+    }
+
+    /**
+     * Request whose small body has been read up front so it can be inspected
+     * here and read again by the controller. Bodies without a declared length
+     * (chunked) are read up to the limit as well.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * Read the body, or return null if it is larger than the limit.
+         */
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAX_LOGIN_BODY) {
+                return null;
+            }
+            byte[] body = request.getInputStream().readNBytes(MAX_LOGIN_BODY + 1);
+            return body.length > MAX_LOGIN_BODY ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is in memory, so it is ready at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.hari.lms.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket settings: a bucket holds up to {@code capacity} tokens and
+ * regains one token every {@code refillPeriod}. Each request takes one token.
+ *
+ * @author Hari Parthu
+ */
+public class RateLimit {
+
+    private final String name;
+    private final int capacity;
+    private final Duration refillPeriod;
+
+    public RateLimit(String name, int capacity, Duration refillPeriod) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Refill period must be positive");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPeriod = refillPeriod;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Duration getRefillPeriod() {
+        return refillPeriod;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hari.lms.security.ratelimit;
+
+/**
+ * Token bucket rate limiter keyed by arbitrary strings. The default
+ * implementation keeps buckets in memory, which is enough for a single node;
+ * a multi-node deployment can provide its own bean backed by a shared store.
+ *
+ * @author Hari Parthu
+ */
+public interface RateLimiter {
+
+    /**
+     * Try to take one token from the bucket of a key.
+     *
+     * @return 0 if the token was taken, otherwise the number of milliseconds
+     *         until the next token is available
+     */
+    long tryAcquire(String key, RateLimit limit);
+}
@@ -0,0 +1,264 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.UserBatchEvent;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that keeps admin dashboard statistics in memory. Course rankings
+ * live in CoursePopularityService. Totals are updated
+ * from domain events after commit and fully recomputed on a schedule, which
+ * also corrects any drift. Readers get an immutable snapshot, so admin pages
+ * do not depend on table size.
+ *
+ * Every event bumps a generation counter. A recompute only installs its
+ * counts if no event was applied while it was reading them; otherwise the
+ * counts may or may not include that event, so it reads them again.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class AdminStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminStatsService.class);
+
+    private static final int MAX_RECOMPUTE_ATTEMPTS = 3;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock
+    private final Map<Role, Long> usersByRole = new EnumMap<>(Role.class);
+    private final Map<Long, Long> courseEnrollments = new HashMap<>();
+    private long pendingCourses;
+    private long totalEnrollments;
+    private long generation;
+
+    private volatile AdminStats snapshot = new AdminStats(Collections.emptyMap(), 0, 0, 0);
+
+    /**
+     * Get the current statistics snapshot.
+     */
+    public AdminStats getSnapshot() {
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recompute();
+    }
+
+    /**
+     * Recompute all statistics from the database.
+     */
+    @Scheduled(initialDelayString = "${app.admin-stats.recompute-interval-ms:600000}",
+            fixedDelayString = "${app.admin-stats.recompute-interval-ms:600000}")
+    public void recompute() {
+        long start = System.currentTimeMillis();
+
+        for (int attempt = 1; attempt <= MAX_RECOMPUTE_ATTEMPTS; attempt++) {
+            long observedGeneration;
+            synchronized (lock) {
+                observedGeneration = generation;
+            }
+
+            Map<Role, Long> roleCounts = new EnumMap<>(Role.class);
+            for (Role role : Role.values()) {
+                roleCounts.put(role, userRepository.countByRole(role));
+            }
+            long pending = courseRepository.countByIsApproved(false);
+            long enrollments = enrollmentRepository.count();
+            List<CourseEnrollmentStats> courseStats = courseRepository.findCourseEnrollmentStats();
+
+            synchronized (lock) {
+                if (generation != observedGeneration) {
+                    continue;
+                }
+                usersByRole.clear();
+                usersByRole.putAll(roleCounts);
+                courseEnrollments.clear();
+                for (CourseEnrollmentStats stats : courseStats) {
+                    courseEnrollments.put(stats.getCourseId(), stats.getEnrollmentCount());
+                }
+                pendingCourses = pending;
+                totalEnrollments = enrollments;
+                publishSnapshot();
+            }
+
+            logger.debug("Recomputed admin statistics in {} ms", System.currentTimeMillis() - start);
+            return;
+        }
+
+        // Busy period; the event-maintained counters stay and the next run tries again
+        logger.info("Admin statistics changed during {} recompute attempts, keeping current counters",
+                MAX_RECOMPUTE_ATTEMPTS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        synchronized (lock) {
+            if (event.getChangeType() == ChangeType.CREATED) {
+                usersByRole.merge(event.getRole(), 1L, Long::sum);
+            } else if (event.getChangeType() == ChangeType.DELETED) {
+                usersByRole.merge(event.getRole(), -1L, Long::sum);
+            } else if (event.getPreviousRole() != null && event.getPreviousRole() != event.getRole()) {
+                usersByRole.merge(event.getPreviousRole(), -1L, Long::sum);
+                usersByRole.merge(event.getRole(), 1L, Long::sum);
+            }
+            generation++;
+            publishSnapshot();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        synchronized (lock) {
+            if (event.getChangeType() == ChangeType.CREATED) {
+                courseEnrollments.put(event.getCourseId(), 0L);
+                if (!event.isApproved()) {
+                    pendingCourses++;
+                }
+            } else if (event.getChangeType() == ChangeType.DELETED) {
+                Long removed = courseEnrollments.remove(event.getCourseId());
+                if (removed != null) {
+                    totalEnrollments -= removed;
+                }
+                if (!event.isApproved()) {
+                    pendingCourses--;
+                }
+            } else {
+                if (event.getPreviouslyApproved() != null && event.getPreviouslyApproved() != event.isApproved()) {
+                    pendingCourses += event.isApproved() ? -1 : 1;
+                }
+            }
+            generation++;
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * A batch can touch thousands of users, so recount from the database once
+     * instead of tracking per-user deltas. Enabling or disabling does not
+     * change any counter.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserBatchEvent(UserBatchEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            recompute();
+        }
+    }
+
+    /**
+     * A batch can touch thousands of courses, so recount from the database
+     * once instead of tracking per-course deltas.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        recompute();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        if (event.getChangeType() == ChangeType.UPDATED) {
+            return;
+        }
+
+        long delta = event.getChangeType() == ChangeType.CREATED ? 1 : -1;
+        synchronized (lock) {
+            totalEnrollments += delta;
+            courseEnrollments.computeIfPresent(event.getCourseId(), (id, count) -> count + delta);
+            generation++;
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Publish a new immutable snapshot of the current counters. Must be called
+     * while holding the lock.
+     */
+    private void publishSnapshot() {
+        snapshot = new AdminStats(new EnumMap<>(usersByRole), courseEnrollments.size(), pendingCourses,
+                totalEnrollments);
+    }
+
+    /**
+     * Immutable admin statistics snapshot.
+     */
+    public static class AdminStats {
+        private final Map<Role, Long> usersByRole;
+        private final long totalUsers;
+        private final long totalCourses;
+        private final long pendingCourses;
+        private final long totalEnrollments;
+        private final LocalDateTime generatedAt;
+
+        AdminStats(Map<Role, Long> usersByRole, long totalCourses, long pendingCourses, long totalEnrollments) {
+            this.usersByRole = Collections.unmodifiableMap(usersByRole);
+            this.totalUsers = usersByRole.values().stream().mapToLong(Long::longValue).sum();
+            this.totalCourses = totalCourses;
+            this.pendingCourses = pendingCourses;
+            this.totalEnrollments = totalEnrollments;
+            this.generatedAt = LocalDateTime.now();
+        }
+
+        public Map<Role, Long> getUsersByRole() {
+            return usersByRole;
+        }
+
+        public long getUserCount(Role role) {
+            return usersByRole.getOrDefault(role, 0L);
+        }
+
+        public long getTotalUsers() {
+            return totalUsers;
+        }
+
+        public long getTotalCourses() {
+            return totalCourses;
+        }
+
+        public long getPendingCourses() {
+            return pendingCourses;
+        }
+
+        public long getTotalEnrollments() {
+            return totalEnrollments;
+        }
+
+        public LocalDateTime getGeneratedAt() {
+            return generatedAt;
+        }
+    }
+}
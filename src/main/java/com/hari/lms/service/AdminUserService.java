@@ -0,0 +1,142 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.view.UserRowView;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.UserBatchEvent;
+import com.hari.lms.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service for the admin user list. Users are read one bounded slice at a time
+ * (no COUNT query), filtered by role and enabled status and searched by
+ * username or email prefix. Totals are estimated from the admin statistics
+ * snapshot instead of being counted per request. Bulk operations run one
+ * statement and publish one event per batch of users.
+ *
+ * @author Hari Parthu
+ */
+@Service
+@Transactional(readOnly = true)
+public class AdminUserService {
+
+    public static final int DEFAULT_PAGE_SIZE = 25;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of users changed by one bulk statement.
+     */
+    public static final int BULK_BATCH_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Find a slice of users, newest first.
+     *
+     * @param search  username or email prefix, or null for all users
+     * @param role    role filter, or null for any role
+     * @param enabled enabled filter, or null for any status
+     */
+    public Slice<UserRowView> findUsers(String search, Role role, Boolean enabled, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)),
+                Sort.by(Sort.Direction.DESC, "id"));
+
+        if (search != null && !search.isBlank()) {
+            return userRepository.searchRowViewsByPrefix(toPrefixPattern(search.trim()), role, enabled, pageable);
+        }
+        if (role != null && enabled != null) {
+            return userRepository.findRowViewsByRoleAndEnabled(role, enabled, pageable);
+        }
+        if (role != null) {
+            return userRepository.findRowViewsByRole(role, pageable);
+        }
+        if (enabled != null) {
+            return userRepository.findRowViewsByEnabled(enabled, pageable);
+        }
+        return userRepository.findRowViewsBy(pageable);
+    }
+
+    /**
+     * Estimate the number of users matching the filters from the admin
+     * statistics snapshot, or null if the snapshot does not track them.
+     */
+    public Long estimateTotal(String search, Role role, Boolean enabled) {
+        if ((search != null && !search.isBlank()) || enabled != null) {
+            return null;
+        }
+        AdminStatsService.AdminStats stats = adminStatsService.getSnapshot();
+        return role != null ? stats.getUserCount(role) : stats.getTotalUsers();
+    }
+
+    /**
+     * Find the IDs of users matching the bulk filter.
+     */
+    public List<Long> findUserIds(Role role, Boolean enabled) {
+        return userRepository.findIdsByFilter(role, enabled);
+    }
+
+    /**
+     * Enable or disable users in bulk. Admins are never disabled. Returns the
+     * number of users changed.
+     */
+    @Transactional
+    public int setUsersEnabled(Collection<Long> userIds, boolean enabled) {
+        List<Long> ids = List.copyOf(userIds);
+        LocalDateTime now = LocalDateTime.now();
+        int changed = 0;
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size()));
+            changed += userRepository.updateEnabledByIdIn(batch, enabled, now);
+            eventPublisher.publishEvent(new UserBatchEvent(ChangeType.UPDATED, batch));
+        }
+        return changed;
+    }
+
+    /**
+     * Delete users in bulk. Admins and users that still own courses,
+     * enrollments or payments are skipped. Returns the number of users
+     * deleted.
+     */
+    @Transactional
+    public int deleteUsers(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            List<Long> batch = userRepository.findDeletableIdsByIdIn(
+                    ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size())));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            userRepository.deleteAllByIdInBatch(batch);
+            eventPublisher.publishEvent(new UserBatchEvent(ChangeType.DELETED, batch));
+            deleted += batch.size();
+        }
+        return deleted;
+    }
+
+    /**
+     * Turn a search term into a LIKE prefix pattern, escaping wildcards so
+     * they match literally.
+     */
+    private String toPrefixPattern(String search) {
+        return search.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
@@ -2,16 +2,22 @@ package com.hari.lms.service;
 
 import com.hari.lms.dto.request.LoginRequest;
 import com.hari.lms.dto.request.SignupRequest;
+import com.hari.lms.dto.request.TokenRefreshRequest;
 import com.hari.lms.dto.response.JwtResponse;
 import com.hari.lms.dto.response.UserResponse;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.UserEvent;
 import com.hari.lms.exception.ResourceNotFoundException;
 import com.hari.lms.repository.UserRepository;
 import com.hari.lms.security.UserDetailsImpl;
 import com.hari.lms.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -48,6 +54,18 @@ public class AuthService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Authenticate user and return JWT response.
      */
@@ -65,12 +83,37 @@ public class AuthService {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        return new JwtResponse(jwt, userDetails.getId(), userDetails.getUsername(),
+        return new JwtResponse(jwt, refreshTokenService.issue(userDetails.getId()),
+                jwtUtils.getJwtExpirationMs() / 1000, userDetails.getId(), userDetails.getUsername(),
                 userDetails.getEmail(), roles);
     }
 
     /**
-     * Register a new user.
+     * Exchange a refresh token for a new access token and refresh token.
+     */
+    public JwtResponse refreshToken(TokenRefreshRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
+    }
+
+    /**
+     * Log out: delete the refresh token and revoke the access token, if given.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            Claims claims = jwtUtils.parseValidClaims(accessToken);
+            if (claims != null && claims.getId() != null) {
+                tokenRevocationService.revokeToken(claims.getId());
+            }
+        }
+    }
+
+    /**
+     * Register a new user. The checks go to the database: the availability
+     * filters only know the users registered on this instance since their
+     * last rebuild.
      */
     public UserResponse registerUser(SignupRequest signUpRequest) {
         // Check if username is already taken
@@ -90,7 +133,14 @@ public class AuthService {
                 encoder.encode(signUpRequest.getPassword()),
                 signUpRequest.getRole());
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took the username or email after the checks
+            throw new RuntimeException("Error: Username or email is already taken!");
+        }
+        eventPublisher.publishEvent(new UserEvent(ChangeType.CREATED, savedUser));
         return modelMapper.map(savedUser, UserResponse.class);
     }
 
@@ -98,14 +148,14 @@ public class AuthService {
      * Check if username exists.
      */
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return userAvailabilityService.usernameExists(username);
     }
 
     /**
      * Check if email exists.
      */
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return userAvailabilityService.emailExists(email);
     }
 
     /**
@@ -138,6 +188,19 @@ public class AuthService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 
+    /**
+     * Get the ID of the current user from the security context without a
+     * database lookup, or null when nobody is signed in.
+     */
+    public Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+
     /**
      * Check if current user has specific role.
      */
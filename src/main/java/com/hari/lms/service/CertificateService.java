@@ -0,0 +1,393 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.dto.response.CertificateResponse;
+import com.hari.lms.dto.view.CertificateDataView;
+import com.hari.lms.dto.view.CertificateView;
+import com.hari.lms.entity.Certificate;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.enums.CertificateStatus;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.media.CertificateRenderer;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.repository.CertificateRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues certificates for completed courses. Completing a course only
+ * records a pending certificate; a dispatcher thread claims due
+ * certificates in batches and renders them on a small worker pool. Failed
+ * attempts are retried with exponential backoff. Images are stored under
+ * their SHA-256, so their URL never changes and can be cached forever.
+ * Media storage is local to each instance, so an instance asked for an
+ * image it does not have renders it again from the database.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CertificateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CertificateService.class);
+
+    private static final String URL_PREFIX = "/api/certificates/";
+    private static final String KEY_PREFIX = "certificates/";
+    private static final String EXTENSION = ".png";
+
+    private final CertificateRepository certificateRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CertificateRenderer certificateRenderer;
+    private final LocalMediaStore mediaStore;
+    private final AuthService authService;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Duration lease;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ThreadPoolExecutor workers;
+    private final Counter issued;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter rerendered;
+
+    // Issued certificates by student and course; they never change
+    private final Cache<CertificateKey, CertificateView> issuedCertificates;
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "certificate-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Set while a dispatch run is queued but has not started yet
+    private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+    public CertificateService(CertificateRepository certificateRepository,
+            EnrollmentRepository enrollmentRepository,
+            CertificateRenderer certificateRenderer,
+            LocalMediaStore mediaStore,
+            AuthService authService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.certificates.worker-threads:2}") int workerThreads,
+            @Value("${app.certificates.batch-size:20}") int batchSize,
+            @Value("${app.certificates.max-cached:10000}") long maxCached,
+            @Value("${app.certificates.max-attempts:5}") int maxAttempts,
+            @Value("${app.certificates.retry-delay:1m}") Duration retryDelay,
+            @Value("${app.certificates.lease:10m}") Duration lease,
+            MeterRegistry meterRegistry) {
+        this.certificateRepository = certificateRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.certificateRenderer = certificateRenderer;
+        this.mediaStore = mediaStore;
+        this.authService = authService;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.lease = lease;
+
+        // Requests are recorded from after-commit listeners, so they need a transaction of their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "certificate-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.issuedCertificates = Caffeine.newBuilder()
+                .maximumSize(maxCached)
+                .build();
+
+        this.issued = outcomeCounter(meterRegistry, "issued");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.rerendered = outcomeCounter(meterRegistry, "rerendered");
+    }
+
+    /**
+     * Get the certificate of the current student for a course. A completed
+     * enrollment without one, e.g. completed before certificates existed,
+     * gets one requested.
+     */
+    public CertificateResponse getCertificate(Long courseId) {
+        Long studentId = authService.getCurrentUserId();
+        if (studentId == null || !authService.isStudent()) {
+            throw new UnauthorizedAccessException("Only students have certificates");
+        }
+
+        CertificateKey key = new CertificateKey(studentId, courseId);
+        CertificateView certificate = issuedCertificates.getIfPresent(key);
+        if (certificate == null) {
+            certificate = certificateRepository.findViewByStudentAndCourse(studentId, courseId)
+                    .orElseGet(() -> requestMissing(studentId, courseId));
+            if (certificate.getStatus() == CertificateStatus.ISSUED) {
+                issuedCertificates.put(key, certificate);
+            }
+        }
+
+        String url = certificate.getContentHash() != null ? URL_PREFIX + certificate.getContentHash() + EXTENSION
+                : null;
+        return new CertificateResponse(courseId, certificate.getStatus(), url, certificate.getIssuedAt());
+    }
+
+    /**
+     * Find a certificate image by its content hash. An issued certificate
+     * whose image is not stored on this instance is rendered again; it
+     * renders to the same bytes unless what it prints has changed since.
+     */
+    public Optional<MediaFile> findImage(String contentHash) throws IOException {
+        Optional<MediaFile> image = mediaStore.find(KEY_PREFIX + contentHash + EXTENSION);
+        if (image.isPresent()) {
+            return image;
+        }
+        for (CertificateDataView certificate : certificateRepository.findIssuedDataViewsByContentHash(contentHash)) {
+            byte[] rendered = certificateRenderer.render(certificate);
+            if (contentHash.equals(hash(rendered))) {
+                rerendered.increment();
+                return Optional.of(mediaStore.store(KEY_PREFIX + contentHash + EXTENSION,
+                        new ByteArrayInputStream(rendered)));
+            }
+            logger.warn("Certificate {} no longer renders to image {}", certificate.getId(), contentHash);
+        }
+        return Optional.empty();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            issuedCertificates.invalidate(new CertificateKey(event.getStudentId(), event.getCourseId()));
+            return;
+        }
+        boolean completed = event.getProgress() != null && event.getProgress() >= 100;
+        boolean wasCompleted = event.getPreviousProgress() != null && event.getPreviousProgress() >= 100;
+        if (completed && !wasCompleted) {
+            request(event.getEnrollmentId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            issuedCertificates.asMap().keySet().removeIf(key -> key.courseId.equals(event.getCourseId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            issuedCertificates.asMap().keySet().removeIf(key -> event.getCourseIds().contains(key.courseId));
+        }
+    }
+
+    /**
+     * Pick up certificates that are due, e.g. retries, or left behind by a
+     * restart.
+     */
+    @Scheduled(initialDelayString = "${app.certificates.sweep-interval-ms:60000}",
+            fixedDelayString = "${app.certificates.sweep-interval-ms:60000}")
+    public void resumePendingCertificates() {
+        wake();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Record a pending certificate for an enrollment, if it has none yet,
+     * and wake the dispatcher.
+     */
+    private void request(Long enrollmentId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!certificateRepository.existsByEnrollmentId(enrollmentId)) {
+                    certificateRepository.save(new Certificate(enrollmentRepository.getReferenceById(enrollmentId),
+                            LocalDateTime.now()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Requested concurrently by another thread or instance
+        }
+        wake();
+    }
+
+    private CertificateView requestMissing(Long studentId, Long courseId) {
+        Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId)
+                .filter(Enrollment::isCompleted)
+                .orElseThrow(() -> new ResourceNotFoundException("Certificate", "courseId", courseId));
+        request(enrollment.getId());
+        return new CertificateView(CertificateStatus.PENDING, null, null);
+    }
+
+    private void wake() {
+        if (dispatchQueued.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Generate due certificates batch by batch until none are left. The
+     * next batch is only claimed once the workers are done with this one.
+     * Runs on the dispatcher thread; package-private for tests.
+     */
+    void dispatch() {
+        dispatchQueued.set(false);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> due = certificateRepository.findDueIds(now, PageRequest.of(0, batchSize));
+
+                List<Long> claimed = new ArrayList<>(due.size());
+                for (Long id : due) {
+                    Integer won = transactionTemplate.execute(status ->
+                            certificateRepository.claim(id, now, now.plus(lease)));
+                    if (won != null && won > 0) {
+                        claimed.add(id);
+                    }
+                }
+                if (!claimed.isEmpty()) {
+                    List<Callable<Void>> tasks = new ArrayList<>(claimed.size());
+                    for (CertificateDataView certificate : certificateRepository.findDataViewsByIdIn(claimed)) {
+                        tasks.add(() -> {
+                            generate(certificate);
+                            return null;
+                        });
+                    }
+                    workers.invokeAll(tasks);
+                }
+                if (due.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Certificate dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void generate(CertificateDataView certificate) {
+        try {
+            byte[] image = certificateRenderer.render(certificate);
+            String contentHash = hash(image);
+            String key = KEY_PREFIX + contentHash + EXTENSION;
+            if (mediaStore.find(key).isEmpty()) {
+                mediaStore.store(key, new ByteArrayInputStream(image));
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    certificateRepository.markIssued(certificate.getId(), contentHash, LocalDateTime.now()));
+            issued.increment();
+        } catch (Exception e) {
+            String error = Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+            if (error.length() > 255) {
+                error = error.substring(0, 255);
+            }
+            String reason = error;
+            LocalDateTime now = LocalDateTime.now();
+            if (certificate.getAttempts() >= maxAttempts) {
+                transactionTemplate.executeWithoutResult(status ->
+                        certificateRepository.markFailed(certificate.getId(), reason, now));
+                failed.increment();
+                logger.error("Giving up on certificate {} after {} attempts", certificate.getId(),
+                        certificate.getAttempts(), e);
+            } else {
+                Duration backoff = retryDelay.multipliedBy(1L << Math.min(certificate.getAttempts() - 1, 16));
+                transactionTemplate.executeWithoutResult(status ->
+                        certificateRepository.markRetry(certificate.getId(), now.plus(backoff), reason, now));
+                retried.increment();
+                logger.warn("Certificate {} failed, retrying in {}: {}", certificate.getId(), backoff, reason);
+            }
+        }
+    }
+
+    private static String hash(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("lms.certificates.generated")
+                .description("Certificate generation attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cache key of a student's certificate for a course.
+     */
+    private static class CertificateKey {
+        private final Long studentId;
+        private final Long courseId;
+
+        CertificateKey(Long studentId, Long courseId) {
+            this.studentId = studentId;
+            this.courseId = courseId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CertificateKey)) {
+                return false;
+            }
+            CertificateKey that = (CertificateKey) o;
+            return studentId.equals(that.studentId) && courseId.equals(that.courseId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(studentId, courseId);
+        }
+    }
+}
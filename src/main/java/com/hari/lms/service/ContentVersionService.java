@@ -0,0 +1,123 @@
+package com.hari.lms.service;
+
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.UserBatchEvent;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.util.VersionStamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service that provides version stamps for ETags from in-memory change
+ * counters, so a conditional GET costs no database query. Counters are bumped
+ * after commit by the course, user and enrollment events. Per-course and
+ * per-student counters are striped; a collision only costs a full response.
+ *
+ * Lessons have no write path of their own apart from course deletion, which
+ * publishes course events.
+ *
+ * The counters only see changes made on this instance. Stamps include a
+ * random instance ID, so they never match a stamp issued by another
+ * instance, and the current max-age period, so a change made elsewhere is
+ * picked up after at most that long.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class ContentVersionService {
+
+    private static final int STRIPES = 1024;
+
+    private final long instanceId = ThreadLocalRandom.current().nextLong();
+    private final long maxAgeMillis;
+
+    private final AtomicLong courseChanges = new AtomicLong();
+    private final AtomicLong userChanges = new AtomicLong();
+    private final AtomicLong enrollmentChanges = new AtomicLong();
+    private final AtomicLongArray courseStripes = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray studentStripes = new AtomicLongArray(STRIPES);
+
+    public ContentVersionService(@Value("${app.content-version.max-age:60s}") Duration maxAge) {
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Get the version of all courses, including lesson and enrollment counts.
+     */
+    public VersionStamp getCoursesVersion() {
+        return stamp("courses", courseChanges.get(), userChanges.get(), enrollmentChanges.get());
+    }
+
+    /**
+     * Get the version of published courses, including lesson and enrollment
+     * counts.
+     */
+    public VersionStamp getPublishedCoursesVersion() {
+        return stamp("published-courses", courseChanges.get(), userChanges.get(), enrollmentChanges.get());
+    }
+
+    /**
+     * Get the version of a single course, including lesson and enrollment
+     * counts.
+     */
+    public VersionStamp getCourseVersion(Long courseId) {
+        return stamp("course", courseId, courseStripes.get(stripe(courseId)), userChanges.get());
+    }
+
+    /**
+     * Get the version of a student's enrollments, including the enrolled
+     * courses.
+     */
+    public VersionStamp getStudentEnrollmentsVersion(Long studentId) {
+        return stamp("student-enrollments", studentId, studentStripes.get(stripe(studentId)),
+                courseChanges.get(), userChanges.get());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        courseStripes.incrementAndGet(stripe(event.getCourseId()));
+        courseChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        for (Long courseId : event.getCourseIds()) {
+            courseStripes.incrementAndGet(stripe(courseId));
+        }
+        courseChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        courseStripes.incrementAndGet(stripe(event.getCourseId()));
+        studentStripes.incrementAndGet(stripe(event.getStudentId()));
+        enrollmentChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        userChanges.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserBatchEvent(UserBatchEvent event) {
+        userChanges.incrementAndGet();
+    }
+
+    private VersionStamp stamp(Object... parts) {
+        return VersionStamp.of(parts).and(instanceId, System.currentTimeMillis() / maxAgeMillis);
+    }
+
+    private static int stripe(Long id) {
+        return id == null ? 0 : (int) (id ^ (id >>> 32)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,184 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Short-lived in-memory copy of the published course catalog, newest first.
+ * Available courses for a student are computed by filtering the catalog with
+ * the student's cached enrolled-course bitmap, without a database query.
+ * When the catalog is larger than the configured cap the database anti-join
+ * query is used instead.
+ *
+ * Course changes invalidate the catalog immediately; enrollment counts shown
+ * in it may lag by up to the configured time to live.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CourseCatalogService {
+
+    private static final String CATALOG_KEY = "published";
+
+    private final CourseService courseService;
+    private final EnrolledCourseCache enrolledCourseCache;
+    private final int maxCachedCourses;
+    private final Cache<String, Catalog> catalogCache;
+
+    public CourseCatalogService(CourseService courseService, EnrolledCourseCache enrolledCourseCache,
+            @Value("${app.catalog.max-cached-courses:2000}") int maxCachedCourses,
+            @Value("${app.catalog.time-to-live:60s}") Duration timeToLive) {
+        this.courseService = courseService;
+        this.enrolledCourseCache = enrolledCourseCache;
+        this.maxCachedCourses = maxCachedCourses;
+        this.catalogCache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * Get the newest published courses.
+     */
+    public List<CourseResponse> getNewestCourses(int limit) {
+        Catalog catalog = getCatalog();
+        if (!catalog.isComplete() && limit > catalog.getCourses().size()) {
+            return courseService.getPublishedCourses(0, limit, "createdAt", "desc").getContent();
+        }
+        return catalog.getCourses().subList(0, Math.min(limit, catalog.getCourses().size()));
+    }
+
+    /**
+     * Get published courses by ID, in the order of the given IDs. Courses
+     * older than the cached part of the catalog are read from the database.
+     */
+    public List<CourseResponse> getCourses(List<Long> courseIds) {
+        Catalog catalog = getCatalog();
+        List<Long> missing = new ArrayList<>();
+        for (Long courseId : courseIds) {
+            if (!catalog.getCoursesById().containsKey(courseId)) {
+                missing.add(courseId);
+            }
+        }
+
+        Map<Long, CourseResponse> loaded = Collections.emptyMap();
+        if (!catalog.isComplete() && !missing.isEmpty()) {
+            loaded = courseService.getPublishedCoursesByIds(missing).stream()
+                    .collect(Collectors.toMap(CourseResponse::getId, Function.identity()));
+        }
+
+        List<CourseResponse> courses = new ArrayList<>(courseIds.size());
+        for (Long courseId : courseIds) {
+            CourseResponse course = catalog.getCoursesById().getOrDefault(courseId, loaded.get(courseId));
+            if (course != null) {
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * Get the version of the cached catalog. Every reload gets a new random
+     * version, so equal versions always mean the same catalog contents.
+     */
+    public long getCatalogVersion() {
+        return getCatalog().getVersion();
+    }
+
+    /**
+     * Get published courses that a student is not enrolled in, newest first.
+     */
+    public Page<CourseResponse> getAvailableCourses(Long studentId, int page, int size) {
+        Catalog catalog = getCatalog();
+        if (!catalog.isComplete()) {
+            return courseService.getAvailableCourses(studentId, page, size);
+        }
+
+        Roaring64Bitmap enrolled = enrolledCourseCache.getEnrolledCourses(studentId);
+        List<CourseResponse> available = catalog.getCourses().stream()
+                .filter(course -> !enrolled.contains(course.getId()))
+                .collect(Collectors.toList());
+
+        int from = (int) Math.min((long) page * size, available.size());
+        int to = Math.min(from + size, available.size());
+        return new PageImpl<>(available.subList(from, to),
+                PageRequest.of(page, size, Sort.by("createdAt").descending()), available.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        catalogCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        catalogCache.invalidateAll();
+    }
+
+    private Catalog getCatalog() {
+        return catalogCache.get(CATALOG_KEY, key -> loadCatalog());
+    }
+
+    private Catalog loadCatalog() {
+        Page<CourseResponse> courses = courseService.getPublishedCourses(0, maxCachedCourses, "createdAt", "desc");
+        return new Catalog(ThreadLocalRandom.current().nextLong(),
+                Collections.unmodifiableList(courses.getContent()),
+                courses.getTotalElements() <= maxCachedCourses);
+    }
+
+    /**
+     * Cached catalog. Complete is false when there are more published courses
+     * than the cap, in which case only the newest ones are held.
+     */
+    private static class Catalog {
+        private final long version;
+        private final List<CourseResponse> courses;
+        private final Map<Long, CourseResponse> coursesById;
+        private final boolean complete;
+
+        Catalog(long version, List<CourseResponse> courses, boolean complete) {
+            this.version = version;
+            this.courses = courses;
+            this.coursesById = courses.stream()
+                    .collect(Collectors.toMap(CourseResponse::getId, Function.identity()));
+            this.complete = complete;
+        }
+
+        long getVersion() {
+            return version;
+        }
+
+        List<CourseResponse> getCourses() {
+            return courses;
+        }
+
+        Map<Long, CourseResponse> getCoursesById() {
+            return coursesById;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+    }
+}
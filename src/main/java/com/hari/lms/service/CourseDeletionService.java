@@ -0,0 +1,209 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.dto.response.CourseDeletionStatus;
+import com.hari.lms.entity.Course;
+import com.hari.lms.enums.CourseDeletionState;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.repository.CertificateRepository;
+import com.hari.lms.repository.CourseEnrollmentDayRepository;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.CourseStatsRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.LessonRepository;
+import com.hari.lms.repository.PaymentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes courses without loading their lessons and enrollments. A course is
+ * first marked as deleted, which hides it from every query at once; a
+ * background job then removes its enrollments (with their certificates),
+ * payments and lessons in bounded chunks, each chunk a bulk DELETE in its own
+ * short transaction, and finally removes the course row together with its
+ * analytics rows. Courses left marked as deleted by a failed
+ * job or a restart are picked up again by a periodic sweep.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CourseDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseDeletionService.class);
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private CourseStatsRepository courseStatsRepository;
+
+    @Autowired
+    private CourseEnrollmentDayRepository courseEnrollmentDayRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.course-deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<Long, CourseDeletionStatus> jobs = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "course-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CourseDeletionService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Hide a course and schedule the deletion of its rows once the current
+     * transaction commits.
+     */
+    @Transactional
+    public void deleteCourse(Course course) {
+        courseRepository.softDeleteById(course.getId(), LocalDateTime.now());
+        eventPublisher.publishEvent(new CourseEvent(ChangeType.DELETED, course));
+    }
+
+    /**
+     * Get the progress of the deletion job of a course, if one ran recently.
+     */
+    public Optional<CourseDeletionStatus> getStatus(Long courseId) {
+        return Optional.ofNullable(jobs.getIfPresent(courseId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            start(event.getCourseId(), event.getInstructorId());
+        }
+    }
+
+    /**
+     * Restart jobs for courses that are still marked as deleted, e.g. after a
+     * failure or a restart.
+     */
+    @Scheduled(initialDelayString = "${app.course-deletion.sweep-interval-ms:300000}",
+            fixedDelayString = "${app.course-deletion.sweep-interval-ms:300000}")
+    public void resumePendingDeletions() {
+        for (Object[] course : courseRepository.findSoftDeletedOwners()) {
+            start(((Number) course[0]).longValue(), course[1] != null ? ((Number) course[1]).longValue() : null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void start(Long courseId, Long instructorId) {
+        CourseDeletionStatus current = jobs.getIfPresent(courseId);
+        if (current != null && (current.getState() == CourseDeletionState.PENDING
+                || current.getState() == CourseDeletionState.RUNNING)) {
+            return;
+        }
+
+        CourseDeletionStatus status = new CourseDeletionStatus(courseId, instructorId);
+        jobs.put(courseId, status);
+        executor.execute(() -> purge(status));
+    }
+
+    private void purge(CourseDeletionStatus status) {
+        Long courseId = status.getCourseId();
+        status.setState(CourseDeletionState.RUNNING);
+        status.setStartedAt(LocalDateTime.now());
+
+        try {
+            // Enrollments reference payments, so they go first, and certificates reference enrollments
+            deleteInChunks(courseId, enrollmentRepository::findIdsByCourseId, ids -> {
+                certificateRepository.deleteByEnrollmentIdIn(ids);
+                enrollmentRepository.deleteAllByIdInBatch(ids);
+            }, status::setEnrollmentsDeleted);
+            deleteInChunks(courseId, paymentRepository::findIdsByCourseId,
+                    paymentRepository::deleteAllByIdInBatch, status::setPaymentsDeleted);
+            deleteInChunks(courseId, lessonRepository::findIdsByCourseId,
+                    lessonRepository::deleteAllByIdInBatch, status::setLessonsDeleted);
+            transactionTemplate.executeWithoutResult(tx -> {
+                courseEnrollmentDayRepository.deleteByCourseIdIn(List.of(courseId));
+                courseStatsRepository.deleteAllByIdInBatch(List.of(courseId));
+                courseRepository.purgeSoftDeletedById(courseId);
+            });
+
+            status.setState(CourseDeletionState.COMPLETED);
+            logger.info("Deleted course {} with {} enrollments, {} payments and {} lessons", courseId,
+                    status.getEnrollmentsDeleted(), status.getPaymentsDeleted(), status.getLessonsDeleted());
+        } catch (Exception e) {
+            status.setState(CourseDeletionState.FAILED);
+            status.setError(e.getMessage());
+            logger.error("Failed to delete course {}: {}", courseId, e.getMessage(), e);
+        } finally {
+            status.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Delete rows of a course one chunk per transaction until none are left.
+     */
+    private void deleteInChunks(Long courseId, BiFunction<Long, Pageable, List<Long>> findIds,
+            Consumer<List<Long>> delete, LongConsumer progress) {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        long deleted = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(tx -> {
+                List<Long> ids = findIds.apply(courseId, chunk);
+                if (!ids.isEmpty()) {
+                    delete.accept(ids);
+                }
+                return ids.size();
+            });
+            if (count == null || count == 0) {
+                return;
+            }
+            deleted += count;
+            progress.accept(deleted);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.dto.view.CourseDetailView;
+import com.hari.lms.dto.view.CoursePageView;
+import com.hari.lms.dto.view.CourseViewerState;
+import com.hari.lms.dto.view.EnrollmentStateView;
+import com.hari.lms.dto.view.LessonSummaryView;
+import com.hari.lms.enums.PaymentStatus;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.LessonRepository;
+import com.hari.lms.repository.PaymentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class for the course detail page. The course, its instructor and
+ * its lesson list are the same for every viewer and are cached per course;
+ * only the viewer's enrollment and payment state is read per request. A
+ * page therefore costs no queries for anonymous users, instructors and
+ * admins, and at most two for students, plus two when the course is not
+ * cached.
+ *
+ * Course changes invalidate the cached entry immediately; the enrollment
+ * count may lag by up to the configured time to live.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CourseDetailService {
+
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final PaymentRepository paymentRepository;
+    private final AuthService authService;
+    private final Cache<Long, CourseContent> contentCache;
+
+    public CourseDetailService(CourseRepository courseRepository, LessonRepository lessonRepository,
+            EnrollmentRepository enrollmentRepository, PaymentRepository paymentRepository,
+            AuthService authService,
+            @Value("${app.course-detail.max-cached-courses:1000}") long maxCachedCourses,
+            @Value("${app.course-detail.time-to-live:60s}") Duration timeToLive) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.paymentRepository = paymentRepository;
+        this.authService = authService;
+        this.contentCache = Caffeine.newBuilder()
+                .maximumSize(maxCachedCourses)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * Get the detail page of a course for the current user. Unpublished
+     * courses are only visible to admins and their instructor.
+     */
+    @Transactional(readOnly = true)
+    public CoursePageView getCoursePage(Long courseId) {
+        CourseContent content = contentCache.get(courseId, this::loadContent);
+        if (content == null) {
+            throw new ResourceNotFoundException("Course", "id", courseId);
+        }
+
+        Long userId = authService.getCurrentUserId();
+        CourseViewerState viewer = getViewerState(userId, content.course);
+        if (!Boolean.TRUE.equals(content.course.getIsApproved()) && !viewer.isOwner()
+                && !Role.ADMIN.name().equals(viewer.getRole())) {
+            throw new ResourceNotFoundException("Course", "id", courseId);
+        }
+        if (Role.STUDENT.name().equals(viewer.getRole())) {
+            addEnrollmentState(viewer, userId, courseId);
+        }
+        return new CoursePageView(content.course, content.lessons, viewer);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        contentCache.invalidate(event.getCourseId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        contentCache.invalidateAll(event.getCourseIds());
+    }
+
+    private CourseContent loadContent(Long courseId) {
+        return courseRepository.findDetailViewById(courseId)
+                .map(course -> new CourseContent(course,
+                        Collections.unmodifiableList(lessonRepository.findSummaryViewsByCourseId(courseId))))
+                .orElse(null);
+    }
+
+    private CourseViewerState getViewerState(Long userId, CourseDetailView course) {
+        CourseViewerState viewer = new CourseViewerState();
+        if (userId == null) {
+            return viewer;
+        }
+
+        viewer.setAuthenticated(true);
+        Role role = authService.isAdmin() ? Role.ADMIN
+                : authService.isInstructor() ? Role.INSTRUCTOR
+                : authService.isStudent() ? Role.STUDENT
+                : null;
+        viewer.setRole(role != null ? role.name() : null);
+        viewer.setOwner(userId.equals(course.getInstructorId()));
+        return viewer;
+    }
+
+    private void addEnrollmentState(CourseViewerState viewer, Long studentId, Long courseId) {
+        Optional<EnrollmentStateView> enrollment = enrollmentRepository.findStateView(studentId, courseId);
+        if (enrollment.isPresent()) {
+            viewer.setEnrolled(true);
+            viewer.setProgress(enrollment.get().getProgress());
+            viewer.setCompletedLessons(enrollment.get().getCompletedLessons());
+            viewer.setEnrollmentDate(enrollment.get().getEnrollmentDate());
+            viewer.setPaymentStatus(enrollment.get().getPaymentStatus());
+        } else {
+            // Not enrolled yet, show a pending or failed checkout instead
+            List<PaymentStatus> statuses = paymentRepository.findLatestStatuses(studentId, courseId,
+                    PageRequest.of(0, 1));
+            viewer.setPaymentStatus(statuses.isEmpty() ? null : statuses.get(0));
+        }
+    }
+
+    /**
+     * Cached part of the page, shared by all viewers.
+     */
+    private static class CourseContent {
+        private final CourseDetailView course;
+        private final List<LessonSummaryView> lessons;
+
+        CourseContent(CourseDetailView course, List<LessonSummaryView> lessons) {
+            this.course = course;
+            this.lessons = lessons;
+        }
+    }
+}
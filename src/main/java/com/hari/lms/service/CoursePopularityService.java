@@ -0,0 +1,259 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.enums.PopularityWindow;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.util.SpaceSavingCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that ranks courses by enrollments, all-time and over sliding 24 hour
+ * and 7 day windows. Counts come from enrollment events and are kept in
+ * space-bounded Space-Saving counters: one for all-time and one per hour in a
+ * ring of hourly buckets, so rankings never scan the enrollments table.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CoursePopularityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoursePopularityService.class);
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final int BUCKET_COUNT = PopularityWindow.LAST_7_DAYS.getHours();
+    public static final int MAX_LIMIT = 50;
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final int capacity;
+    private final int bucketCapacity;
+
+    // Guarded by this
+    private SpaceSavingCounter allTime;
+    private SpaceSavingCounter[] buckets;
+    private long[] bucketHours;
+    private long version;
+    private final Map<PopularityWindow, CachedRanking> rankings = new EnumMap<>(PopularityWindow.class);
+
+    public CoursePopularityService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+            @Value("${app.popularity.capacity:500}") int capacity,
+            @Value("${app.popularity.bucket-capacity:100}") int bucketCapacity) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.capacity = capacity;
+        this.bucketCapacity = bucketCapacity;
+    }
+
+    /**
+     * Seed the counters from the database on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<CourseEnrollmentStats> courseStats = courseRepository.findCourseEnrollmentStats();
+        LocalDateTime since = LocalDateTime.now().minusHours(BUCKET_COUNT);
+        List<Object[]> recent = enrollmentRepository.findCourseEnrollmentDatesSince(since);
+
+        synchronized (this) {
+            init();
+            for (CourseEnrollmentStats stats : courseStats) {
+                allTime.increment(stats.getCourseId(), stats.getEnrollmentCount());
+            }
+            long currentHour = currentHour();
+            for (Object[] row : recent) {
+                long hour = toEpochHour((LocalDateTime) row[1]);
+                if (hour > currentHour - BUCKET_COUNT && hour <= currentHour) {
+                    bucket(hour).increment((Long) row[0], 1);
+                }
+            }
+            version++;
+        }
+
+        logger.info("Seeded course popularity from {} courses and {} recent enrollments",
+                courseStats.size(), recent.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onEnrollmentEvent(EnrollmentEvent event) {
+        if (allTime == null) {
+            return;
+        }
+
+        if (event.getChangeType() == ChangeType.CREATED) {
+            allTime.increment(event.getCourseId(), 1);
+            bucket(currentHour()).increment(event.getCourseId(), 1);
+            version++;
+        } else if (event.getChangeType() == ChangeType.DELETED) {
+            allTime.decrement(event.getCourseId());
+            // Take the enrollment back out of its hour, if that hour is still in the ring
+            if (event.getEnrollmentDate() != null) {
+                long hour = toEpochHour(event.getEnrollmentDate());
+                int index = (int) Math.floorMod(hour, (long) BUCKET_COUNT);
+                if (bucketHours[index] == hour) {
+                    buckets[index].decrement(event.getCourseId());
+                }
+            }
+            version++;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCourseEvent(CourseEvent event) {
+        if (allTime == null || event.getChangeType() != ChangeType.DELETED) {
+            return;
+        }
+
+        allTime.remove(event.getCourseId());
+        for (SpaceSavingCounter bucket : buckets) {
+            bucket.remove(event.getCourseId());
+        }
+        version++;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onCourseBatchEvent(CourseBatchEvent event) {
+        if (allTime == null || event.getChangeType() != ChangeType.DELETED) {
+            return;
+        }
+
+        for (Long courseId : event.getCourseIds()) {
+            allTime.remove(courseId);
+            for (SpaceSavingCounter bucket : buckets) {
+                bucket.remove(courseId);
+            }
+        }
+        version++;
+    }
+
+    /**
+     * Get the most enrolled courses for a window, most enrolled first.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseEnrollmentStats> getTopCourses(PopularityWindow window, int limit, boolean publishedOnly) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<SpaceSavingCounter.Entry> ranking = getRanking(window);
+        if (ranking.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = ranking.stream().map(SpaceSavingCounter.Entry::getKey).collect(Collectors.toList());
+        Map<Long, CourseEnrollmentStats> courses = courseRepository.findRankingStatsByIdIn(ids, publishedOnly).stream()
+                .collect(Collectors.toMap(CourseEnrollmentStats::getCourseId, Function.identity()));
+
+        List<CourseEnrollmentStats> result = new ArrayList<>(size);
+        for (SpaceSavingCounter.Entry entry : ranking) {
+            CourseEnrollmentStats course = courses.get(entry.getKey());
+            if (course == null) {
+                continue;
+            }
+            course.setEnrollmentCount(entry.getCount());
+            result.add(course);
+            if (result.size() >= size) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the top course counters for a window, reusing the last result until
+     * a counter changes or the hour rolls over.
+     */
+    private synchronized List<SpaceSavingCounter.Entry> getRanking(PopularityWindow window) {
+        if (allTime == null) {
+            return new ArrayList<>();
+        }
+
+        long currentHour = currentHour();
+        CachedRanking cached = rankings.get(window);
+        if (cached != null && cached.version == version && cached.hour == currentHour) {
+            return cached.entries;
+        }
+
+        List<SpaceSavingCounter.Entry> entries;
+        if (window == PopularityWindow.ALL_TIME) {
+            entries = allTime.top(MAX_LIMIT);
+        } else {
+            Map<Long, Long> counts = new HashMap<>();
+            for (int i = 0; i < window.getHours(); i++) {
+                long hour = currentHour - i;
+                int index = (int) Math.floorMod(hour, (long) BUCKET_COUNT);
+                if (bucketHours[index] == hour) {
+                    buckets[index].addTo(counts);
+                }
+            }
+            SpaceSavingCounter merged = new SpaceSavingCounter(Math.max(counts.size(), 1));
+            counts.forEach(merged::increment);
+            entries = merged.top(MAX_LIMIT);
+        }
+
+        rankings.put(window, new CachedRanking(version, currentHour, entries));
+        return entries;
+    }
+
+    /**
+     * Get the counter for an hour, resetting the ring slot if it holds an
+     * older hour.
+     */
+    private SpaceSavingCounter bucket(long hour) {
+        int index = (int) Math.floorMod(hour, (long) BUCKET_COUNT);
+        if (bucketHours[index] != hour) {
+            buckets[index].clear();
+            bucketHours[index] = hour;
+        }
+        return buckets[index];
+    }
+
+    private void init() {
+        allTime = new SpaceSavingCounter(capacity);
+        buckets = new SpaceSavingCounter[BUCKET_COUNT];
+        bucketHours = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new SpaceSavingCounter(bucketCapacity);
+            bucketHours[i] = -1;
+        }
+        rankings.clear();
+    }
+
+    private static long currentHour() {
+        return System.currentTimeMillis() / MILLIS_PER_HOUR;
+    }
+
+    private static long toEpochHour(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / MILLIS_PER_HOUR;
+    }
+
+    private static class CachedRanking {
+        private final long version;
+        private final long hour;
+        private final List<SpaceSavingCounter.Entry> entries;
+
+        CachedRanking(long version, long hour, List<SpaceSavingCounter.Entry> entries) {
+            this.version = version;
+            this.hour = hour;
+            this.entries = entries;
+        }
+    }
+}
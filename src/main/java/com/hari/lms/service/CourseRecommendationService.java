@@ -0,0 +1,293 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.enums.PopularityWindow;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.util.LongIntHashMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Item-to-item course recommender based on co-enrollment ("students who
+ * enrolled in X also enrolled in Y"). A background job builds a sparse cosine
+ * similarity matrix from the enrollments table and keeps the top neighbours
+ * of every course; lookups only combine the neighbour lists of a student's
+ * courses in memory. Students without enrollments fall back to popular and
+ * then newest courses. A student's courses come from the enrolled-course
+ * cache and recommended courses from the course catalog cache, so a lookup
+ * normally runs no queries.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class CourseRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseRecommendationService.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrolledCourseCache enrolledCourseCache;
+    private final CourseCatalogService courseCatalogService;
+    private final CoursePopularityService coursePopularityService;
+    private final int neighbourCount;
+    private final int maxCoursesPerStudent;
+    private final int pageSize;
+    private final Timer lookupTimer;
+
+    private volatile SimilarityModel model = SimilarityModel.EMPTY;
+
+    public CourseRecommendationService(EnrollmentRepository enrollmentRepository,
+            EnrolledCourseCache enrolledCourseCache, CourseCatalogService courseCatalogService, CoursePopularityService coursePopularityService,
+            MeterRegistry meterRegistry,
+            @Value("${app.recommendations.neighbours:20}") int neighbourCount,
+            @Value("${app.recommendations.max-courses-per-student:100}") int maxCoursesPerStudent,
+            @Value("${app.recommendations.rebuild-page-size:10000}") int pageSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrolledCourseCache = enrolledCourseCache;
+        this.courseCatalogService = courseCatalogService;
+        this.coursePopularityService = coursePopularityService;
+        this.neighbourCount = neighbourCount;
+        this.maxCoursesPerStudent = maxCoursesPerStudent;
+        this.pageSize = pageSize;
+        this.lookupTimer = Timer.builder("lms.recommendations.lookup")
+                .description("Time to compute course recommendations for a student")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the similarity model from all enrollments in published courses.
+     * Enrollments are read in pages ordered by student, so only one page and
+     * the primitive count tables are held in memory.
+     */
+    @Scheduled(initialDelayString = "${app.recommendations.initial-delay-ms:15000}",
+            fixedDelayString = "${app.recommendations.rebuild-interval-ms:3600000}")
+    public void rebuildModel() {
+        long start = System.currentTimeMillis();
+
+        // Course IDs are mapped to dense indexes as they are first seen
+        LongIntHashMap indexByCourse = new LongIntHashMap(256);
+        List<Long> courseIds = new ArrayList<>();
+        int[] courseCounts = new int[64];
+        LongIntHashMap coCounts = new LongIntHashMap(1024);
+
+        // Count co-enrollments per student
+        int[] studentCourses = new int[maxCoursesPerStudent];
+        int studentSize = 0;
+        long currentStudent = 0;
+        long lastCourse = 0;
+        long pairTotal = 0;
+        Pageable firstPage = PageRequest.of(0, pageSize);
+        List<Object[]> pairs;
+        do {
+            pairs = enrollmentRepository.findPublishedEnrollmentPairsAfter(currentStudent, lastCourse, firstPage);
+            for (Object[] pair : pairs) {
+                long studentId = (Long) pair[0];
+                lastCourse = (Long) pair[1];
+                if (studentId != currentStudent) {
+                    countPairs(studentCourses, studentSize, courseCounts, coCounts);
+                    currentStudent = studentId;
+                    studentSize = 0;
+                }
+
+                int index = indexByCourse.get(lastCourse, -1);
+                if (index < 0) {
+                    index = courseIds.size();
+                    indexByCourse.put(lastCourse, index);
+                    courseIds.add(lastCourse);
+                    if (index == courseCounts.length) {
+                        courseCounts = Arrays.copyOf(courseCounts, index * 2);
+                    }
+                }
+                if (studentSize < maxCoursesPerStudent) {
+                    studentCourses[studentSize++] = index;
+                }
+            }
+            pairTotal += pairs.size();
+        } while (pairs.size() == pageSize);
+        countPairs(studentCourses, studentSize, courseCounts, coCounts);
+
+        // Keep the most similar neighbours of every course
+        int courseTotal = courseIds.size();
+        int[] counts = courseCounts;
+        NeighbourList[] neighbours = new NeighbourList[courseTotal];
+        for (int i = 0; i < courseTotal; i++) {
+            neighbours[i] = new NeighbourList(neighbourCount);
+        }
+        coCounts.forEach((key, together) -> {
+            int a = (int) (key >>> 32);
+            int b = (int) key;
+            float similarity = (float) (together / Math.sqrt((double) counts[a] * counts[b]));
+            neighbours[a].offer(b, similarity);
+            neighbours[b].offer(a, similarity);
+        });
+
+        long[] ids = courseIds.stream().mapToLong(Long::longValue).toArray();
+        model = new SimilarityModel(ids, indexByCourse, neighbours);
+
+        logger.info("Rebuilt course recommendations for {} courses from {} enrollments ({} course pairs) in {} ms",
+                courseTotal, pairTotal, coCounts.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Get recommended published courses for a student, excluding courses the
+     * student is already enrolled in.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getRecommendations(Long studentId, int limit) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Roaring64Bitmap enrolled = enrolledCourseCache.getEnrolledCourses(studentId);
+            int enrolledCount = (int) enrolled.getLongCardinality();
+            Set<Long> candidates = new LinkedHashSet<>();
+            for (long courseId : model.recommend(enrolled, limit * 2)) {
+                candidates.add(courseId);
+            }
+
+            // Cold start: fill up with popular courses
+            if (candidates.size() < limit) {
+                for (CourseEnrollmentStats popular : coursePopularityService.getTopCourses(
+                        PopularityWindow.ALL_TIME, limit + enrolledCount, true)) {
+                    if (!enrolled.contains(popular.getCourseId())) {
+                        candidates.add(popular.getCourseId());
+                    }
+                }
+            }
+
+            List<CourseResponse> courses = courseCatalogService.getCourses(new ArrayList<>(candidates));
+
+            // Finally fall back to the newest published courses
+            if (courses.size() < limit) {
+                for (CourseResponse course : courseCatalogService.getNewestCourses(limit + enrolledCount)) {
+                    if (!enrolled.contains(course.getId()) && !candidates.contains(course.getId())) {
+                        courses.add(course);
+                    }
+                    if (courses.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+
+            return courses.size() > limit ? courses.subList(0, limit) : courses;
+        } finally {
+            sample.stop(lookupTimer);
+        }
+    }
+
+    /**
+     * Add every course pair taken by one student to the co-enrollment counts.
+     */
+    private static void countPairs(int[] courses, int size, int[] courseCounts, LongIntHashMap coCounts) {
+        for (int i = 0; i < size; i++) {
+            courseCounts[courses[i]]++;
+            for (int j = i + 1; j < size; j++) {
+                int a = Math.min(courses[i], courses[j]);
+                int b = Math.max(courses[i], courses[j]);
+                if (a != b) {
+                    coCounts.addTo(((long) a << 32) | b, 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounded list of the most similar courses, sorted by similarity.
+     */
+    private static class NeighbourList {
+        private final int[] indexes;
+        private final float[] scores;
+        private int size;
+
+        NeighbourList(int capacity) {
+            this.indexes = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int index, float score) {
+            if (size == indexes.length && score <= scores[size - 1]) {
+                return;
+            }
+
+            int position = size < indexes.length ? size++ : size - 1;
+            while (position > 0 && scores[position - 1] < score) {
+                indexes[position] = indexes[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            indexes[position] = index;
+            scores[position] = score;
+        }
+    }
+
+    /**
+     * Immutable similarity model: course neighbours by dense course index.
+     */
+    private static class SimilarityModel {
+        static final SimilarityModel EMPTY = new SimilarityModel(new long[0], new LongIntHashMap(),
+                new NeighbourList[0]);
+
+        private final long[] courseIds;
+        private final LongIntHashMap indexByCourse;
+        private final NeighbourList[] neighbours;
+
+        SimilarityModel(long[] courseIds, LongIntHashMap indexByCourse, NeighbourList[] neighbours) {
+            this.courseIds = courseIds;
+            this.indexByCourse = indexByCourse;
+            this.neighbours = neighbours;
+        }
+
+        /**
+         * Score candidate courses by summed similarity to the enrolled ones.
+         */
+        long[] recommend(Roaring64Bitmap enrolled, int limit) {
+            if (enrolled.isEmpty() || courseIds.length == 0 || limit <= 0) {
+                return new long[0];
+            }
+
+            float[] scores = new float[courseIds.length];
+            boolean[] excluded = new boolean[courseIds.length];
+            List<Integer> enrolledIndexes = new ArrayList<>();
+            enrolled.forEach(courseId -> {
+                int index = indexByCourse.get(courseId, -1);
+                if (index >= 0) {
+                    excluded[index] = true;
+                    enrolledIndexes.add(index);
+                }
+            });
+
+            NeighbourList best = new NeighbourList(limit);
+            for (int index : enrolledIndexes) {
+                NeighbourList list = neighbours[index];
+                for (int i = 0; i < list.size; i++) {
+                    scores[list.indexes[i]] += list.scores[i];
+                }
+            }
+            for (int i = 0; i < scores.length; i++) {
+                if (scores[i] > 0 && !excluded[i]) {
+                    best.offer(i, scores[i]);
+                }
+            }
+
+            long[] result = new long[best.size];
+            for (int i = 0; i < best.size; i++) {
+                result[i] = courseIds[best.indexes[i]];
+            }
+            return result;
+        }
+    }
+}
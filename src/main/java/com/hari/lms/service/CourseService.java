@@ -1,15 +1,21 @@
 package com.hari.lms.service;
 
 import com.hari.lms.dto.request.CourseRequest;
+import com.hari.lms.dto.response.CourseDeletionStatus;
 import com.hari.lms.dto.response.CourseResponse;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
 import com.hari.lms.exception.ResourceNotFoundException;
 import com.hari.lms.exception.UnauthorizedAccessException;
 import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.LessonRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +23,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Service class for course operations.
  * 
@@ -26,15 +42,29 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class CourseService {
 
+    /**
+     * Maximum number of courses changed by one bulk statement.
+     */
+    public static final int BULK_BATCH_SIZE = 1000;
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseDeletionService courseDeletionService;
+
     @Autowired
     private AuthService authService;
 
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new course.
      */
@@ -53,6 +83,7 @@ public class CourseService {
         course.setIsApproved(false); // Draft status = false
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseEvent(ChangeType.CREATED, savedCourse));
         return mapToCourseResponse(savedCourse);
     }
 
@@ -72,6 +103,7 @@ public class CourseService {
         course.setDescription(courseRequest.getDescription());
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, savedCourse));
         return mapToCourseResponse(savedCourse);
     }
 
@@ -105,9 +137,33 @@ public class CourseService {
         Sort sort = sortDir.equalsIgnoreCase("desc") ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Course> courses = courseRepository.findByIsApproved(true, pageable);
+        return courseRepository.findPublishedResponses(pageable);
+    }
 
-        return courses.map(this::mapToCourseResponse);
+    /**
+     * Get published courses that a student is not enrolled in.
+     */
+    @Transactional(readOnly = true)
+    public Page<CourseResponse> getAvailableCourses(Long studentId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        return courseRepository.findAvailableCoursesForStudent(studentId, pageable);
+    }
+
+    /**
+     * Get published courses by ID, in the order of the given IDs.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponse> getPublishedCoursesByIds(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, CourseResponse> courses = courseRepository.findPublishedResponsesByIdIn(courseIds).stream()
+                .collect(Collectors.toMap(CourseResponse::getId, Function.identity()));
+
+        return courseIds.stream()
+                .map(courses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -186,6 +242,7 @@ public class CourseService {
 
         course.setIsApproved(true);
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, savedCourse, false));
         return mapToCourseResponse(savedCourse);
     }
 
@@ -206,11 +263,13 @@ public class CourseService {
 
         course.setIsApproved(false);
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseEvent(ChangeType.UPDATED, savedCourse, true));
         return mapToCourseResponse(savedCourse);
     }
 
     /**
-     * Delete course.
+     * Delete course. The course is hidden at once and its lessons and
+     * enrollments are removed in the background.
      */
     public void deleteCourse(Long courseId) {
         Course course = getCourseById(courseId);
@@ -221,7 +280,77 @@ public class CourseService {
             throw new UnauthorizedAccessException("You are not authorized to delete this course");
         }
 
-        courseRepository.delete(course);
+        courseDeletionService.deleteCourse(course);
+    }
+
+    /**
+     * Get the progress of the deletion of a course (course owner or admin only).
+     */
+    @Transactional(readOnly = true)
+    public Optional<CourseDeletionStatus> getDeletionStatus(Long courseId) {
+        Optional<CourseDeletionStatus> status = courseDeletionService.getStatus(courseId);
+        if (status.isPresent() && !authService.isAdmin()
+                && !Objects.equals(status.get().getInstructorId(), authService.getCurrentUserId())) {
+            throw new UnauthorizedAccessException("You are not authorized to view the deletion of this course");
+        }
+        return status;
+    }
+
+    /**
+     * Find the IDs of courses matching the admin bulk filter (Admin only).
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findCourseIds(Long instructorId, Boolean isApproved) {
+        if (!authService.isAdmin()) {
+            throw new UnauthorizedAccessException("Only administrators can moderate courses");
+        }
+        return courseRepository.findIdsByFilter(instructorId, isApproved);
+    }
+
+    /**
+     * Approve or disapprove courses in bulk (Admin only). Runs one UPDATE and
+     * publishes one event per batch. Returns the number of courses changed.
+     */
+    public int setCoursesApproved(Collection<Long> courseIds, boolean approved) {
+        if (!authService.isAdmin()) {
+            throw new UnauthorizedAccessException("Only administrators can moderate courses");
+        }
+
+        List<Long> ids = List.copyOf(courseIds);
+        LocalDateTime now = LocalDateTime.now();
+        int changed = 0;
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size()));
+            changed += courseRepository.updateApprovalByIdIn(batch, approved, now);
+            eventPublisher.publishEvent(new CourseBatchEvent(ChangeType.UPDATED, batch));
+        }
+        return changed;
+    }
+
+    /**
+     * Delete courses in bulk (Admin only). Courses with enrollments or
+     * payments are skipped; lessons are deleted with their course, as the
+     * entity cascade would. Returns the number of courses deleted.
+     */
+    public int deleteCourses(Collection<Long> courseIds) {
+        if (!authService.isAdmin()) {
+            throw new UnauthorizedAccessException("Only administrators can moderate courses");
+        }
+
+        List<Long> ids = List.copyOf(courseIds);
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += BULK_BATCH_SIZE) {
+            List<Long> batch = courseRepository.findDeletableIdsByIdIn(
+                    ids.subList(from, Math.min(from + BULK_BATCH_SIZE, ids.size())));
+            if (batch.isEmpty()) {
+                continue;
+            }
+            lessonRepository.deleteByCourseIdIn(batch);
+            courseRepository.deleteAllByIdInBatch(batch);
+            eventPublisher.publishEvent(new CourseBatchEvent(ChangeType.DELETED, batch));
+            deleted += batch.size();
+        }
+        return deleted;
     }
 
     /**
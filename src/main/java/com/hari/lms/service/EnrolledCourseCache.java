@@ -0,0 +1,122 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.repository.EnrollmentRepository;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * In-memory cache of the course IDs each student is enrolled in, stored as
+ * compressed bitmaps. Entries are loaded once per student and then kept up to
+ * date from enrollment events, so enrollment checks against a list of courses
+ * need no database round trips. Events only reach the instance that made the
+ * change, so entries expire a fixed time after they were loaded, however
+ * often they are read, to pick up changes made on other instances.
+ *
+ * Cached bitmaps are never modified; updates replace them with a patched copy
+ * so callers can read them without locking.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class EnrolledCourseCache {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final Cache<Long, Roaring64Bitmap> enrolledCourses;
+
+    public EnrolledCourseCache(
+            @Value("${app.enrolled-courses-cache.max-students:10000}") long maxStudents,
+            @Value("${app.enrolled-courses-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.enrolledCourses = Caffeine.newBuilder()
+                .maximumSize(maxStudents)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Get the IDs of the courses a student is enrolled in. The returned bitmap
+     * must not be modified.
+     */
+    public Roaring64Bitmap getEnrolledCourses(Long studentId) {
+        return enrolledCourses.get(studentId, this::loadEnrolledCourses);
+    }
+
+    /**
+     * Check if a student is enrolled in a course.
+     */
+    public boolean isEnrolled(Long studentId, Long courseId) {
+        return getEnrolledCourses(studentId).contains(courseId);
+    }
+
+    /**
+     * Drop a student's cached set, e.g. after the database showed it is out
+     * of date, so the next lookup loads it again.
+     */
+    public void evict(Long studentId) {
+        enrolledCourses.invalidate(studentId);
+    }
+
+    /**
+     * Patch the student's cached set after an enrollment is created or
+     * deleted. Students that are not cached are left alone and will be loaded
+     * on their next lookup; a load that is still running completes before the
+     * patch is applied, so a concurrent change cannot be lost.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        if (event.getChangeType() == ChangeType.UPDATED) {
+            return;
+        }
+
+        enrolledCourses.asMap().computeIfPresent(event.getStudentId(), (studentId, courses) -> {
+            Roaring64Bitmap updated = courses.clone();
+            if (event.getChangeType() == ChangeType.CREATED) {
+                updated.addLong(event.getCourseId());
+            } else {
+                updated.removeLong(event.getCourseId());
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Deleting a course cascades to its enrollments without individual
+     * enrollment events, so drop every cached set that contains it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            enrolledCourses.asMap().values().removeIf(courses -> courses.contains(event.getCourseId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            enrolledCourses.asMap().values().removeIf(
+                    courses -> event.getCourseIds().stream().anyMatch(courses::contains));
+        }
+    }
+
+    private Roaring64Bitmap loadEnrolledCourses(Long studentId) {
+        Roaring64Bitmap courses = new Roaring64Bitmap();
+        for (Long courseId : enrollmentRepository.findCourseIdsByStudentId(studentId)) {
+            courses.addLong(courseId);
+        }
+        courses.runOptimize();
+        return courses;
+    }
+}
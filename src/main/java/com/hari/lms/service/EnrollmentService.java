@@ -5,12 +5,15 @@ import com.hari.lms.entity.Course;
 import com.hari.lms.entity.Enrollment;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
 import com.hari.lms.exception.ResourceNotFoundException;
 import com.hari.lms.exception.UnauthorizedAccessException;
 import com.hari.lms.repository.CourseRepository;
 import com.hari.lms.repository.EnrollmentRepository;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +42,9 @@ public class EnrollmentService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Enroll a student in a course.
      */
@@ -67,6 +73,7 @@ public class EnrollmentService {
         // Create enrollment
         Enrollment enrollment = new Enrollment(currentUser, course);
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentEvent(ChangeType.CREATED, savedEnrollment));
 
         return mapToEnrollmentResponse(savedEnrollment);
     }
@@ -148,6 +155,7 @@ public class EnrollmentService {
                 .orElseThrow(() -> new RuntimeException("You are not enrolled in this course"));
 
         enrollmentRepository.delete(enrollment);
+        eventPublisher.publishEvent(new EnrollmentEvent(ChangeType.DELETED, enrollment));
     }
 
     /**
@@ -170,8 +178,10 @@ public class EnrollmentService {
             throw new RuntimeException("Progress must be between 0 and 100");
         }
 
+        Integer previousProgress = enrollment.getProgress();
         enrollment.setProgress(progress);
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentEvent(ChangeType.UPDATED, savedEnrollment, previousProgress));
 
         return mapToEnrollmentResponse(savedEnrollment);
     }
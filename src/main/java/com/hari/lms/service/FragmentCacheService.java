@@ -0,0 +1,137 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Output cache for expensive, user-independent template fragments. A
+ * fragment is rendered once per (name, ID, data version) and the HTML is
+ * reused until the version changes or the entity is modified. Disabled
+ * together with the Thymeleaf template cache so template edits show up
+ * during development.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class FragmentCacheService {
+
+    public static final String COURSE_CARD = "course-card";
+    public static final String ADMIN_COURSE_ROW = "admin-course-row";
+
+    private static final String COURSE_TEMPLATE = "fragments/courses";
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Value("${app.fragment-cache.enabled:${spring.thymeleaf.cache:true}}")
+    private boolean enabled;
+
+    private final Cache<FragmentKey, String> fragments;
+
+    public FragmentCacheService(@Value("${app.fragment-cache.max-entries:5000}") long maxEntries) {
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * Render a course card for the course catalog.
+     */
+    public String renderCourseCard(Object course, Long courseId, int index, Object version,
+            HttpServletRequest request, HttpServletResponse response) {
+        return render(COURSE_CARD, courseId, version, "courseCard",
+                Map.of("course", course, "index", index), request, response);
+    }
+
+    /**
+     * Render the details cells of a row in the admin course table.
+     */
+    public String renderAdminCourseRow(Object course, Long courseId, Object version,
+            HttpServletRequest request, HttpServletResponse response) {
+        return render(ADMIN_COURSE_ROW, courseId, version, "adminCourseCells",
+                Map.of("course", course), request, response);
+    }
+
+    /**
+     * Drop every cached fragment of a modified course.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        fragments.asMap().keySet().removeIf(key -> key.id.equals(event.getCourseId()));
+    }
+
+    /**
+     * Drop every cached fragment of the courses in a bulk change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        fragments.asMap().keySet().removeIf(key -> event.getCourseIds().contains(key.id));
+    }
+
+    private String render(String name, Long id, Object version, String fragment, Map<String, Object> variables,
+            HttpServletRequest request, HttpServletResponse response) {
+        if (!enabled) {
+            return process(fragment, variables, request, response);
+        }
+        return fragments.get(new FragmentKey(name, id, version),
+                key -> process(fragment, variables, request, response));
+    }
+
+    private String process(String fragment, Map<String, Object> variables,
+            HttpServletRequest request, HttpServletResponse response) {
+        WebContext context = new WebContext(
+                JakartaServletWebApplication.buildApplication(request.getServletContext())
+                        .buildExchange(request, response),
+                RequestContextUtils.getLocale(request), variables);
+        return templateEngine.process(COURSE_TEMPLATE, Set.of(fragment), context);
+    }
+
+    /**
+     * Cache key of a rendered fragment.
+     */
+    private static class FragmentKey {
+        private final String name;
+        private final Long id;
+        private final Object version;
+
+        FragmentKey(String name, Long id, Object version) {
+            this.name = name;
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FragmentKey)) {
+                return false;
+            }
+            FragmentKey that = (FragmentKey) o;
+            return name.equals(that.name) && id.equals(that.id) && Objects.equals(version, that.version);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, id, version);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseAnalyticsResponse;
+import com.hari.lms.dto.response.InstructorAnalyticsResponse;
+import com.hari.lms.dto.view.CourseAnalyticsView;
+import com.hari.lms.dto.view.DailyEnrollmentView;
+import com.hari.lms.entity.CourseEnrollmentDay;
+import com.hari.lms.entity.CourseStats;
+import com.hari.lms.enums.PaymentStatus;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.PaymentEvent;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.repository.CourseEnrollmentDayRepository;
+import com.hari.lms.repository.CourseStatsRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * Service for instructor analytics. Each course has a row of running totals
+ * and a row per day with enrollments, adjusted after commit by enrollment
+ * and payment events, so dashboards read one row per course instead of
+ * aggregating enrollments. A nightly recompute rebuilds all rows from the
+ * source tables, which corrects any drift, e.g. from events lost in a
+ * crash or from unenrollments, which only adjust the totals. Daily rows
+ * are only written under the lock of the course's totals row, which the
+ * recompute holds while it rebuilds a course, so event updates wait for it
+ * instead of being overwritten.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class InstructorAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstructorAnalyticsService.class);
+
+    private final CourseStatsRepository courseStatsRepository;
+    private final CourseEnrollmentDayRepository courseEnrollmentDayRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final PaymentRepository paymentRepository;
+    private final AuthService authService;
+    private final int chunkSize;
+    private final int historyDays;
+    private final TransactionTemplate transactionTemplate;
+
+    public InstructorAnalyticsService(CourseStatsRepository courseStatsRepository,
+            CourseEnrollmentDayRepository courseEnrollmentDayRepository,
+            EnrollmentRepository enrollmentRepository,
+            PaymentRepository paymentRepository,
+            AuthService authService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.course-stats.chunk-size:500}") int chunkSize,
+            @Value("${app.course-stats.history-days:365}") int historyDays) {
+        this.courseStatsRepository = courseStatsRepository;
+        this.courseEnrollmentDayRepository = courseEnrollmentDayRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.paymentRepository = paymentRepository;
+        this.authService = authService;
+        this.chunkSize = chunkSize;
+        this.historyDays = historyDays;
+        // Events are handled after the publisher's commit, so updates need a transaction of their own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the analytics of the current instructor's courses, with
+     * enrollments per day over the last given number of days.
+     */
+    public InstructorAnalyticsResponse getInstructorAnalytics(int days) {
+        Long instructorId = authService.getCurrentUserId();
+        if (instructorId == null) {
+            throw new UnauthorizedAccessException("Sign in to view analytics");
+        }
+
+        List<CourseAnalyticsView> courses = courseStatsRepository.findAnalyticsByInstructorId(instructorId);
+        List<DailyEnrollmentView> daily = courseEnrollmentDayRepository.findDailyByInstructorId(instructorId,
+                since(days));
+
+        long enrollments = 0;
+        long completed = 0;
+        double progress = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (CourseAnalyticsView course : courses) {
+            enrollments += course.getEnrollmentCount();
+            completed += course.getCompletedCount();
+            progress += course.getAverageProgress() * course.getEnrollmentCount();
+            revenue = revenue.add(course.getRevenue());
+        }
+        return new InstructorAnalyticsResponse(courses.size(), enrollments, completed,
+                enrollments > 0 ? progress / enrollments : 0,
+                enrollments > 0 ? completed * 100.0 / enrollments : 0,
+                revenue, courses, daily);
+    }
+
+    /**
+     * Get the analytics of one course. Only its instructor and admins may
+     * see them.
+     */
+    public CourseAnalyticsResponse getCourseAnalytics(Long courseId, int days) {
+        CourseAnalyticsView course = courseStatsRepository.findAnalyticsByCourseId(courseId)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", courseId));
+
+        Long userId = authService.getCurrentUserId();
+        if (!authService.isAdmin() && (userId == null || !userId.equals(course.getInstructorId()))) {
+            throw new UnauthorizedAccessException("You can only view analytics of your own courses");
+        }
+        return new CourseAnalyticsResponse(course,
+                courseEnrollmentDayRepository.findDailyByCourseId(courseId, since(days)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnrollmentEvent(EnrollmentEvent event) {
+        Long courseId = event.getCourseId();
+        int progress = event.getProgress() != null ? event.getProgress() : 0;
+        int completed = progress >= 100 ? 1 : 0;
+
+        if (event.getChangeType() == ChangeType.CREATED) {
+            addEnrollment(courseId, completed, progress, LocalDate.now());
+        } else if (event.getChangeType() == ChangeType.DELETED) {
+            addEnrollments(courseId, -1, -completed, -progress);
+        } else if (event.getPreviousProgress() != null) {
+            int previous = event.getPreviousProgress();
+            int completedDelta = completed - (previous >= 100 ? 1 : 0);
+            if (progress != previous || completedDelta != 0) {
+                addEnrollments(courseId, 0, completedDelta, progress - previous);
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPaymentEvent(PaymentEvent event) {
+        if (event.getStatus() != PaymentStatus.COMPLETED || event.getAmount() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        upsert(() -> courseStatsRepository.addRevenue(event.getCourseId(), event.getAmount(), now),
+                () -> courseStatsRepository.insert(event.getCourseId(), 0, 0, 0, event.getAmount(), now));
+    }
+
+    /**
+     * Build the totals on first start, when there are none yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (courseStatsRepository.count() == 0) {
+            recompute();
+        }
+    }
+
+    /**
+     * Rebuild all totals and daily counts from enrollments and payments,
+     * one chunk of courses per transaction.
+     */
+    @Scheduled(cron = "${app.course-stats.recompute-cron:0 30 3 * * *}")
+    public void recompute() {
+        long start = System.currentTimeMillis();
+        LocalDateTime historyStart = LocalDate.now().minusDays(historyDays - 1L).atStartOfDay();
+
+        long courses = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> courseIds = courseStatsRepository.findCourseIdsAfter(afterId, PageRequest.of(0, chunkSize));
+            if (courseIds.isEmpty()) {
+                break;
+            }
+            createMissingStats(courseIds);
+            transactionTemplate.executeWithoutResult(status -> recomputeChunk(courseIds, historyStart));
+            courses += courseIds.size();
+            afterId = courseIds.get(courseIds.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            courseStatsRepository.deleteOrphans();
+            courseEnrollmentDayRepository.deleteOrphans();
+            courseEnrollmentDayRepository.deleteExpired(historyStart.toLocalDate());
+        });
+
+        logger.info("Recomputed analytics of {} courses in {} ms", courses, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Create empty totals rows for the courses of a chunk that have none
+     * yet, so the recompute has a row to lock for each of them.
+     */
+    private void createMissingStats(List<Long> courseIds) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> existing = new HashSet<>(courseStatsRepository.findExistingIds(courseIds));
+                for (Long courseId : courseIds) {
+                    if (!existing.contains(courseId)) {
+                        courseStatsRepository.insert(courseId, 0, 0, 0, BigDecimal.ZERO, now);
+                    }
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // An event created one of them first; create the others one by one
+            for (Long courseId : courseIds) {
+                addEnrollments(courseId, 0, 0, 0);
+            }
+        }
+    }
+
+    /**
+     * Rebuild the rows of a chunk of courses. The totals rows are locked
+     * before the source tables are read, so no event update of these courses
+     * lands between the read and the write.
+     */
+    private void recomputeChunk(List<Long> courseIds, LocalDateTime historyStart) {
+        Map<Long, CourseStats> stats = new HashMap<>();
+        for (CourseStats existing : courseStatsRepository.findAllByIdForUpdate(courseIds)) {
+            stats.put(existing.getCourseId(), existing);
+        }
+        if (stats.isEmpty()) {
+            return;
+        }
+        List<Long> lockedIds = new ArrayList<>(stats.keySet());
+
+        Map<Long, Object[]> enrollments = new HashMap<>();
+        for (Object[] row : enrollmentRepository.aggregateByCourseIds(lockedIds)) {
+            enrollments.put((Long) row[0], row);
+        }
+        Map<Long, BigDecimal> revenue = new HashMap<>();
+        for (Object[] row : paymentRepository.sumRevenueByCourseIds(lockedIds)) {
+            revenue.put((Long) row[0], (BigDecimal) row[1]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CourseStats current : stats.values()) {
+            Object[] row = enrollments.get(current.getCourseId());
+            current.setEnrollmentCount(row != null ? ((Number) row[1]).longValue() : 0);
+            current.setCompletedCount(row != null ? ((Number) row[2]).longValue() : 0);
+            current.setProgressSum(row != null ? ((Number) row[3]).longValue() : 0);
+            current.setRevenue(revenue.getOrDefault(current.getCourseId(), BigDecimal.ZERO));
+            current.setUpdatedAt(now);
+        }
+
+        courseEnrollmentDayRepository.deleteByCourseIdIn(lockedIds);
+        List<CourseEnrollmentDay> days = new ArrayList<>();
+        for (Object[] row : enrollmentRepository.countByCourseIdsAndDaySince(lockedIds, historyStart)) {
+            days.add(new CourseEnrollmentDay((Long) row[0], (LocalDate) row[1], ((Number) row[2]).longValue()));
+        }
+        courseEnrollmentDayRepository.saveAll(days);
+    }
+
+    private void addEnrollments(Long courseId, long enrollments, long completed, long progress) {
+        LocalDateTime now = LocalDateTime.now();
+        upsert(() -> courseStatsRepository.addEnrollments(courseId, enrollments, completed, progress, now),
+                () -> courseStatsRepository.insert(courseId, enrollments, completed, progress, BigDecimal.ZERO, now));
+    }
+
+    /**
+     * Count a new enrollment in the totals and in its day. The day is
+     * written in the same transaction, under the lock of the totals row.
+     */
+    private void addEnrollment(Long courseId, long completed, long progress, LocalDate day) {
+        LocalDateTime now = LocalDateTime.now();
+        upsert(() -> courseStatsRepository.addEnrollments(courseId, 1, completed, progress, now),
+                () -> courseStatsRepository.insert(courseId, 1, completed, progress, BigDecimal.ZERO, now),
+                () -> {
+                    if (courseEnrollmentDayRepository.addEnrollments(courseId, day, 1) == 0) {
+                        courseEnrollmentDayRepository.insert(courseId, day, 1);
+                    }
+                });
+    }
+
+    private void upsert(IntSupplier update, IntSupplier insert) {
+        upsert(update, insert, () -> {
+        });
+    }
+
+    /**
+     * Apply a relative update, creating the row if there is none yet, then
+     * run any follow-up in the same transaction. If another request creates
+     * the row first, the insert fails and the update is retried against its
+     * row.
+     */
+    private void upsert(IntSupplier update, IntSupplier insert, Runnable then) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (update.getAsInt() == 0) {
+                    insert.getAsInt();
+                }
+                then.run();
+            });
+        } catch (DataIntegrityViolationException e) {
+            transactionTemplate.executeWithoutResult(status -> {
+                update.getAsInt();
+                then.run();
+            });
+        }
+    }
+
+    private LocalDate since(int days) {
+        return LocalDate.now().minusDays(Math.max(1, Math.min(days, historyDays)) - 1L);
+    }
+}
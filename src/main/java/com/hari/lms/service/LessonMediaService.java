@@ -0,0 +1,141 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.dto.view.LessonMediaView;
+import com.hari.lms.enums.ContentType;
+import com.hari.lms.event.CourseBatchEvent;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.LessonRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Service class for lesson media. Players fetch media in many small range
+ * requests, so the access check normally runs on cached data: the lesson's
+ * course and instructor are cached per lesson, and enrollment comes from
+ * the enrolled-course cache. That cache only sees this instance's changes
+ * until its entries expire, so a student it does not list as enrolled is
+ * checked against the database before being denied.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class LessonMediaService {
+
+    private final LessonRepository lessonRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrolledCourseCache enrolledCourseCache;
+    private final AuthService authService;
+    private final LocalMediaStore mediaStore;
+    private final Cache<Long, Optional<LessonMediaView>> lessonCache;
+
+    public LessonMediaService(LessonRepository lessonRepository,
+            EnrollmentRepository enrollmentRepository,
+            EnrolledCourseCache enrolledCourseCache,
+            AuthService authService,
+            LocalMediaStore mediaStore,
+            @Value("${app.media.max-cached-lessons:10000}") long maxCachedLessons,
+            @Value("${app.media.lesson-time-to-live:5m}") Duration timeToLive) {
+        this.lessonRepository = lessonRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrolledCourseCache = enrolledCourseCache;
+        this.authService = authService;
+        this.mediaStore = mediaStore;
+        this.lessonCache = Caffeine.newBuilder()
+                .maximumSize(maxCachedLessons)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    /**
+     * Get the stored media file of a video or PDF lesson, if the current
+     * user is allowed to see it.
+     */
+    public MediaFile getLessonMedia(Long lessonId) {
+        LessonMediaView lesson = findLesson(lessonId);
+        checkAccess(lesson);
+
+        Optional<MediaFile> file = mediaStore.find(LocalMediaStore.keyOf(lesson.getContentUrl()));
+        if (file.isEmpty()) {
+            // The media may have been replaced on another instance, which deleted the file the cached view names
+            lessonCache.invalidate(lessonId);
+            LessonMediaView current = findLesson(lessonId);
+            if (!current.getContentUrl().equals(lesson.getContentUrl())) {
+                checkAccess(current);
+                file = mediaStore.find(LocalMediaStore.keyOf(current.getContentUrl()));
+            }
+        }
+        return file.orElseThrow(() -> new ResourceNotFoundException("Lesson media", "lessonId", lessonId));
+    }
+
+    /**
+     * Drop the cached media location of a lesson after it changed.
+     */
+    public void evict(Long lessonId) {
+        lessonCache.invalidate(lessonId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseEvent(CourseEvent event) {
+        lessonCache.asMap().values().removeIf(lesson -> lesson.isPresent()
+                && lesson.get().getCourseId().equals(event.getCourseId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseBatchEvent(CourseBatchEvent event) {
+        lessonCache.asMap().values().removeIf(lesson -> lesson.isPresent()
+                && event.getCourseIds().contains(lesson.get().getCourseId()));
+    }
+
+    private LessonMediaView findLesson(Long lessonId) {
+        return lessonCache.get(lessonId, lessonRepository::findMediaViewById)
+                .filter(view -> view.getContentType() != ContentType.TEXT)
+                .filter(view -> LocalMediaStore.isStored(view.getContentUrl()))
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson media", "lessonId", lessonId));
+    }
+
+    /**
+     * Admins and the course's instructor may always access its media;
+     * students only when enrolled in a published course.
+     */
+    private void checkAccess(LessonMediaView lesson) {
+        Long userId = authService.getCurrentUserId();
+        if (userId == null) {
+            throw new UnauthorizedAccessException("Sign in to access lesson media");
+        }
+        if (authService.isAdmin() || userId.equals(lesson.getInstructorId())) {
+            return;
+        }
+        if (!authService.isStudent() || !Boolean.TRUE.equals(lesson.getCourseApproved())
+                || !isEnrolled(userId, lesson.getCourseId())) {
+            throw new UnauthorizedAccessException("You are not enrolled in this course");
+        }
+    }
+
+    /**
+     * Check enrollment in the cache, confirming a miss in the database. An
+     * enrollment the cache missed reloads the student's cached set, so the
+     * following range requests hit it again.
+     */
+    private boolean isEnrolled(Long studentId, Long courseId) {
+        if (enrolledCourseCache.isEnrolled(studentId, courseId)) {
+            return true;
+        }
+        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+            enrolledCourseCache.evict(studentId);
+            return true;
+        }
+        return false;
+    }
+}
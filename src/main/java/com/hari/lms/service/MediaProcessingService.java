@@ -0,0 +1,209 @@
+package com.hari.lms.service;
+
+import com.hari.lms.entity.Lesson;
+import com.hari.lms.entity.MediaUpload;
+import com.hari.lms.enums.UploadStatus;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.MediaFormat;
+import com.hari.lms.media.UploadPart;
+import com.hari.lms.repository.LessonRepository;
+import com.hari.lms.repository.MediaUploadRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Post-processes finished media uploads on a small executor with a bounded
+ * queue: checks the received size and, if one was declared, the SHA-256 of
+ * the whole file, detects the format from the file's leading bytes, moves
+ * the part file into the media store and points the lesson at it. Uploads that could not be queued, or whose processing was
+ * cut short by a restart, are picked up again by a periodic sweep.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class MediaProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaProcessingService.class);
+
+    @Autowired
+    private MediaUploadRepository mediaUploadRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LocalMediaStore mediaStore;
+
+    @Autowired
+    private LessonMediaService lessonMediaService;
+
+    @Value("${app.media.upload.processing-timeout:30m}")
+    private Duration processingTimeout;
+
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Counter completed;
+    private final Counter failed;
+
+    public MediaProcessingService(PlatformTransactionManager transactionManager,
+            @Value("${app.media.upload.processing-threads:2}") int threads,
+            @Value("${app.media.upload.processing-queue-capacity:100}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "media-processing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.completed = Counter.builder("lms.media.upload.processed")
+                .description("Finished media uploads by processing outcome")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("lms.media.upload.processed")
+                .description("Finished media uploads by processing outcome")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        Gauge.builder("lms.media.upload.processing.queue", executor, pool -> pool.getQueue().size())
+                .description("Finished media uploads waiting for post-processing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue a finished upload for processing. Returns false if the queue is
+     * full; the upload then stays UPLOADED until the next sweep.
+     */
+    public boolean submit(Long uploadId) {
+        try {
+            executor.execute(() -> process(uploadId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("Media processing queue is full, upload {} will be retried", uploadId);
+            return false;
+        }
+    }
+
+    /**
+     * Requeue uploads waiting for processing, and uploads stuck in
+     * processing longer than the timeout, e.g. after a restart.
+     */
+    @Scheduled(initialDelayString = "${app.media.upload.sweep-interval-ms:60000}",
+            fixedDelayString = "${app.media.upload.sweep-interval-ms:60000}")
+    public void resumePendingUploads() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest batch = PageRequest.of(0, executor.getQueue().remainingCapacity() + 1);
+
+        for (Long id : mediaUploadRepository.findIdsByStatusUpdatedBefore(UploadStatus.PROCESSING,
+                now.minus(processingTimeout), batch)) {
+            transactionTemplate.execute(status -> mediaUploadRepository.transition(id, UploadStatus.PROCESSING,
+                    UploadStatus.UPLOADED, now));
+        }
+        for (Long id : mediaUploadRepository.findIdsByStatusUpdatedBefore(UploadStatus.UPLOADED, now, batch)) {
+            if (!submit(id)) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void process(Long id) {
+        Integer claimed = transactionTemplate.execute(status -> mediaUploadRepository.transition(id,
+                UploadStatus.UPLOADED, UploadStatus.PROCESSING, LocalDateTime.now()));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+
+        Optional<MediaUpload> found = mediaUploadRepository.findWithLessonById(id);
+        if (found.isEmpty()) {
+            return;
+        }
+        MediaUpload upload = found.get();
+        Lesson lesson = upload.getLesson();
+
+        Path part = null;
+        try {
+            part = mediaStore.partPath(upload.getUploadId());
+            long size = Files.size(part);
+            if (size != upload.getTotalSize()) {
+                fail(upload, part, "Received " + size + " bytes, expected " + upload.getTotalSize());
+                return;
+            }
+            if (upload.getExpectedSha256() != null && !HexFormat.of()
+                    .formatHex(UploadPart.digest(part, size).digest()).equals(upload.getExpectedSha256())) {
+                fail(upload, part, "File checksum mismatch");
+                return;
+            }
+            Optional<MediaFormat> format = MediaFormat.detect(part);
+            if (format.isEmpty() || format.get().getContentType() != lesson.getContentType()) {
+                fail(upload, part, "File is not a supported " + lesson.getContentType() + " format");
+                return;
+            }
+
+            String key = "lessons/" + lesson.getId() + "/" + upload.getUploadId() + "." + format.get().getExtension();
+            String contentUrl = LocalMediaStore.toContentUrl(key);
+            String previousUrl = lesson.getContentUrl();
+            mediaStore.promote(part, key);
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                lessonRepository.updateContentUrl(lesson.getId(), contentUrl, now);
+                mediaUploadRepository.markCompleted(id, format.get().getMediaType(), now);
+            });
+            lessonMediaService.evict(lesson.getId());
+
+            // Streams still reading the old file keep it open until they finish. Other instances may still
+            // have the old location cached; they reload the lesson when they find the file gone
+            if (LocalMediaStore.isStored(previousUrl) && !previousUrl.equals(contentUrl)) {
+                mediaStore.delete(LocalMediaStore.keyOf(previousUrl));
+            }
+            completed.increment();
+            logger.info("Stored {} for lesson {} from upload {}", key, lesson.getId(), upload.getUploadId());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Processing of upload {} failed", upload.getUploadId(), e);
+            fail(upload, part, "Processing failed");
+        }
+    }
+
+    private void fail(MediaUpload upload, Path part, String reason) {
+        transactionTemplate.executeWithoutResult(status ->
+                mediaUploadRepository.markFailed(upload.getId(), reason, LocalDateTime.now()));
+        failed.increment();
+        try {
+            if (part != null) {
+                Files.deleteIfExists(part);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete part file of upload {}", upload.getUploadId(), e);
+        }
+    }
+}
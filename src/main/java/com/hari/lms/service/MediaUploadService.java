@@ -0,0 +1,299 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.request.MediaUploadRequest;
+import com.hari.lms.dto.response.MediaUploadResponse;
+import com.hari.lms.dto.view.LessonMediaView;
+import com.hari.lms.entity.MediaUpload;
+import com.hari.lms.enums.ContentType;
+import com.hari.lms.enums.UploadStatus;
+import com.hari.lms.exception.MediaUploadException;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.UploadPart;
+import com.hari.lms.repository.LessonRepository;
+import com.hari.lms.repository.MediaUploadRepository;
+import com.hari.lms.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class for resumable chunked uploads of lesson media. Chunks must
+ * arrive in order: each one is written at its offset into the upload's part
+ * file and the received size is advanced only once the bytes are on disk.
+ * Each chunk is checked against its own SHA-256, if given, as it arrives.
+ * Consecutive chunks may land on different instances, so the SHA-256 of the
+ * whole file is checked once, in the background, by
+ * {@link MediaProcessingService}, which finished uploads are handed to.
+ *
+ * Request threads and heap are protected by limits rather than buffering:
+ * chunks are streamed through a fixed buffer, their size is capped so a
+ * request cannot hold a thread for long, and only a fixed number of chunks
+ * are written at once; beyond that the client is asked to retry.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class MediaUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaUploadService.class);
+
+    // Statuses of expired uploads that can be removed
+    private static final EnumSet<UploadStatus> REMOVABLE =
+            EnumSet.of(UploadStatus.UPLOADING, UploadStatus.FAILED, UploadStatus.COMPLETED);
+
+    @Autowired
+    private MediaUploadRepository mediaUploadRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MediaProcessingService mediaProcessingService;
+
+    @Autowired
+    private LocalMediaStore mediaStore;
+
+    @Autowired
+    private AuthService authService;
+
+    @Value("${app.media.upload.max-chunk-size:8MB}")
+    private DataSize maxChunkSize;
+
+    @Value("${app.media.upload.max-video-size:2GB}")
+    private DataSize maxVideoSize;
+
+    @Value("${app.media.upload.max-pdf-size:100MB}")
+    private DataSize maxPdfSize;
+
+    @Value("${app.media.upload.expiration:24h}")
+    private Duration expiration;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore chunkPermits;
+
+    // Keeps two chunks of the same upload from being written at once
+    private final Map<Long, ReentrantLock> chunkLocks = new ConcurrentHashMap<>();
+
+    public MediaUploadService(PlatformTransactionManager transactionManager,
+            @Value("${app.media.upload.max-concurrent-chunks:16}") int maxConcurrentChunks) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkPermits = new Semaphore(maxConcurrentChunks);
+    }
+
+    /**
+     * Start an upload of new media for a video or PDF lesson.
+     */
+    public MediaUploadResponse createUpload(Long lessonId, MediaUploadRequest request) {
+        LessonMediaView lesson = lessonRepository.findMediaViewById(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson", "id", lessonId));
+
+        Long userId = authService.getCurrentUserId();
+        if (!authService.isAdmin() && (userId == null || !userId.equals(lesson.getInstructorId()))) {
+            throw new UnauthorizedAccessException("You can only upload media to your own lessons");
+        }
+        if (lesson.getContentType() == ContentType.TEXT) {
+            throw new MediaUploadException(HttpStatus.BAD_REQUEST, "Text lessons have no media");
+        }
+        DataSize maxSize = lesson.getContentType() == ContentType.VIDEO ? maxVideoSize : maxPdfSize;
+        if (request.getSize() > maxSize.toBytes()) {
+            throw new MediaUploadException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "File must not exceed " + maxSize.toMegabytes() + " MB");
+        }
+
+        MediaUpload upload = new MediaUpload(UUID.randomUUID().toString(),
+                lessonRepository.getReferenceById(lessonId), userRepository.getReferenceById(userId),
+                request.getFileName(), request.getSize(),
+                request.getSha256() != null ? request.getSha256().toLowerCase() : null,
+                LocalDateTime.now().plus(expiration));
+        upload = mediaUploadRepository.save(upload);
+        logger.info("Started upload {} of {} bytes for lesson {}", upload.getUploadId(), upload.getTotalSize(),
+                lessonId);
+
+        return convertToResponse(upload, lessonId);
+    }
+
+    /**
+     * Get the state of an upload, e.g. to find where to resume.
+     */
+    public MediaUploadResponse getUpload(Long lessonId, String uploadId) {
+        return convertToResponse(findOwnUpload(lessonId, uploadId), lessonId);
+    }
+
+    /**
+     * Append a chunk at the given offset, which must be the number of bytes
+     * received so far. The last chunk moves the upload on to processing.
+     *
+     * @param chunkSha256 optional hex SHA-256 of the chunk
+     */
+    public MediaUploadResponse appendChunk(Long lessonId, String uploadId, long offset, long length,
+            String chunkSha256, InputStream body) {
+        if (length < 0) {
+            throw new MediaUploadException(HttpStatus.LENGTH_REQUIRED, "Content-Length is required");
+        }
+        if (length == 0) {
+            throw new MediaUploadException(HttpStatus.BAD_REQUEST, "Chunk is empty");
+        }
+        if (length > maxChunkSize.toBytes()) {
+            throw new MediaUploadException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Chunk must not exceed " + maxChunkSize.toBytes() + " bytes");
+        }
+        if (!chunkPermits.tryAcquire()) {
+            throw new MediaUploadException(HttpStatus.SERVICE_UNAVAILABLE, "Too many uploads in progress");
+        }
+        try {
+            MediaUpload upload = findOwnUpload(lessonId, uploadId);
+            ReentrantLock lock = chunkLocks.computeIfAbsent(upload.getId(), id -> new ReentrantLock());
+            if (!lock.tryLock()) {
+                throw new MediaUploadException(HttpStatus.CONFLICT, "Another chunk of this upload is being written");
+            }
+            try {
+                return append(upload, offset, length, chunkSha256, body);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            chunkPermits.release();
+        }
+    }
+
+    /**
+     * Cancel an upload that has not been processed yet.
+     */
+    public void cancelUpload(Long lessonId, String uploadId) {
+        MediaUpload upload = findOwnUpload(lessonId, uploadId);
+        if (upload.getStatus() == UploadStatus.PROCESSING || upload.getStatus() == UploadStatus.COMPLETED) {
+            throw new MediaUploadException(HttpStatus.CONFLICT, "Upload is already " + upload.getStatus());
+        }
+        mediaUploadRepository.delete(upload);
+        discard(upload);
+    }
+
+    /**
+     * Remove expired uploads that were abandoned, failed or are long done,
+     * along with their part files.
+     */
+    @Scheduled(initialDelayString = "${app.media.upload.cleanup-interval-ms:3600000}",
+            fixedDelayString = "${app.media.upload.cleanup-interval-ms:3600000}")
+    public void removeExpiredUploads() {
+        List<MediaUpload> expired = mediaUploadRepository.findExpired(LocalDateTime.now(), REMOVABLE,
+                PageRequest.of(0, 500));
+        for (MediaUpload upload : expired) {
+            mediaUploadRepository.delete(upload);
+            discard(upload);
+        }
+        if (!expired.isEmpty()) {
+            logger.info("Removed {} expired media uploads", expired.size());
+        }
+    }
+
+    private MediaUploadResponse append(MediaUpload upload, long offset, long length,
+            String chunkSha256, InputStream body) {
+        if (upload.getStatus() != UploadStatus.UPLOADING) {
+            throw new MediaUploadException(HttpStatus.CONFLICT, "Upload is " + upload.getStatus(),
+                    upload.getReceivedSize());
+        }
+        if (upload.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new MediaUploadException(HttpStatus.GONE, "Upload has expired");
+        }
+        if (offset != upload.getReceivedSize()) {
+            throw new MediaUploadException(HttpStatus.CONFLICT,
+                    "Expected offset " + upload.getReceivedSize(), upload.getReceivedSize());
+        }
+        long received = offset + length;
+        if (received > upload.getTotalSize()) {
+            throw new MediaUploadException(HttpStatus.BAD_REQUEST,
+                    "Chunk ends past the declared size of " + upload.getTotalSize() + " bytes", offset);
+        }
+
+        byte[] chunkDigest;
+        try {
+            chunkDigest = UploadPart.write(mediaStore.partPath(upload.getUploadId()), offset, length, body);
+        } catch (IOException e) {
+            throw new MediaUploadException(HttpStatus.BAD_REQUEST, "Chunk was not received completely", offset);
+        }
+        if (chunkSha256 != null && !HexFormat.of().formatHex(chunkDigest).equalsIgnoreCase(chunkSha256)) {
+            throw new MediaUploadException(HttpStatus.BAD_REQUEST, "Chunk checksum mismatch", offset);
+        }
+
+        boolean last = received == upload.getTotalSize();
+        UploadStatus next = last ? UploadStatus.UPLOADED : UploadStatus.UPLOADING;
+        Integer updated = transactionTemplate.execute(status -> mediaUploadRepository.updateProgress(
+                upload.getId(), offset, received, next, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            throw new MediaUploadException(HttpStatus.CONFLICT, "Upload was changed by another request");
+        }
+
+        if (last) {
+            chunkLocks.remove(upload.getId());
+            mediaProcessingService.submit(upload.getId());
+        }
+
+        MediaUploadResponse response = convertToResponse(upload, upload.getLesson().getId());
+        response.setOffset(received);
+        response.setStatus(next);
+        return response;
+    }
+
+    private MediaUpload findOwnUpload(Long lessonId, String uploadId) {
+        MediaUpload upload = mediaUploadRepository.findByUploadId(uploadId)
+                .filter(found -> found.getLesson().getId().equals(lessonId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload", "uploadId", uploadId));
+
+        Long userId = authService.getCurrentUserId();
+        if (!authService.isAdmin() && (userId == null || !userId.equals(upload.getUser().getId()))) {
+            throw new UnauthorizedAccessException("You can only access your own uploads");
+        }
+        return upload;
+    }
+
+    private void discard(MediaUpload upload) {
+        chunkLocks.remove(upload.getId());
+        try {
+            Files.deleteIfExists(mediaStore.partPath(upload.getUploadId()));
+        } catch (IOException e) {
+            logger.warn("Could not delete part file of upload {}", upload.getUploadId(), e);
+        }
+    }
+
+    private MediaUploadResponse convertToResponse(MediaUpload upload, Long lessonId) {
+        MediaUploadResponse response = new MediaUploadResponse();
+        response.setUploadId(upload.getUploadId());
+        response.setLessonId(lessonId);
+        response.setFileName(upload.getFileName());
+        response.setSize(upload.getTotalSize());
+        response.setOffset(upload.getReceivedSize());
+        response.setStatus(upload.getStatus());
+        response.setMediaType(upload.getMediaType());
+        response.setFailureReason(upload.getFailureReason());
+        response.setMaxChunkSize(maxChunkSize.toBytes());
+        response.setExpiresAt(upload.getExpiresAt());
+        return response;
+    }
+}
@@ -1,10 +1,14 @@
 package com.hari.lms.service;
 
+import com.hari.lms.dto.view.PaymentReceiptView;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.Enrollment;
 import com.hari.lms.entity.Payment;
 import com.hari.lms.entity.User;
 import com.hari.lms.enums.PaymentStatus;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.PaymentEvent;
 import com.hari.lms.repository.CourseRepository;
 import com.hari.lms.repository.EnrollmentRepository;
 import com.hari.lms.repository.PaymentRepository;
@@ -12,6 +16,7 @@ import com.hari.lms.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -46,6 +51,9 @@ public class PaymentService {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a payment for course enrollment.
      */
@@ -127,7 +135,9 @@ public class PaymentService {
         }
 
         payment.setUpdatedAt(LocalDateTime.now());
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentEvent(savedPayment));
+        return savedPayment;
     }
 
     /**
@@ -142,6 +152,7 @@ public class PaymentService {
                 payment);
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentEvent(ChangeType.CREATED, savedEnrollment));
 
         // Update payment with enrollment reference
         payment.setEnrollment(savedEnrollment);
@@ -157,6 +168,14 @@ public class PaymentService {
         return paymentRepository.findById(paymentId);
     }
 
+    /**
+     * Get payment details with course and instructor for display.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaymentReceiptView> getPaymentReceipt(Long paymentId) {
+        return paymentRepository.findReceiptViewById(paymentId);
+    }
+
     /**
      * Get payment by transaction ID.
      */
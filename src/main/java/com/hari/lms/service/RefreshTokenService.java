@@ -0,0 +1,142 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.JwtResponse;
+import com.hari.lms.entity.RefreshToken;
+import com.hari.lms.entity.User;
+import com.hari.lms.exception.TokenRefreshException;
+import com.hari.lms.repository.RefreshTokenRepository;
+import com.hari.lms.repository.UserRepository;
+import com.hari.lms.security.UserDetailsImpl;
+import com.hari.lms.security.jwt.JwtUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Service class for refresh tokens. Tokens are random, stored as SHA-256
+ * hashes and rotated on every use. Presenting a token that was already used
+ * means it was stolen or replayed, so all tokens of that user are revoked.
+ *
+ * @author Hari Parthu
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Value("${jwt.refresh-expiration:2592000000}")
+    private long refreshExpirationMs;
+
+    /**
+     * Issue a new refresh token for a user and return its raw value.
+     */
+    public String issue(Long userId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        User user = userRepository.getReferenceById(userId);
+        refreshTokenRepository.save(new RefreshToken(hash(token), user,
+                LocalDateTime.now().plus(Duration.ofMillis(refreshExpirationMs))));
+        return token;
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and refresh token.
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public JwtResponse refresh(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findWithUserByTokenHash(hash(token))
+                .orElseThrow(() -> new TokenRefreshException("Invalid refresh token"));
+        User user = refreshToken.getUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (refreshToken.getUsedAt() != null || refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            logger.warn("Reuse of refresh token detected for user {}, revoking all tokens", user.getId());
+            revokeAll(user.getId());
+            throw new TokenRefreshException("Refresh token has already been used");
+        }
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new TokenRefreshException("Refresh token has expired");
+        }
+        if (!Boolean.TRUE.equals(user.getEnabled())) {
+            revokeAll(user.getId());
+            throw new TokenRefreshException("User account is disabled");
+        }
+
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return new JwtResponse(jwtUtils.generateAccessToken(userDetails), issue(user.getId()),
+                jwtUtils.getJwtExpirationMs() / 1000, user.getId(), user.getUsername(), user.getEmail(), roles);
+    }
+
+    /**
+     * Delete a refresh token, e.g. on logout. Unknown tokens are ignored.
+     */
+    public void revoke(String token) {
+        refreshTokenRepository.deleteByTokenHash(hash(token));
+    }
+
+    /**
+     * Delete all refresh tokens of a user and revoke their access tokens.
+     */
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        tokenRevocationService.revokeUser(userId);
+    }
+
+    /**
+     * Remove expired tokens, including used ones kept for reuse detection.
+     */
+    @Scheduled(initialDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}",
+            fixedDelayString = "${jwt.refresh-cleanup-interval-ms:3600000}")
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.hari.lms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.UserBatchEvent;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * In-memory revocation list for access tokens, consulted on every request
+ * without touching the database. Holds single revoked token IDs (logout) and
+ * per-user cut-off times (disable, role change, delete): a token of the user
+ * issued at or before the cut-off second is rejected. Entries are kept only
+ * as long as an access token lives, so the list stays small.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class TokenRevocationService {
+
+    private final Cache<String, Boolean> revokedTokenIds;
+    private final Cache<Long, Long> userCutoffs;
+
+    public TokenRevocationService(JwtUtils jwtUtils) {
+        Duration lifetime = Duration.ofMillis(jwtUtils.getJwtExpirationMs());
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfterWrite(lifetime)
+                .build();
+        this.userCutoffs = Caffeine.newBuilder()
+                .expireAfterWrite(lifetime)
+                .build();
+    }
+
+    /**
+     * Check whether a token has been revoked.
+     */
+    public boolean isRevoked(Claims claims, Long userId) {
+        if (claims.getId() != null && revokedTokenIds.getIfPresent(claims.getId()) != null) {
+            return true;
+        }
+        Long cutoff = userCutoffs.getIfPresent(userId);
+        Date issuedAt = claims.getIssuedAt();
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() / 1000 <= cutoff);
+    }
+
+    /**
+     * Revoke a single access token by its ID.
+     */
+    public void revokeToken(String tokenId) {
+        revokedTokenIds.put(tokenId, Boolean.TRUE);
+    }
+
+    /**
+     * Revoke every access token issued to a user so far.
+     */
+    public void revokeUser(Long userId) {
+        userCutoffs.put(userId, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Admin changes to a user (enable/disable, role, password, delete) make
+     * the claims of their tokens stale, so all of them are revoked.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getChangeType() != ChangeType.CREATED) {
+            revokeUser(event.getUserId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserBatchEvent(UserBatchEvent event) {
+        event.getUserIds().forEach(this::revokeUser);
+    }
+}
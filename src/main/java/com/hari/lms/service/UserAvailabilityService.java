@@ -0,0 +1,174 @@
+package com.hari.lms.service;
+
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.repository.UserRepository;
+import com.hari.lms.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Answers username and email availability checks from Bloom filters of the
+ * existing values. A miss means the value is free without touching the
+ * database; only probable hits are confirmed with an indexed lookup. The
+ * filters are built at startup, updated on registration and email change,
+ * and rebuilt periodically so deleted users stop producing false positives
+ * and the filters grow with the user count. Until the first build completes
+ * every check goes to the database.
+ *
+ * @author Hari Parthu
+ */
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    private static final int LOAD_CHUNK_SIZE = 10000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.user-availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${app.user-availability.min-capacity:100000}")
+    private long minCapacity;
+
+    private final Counter filteredChecks;
+    private final Counter confirmedChecks;
+
+    private final Object lock = new Object();
+    private volatile Filters current;
+    private Filters building;
+
+    public UserAvailabilityService(MeterRegistry meterRegistry) {
+        this.filteredChecks = Counter.builder("lms.availability.checks")
+                .description("Username/email availability checks")
+                .tag("result", "filtered")
+                .register(meterRegistry);
+        this.confirmedChecks = Counter.builder("lms.availability.checks")
+                .description("Username/email availability checks")
+                .tag("result", "db")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check if a username is taken.
+     */
+    public boolean usernameExists(String username) {
+        Filters filters = current;
+        return check(filters != null ? filters.usernames : null, username, userRepository::existsByUsername);
+    }
+
+    /**
+     * Check if an email is taken.
+     */
+    public boolean emailExists(String email) {
+        Filters filters = current;
+        return check(filters != null ? filters.emails : null, email, userRepository::existsByEmail);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the filters from the users table, sized for the current count.
+     * Registrations during the rebuild go to both the old and new filters.
+     */
+    @Scheduled(initialDelayString = "${app.user-availability.rebuild-interval-ms:21600000}",
+            fixedDelayString = "${app.user-availability.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long capacity = Math.max(minCapacity, userRepository.count() * 2);
+        Filters filters = new Filters(capacity, falsePositiveRate);
+        synchronized (lock) {
+            building = filters;
+        }
+
+        long loaded = 0;
+        Long afterId = 0L;
+        List<Object[]> chunk;
+        do {
+            chunk = userRepository.findIdentitiesAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            for (Object[] row : chunk) {
+                filters.add((String) row[1], (String) row[2]);
+                afterId = (Long) row[0];
+            }
+            loaded += chunk.size();
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+
+        synchronized (lock) {
+            current = filters;
+            building = null;
+        }
+        logger.info("Built username/email Bloom filters for {} users ({} bits, {} hashes) in {} ms", loaded,
+                filters.usernames.getBitSize(), filters.usernames.getHashCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add new usernames and changed emails. Deleted users stay in the filters
+     * until the next rebuild; their checks are answered by the database.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            return;
+        }
+        synchronized (lock) {
+            if (current != null) {
+                current.add(event.getUsername(), event.getEmail());
+            }
+            if (building != null) {
+                building.add(event.getUsername(), event.getEmail());
+            }
+        }
+    }
+
+    private boolean check(BloomFilter filter, String value, Predicate<String> lookup) {
+        if (filter != null && !filter.mightContain(value)) {
+            filteredChecks.increment();
+            return false;
+        }
+        confirmedChecks.increment();
+        return lookup.test(value);
+    }
+
+    /**
+     * Username and email filters built together.
+     */
+    private static class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        void add(String username, String email) {
+            if (username != null) {
+                usernames.put(username);
+            }
+            if (email != null) {
+                emails.put(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.hari.lms.session;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Serializes session attributes for the session store. Values are written
+ * with Java serialization; those larger than a threshold, typically the
+ * security context with its class descriptors, are deflated. The first byte
+ * records which form follows, so both forms can be read back.
+ *
+ * @author Hari Parthu
+ */
+public class CompactSessionSerializer {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final int compressionThreshold;
+    private final ClassLoader classLoader;
+
+    public CompactSessionSerializer(int compressionThreshold, ClassLoader classLoader) {
+        this.compressionThreshold = compressionThreshold;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Serialize an attribute value.
+     */
+    public byte[] serialize(Object value) {
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(256);
+            raw.write(RAW);
+            try (ObjectOutputStream out = new ObjectOutputStream(raw)) {
+                out.writeObject(value);
+            }
+            if (raw.size() <= compressionThreshold) {
+                return raw.toByteArray();
+            }
+
+            byte[] serialized = raw.toByteArray();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(serialized.length / 2);
+            deflated.write(DEFLATED);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+                out.write(serialized, 1, serialized.length - 1);
+            } finally {
+                deflater.end();
+            }
+            return deflated.size() < serialized.length ? deflated.toByteArray() : serialized;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot serialize session attribute of type "
+                    + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Deserialize an attribute value written by {@link #serialize(Object)}.
+     */
+    public Object deserialize(byte[] bytes) {
+        InputStream input = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        if (bytes[0] == DEFLATED) {
+            input = new InflaterInputStream(input);
+        } else if (bytes[0] != RAW) {
+            throw new IllegalArgumentException("Unknown session attribute format " + bytes[0]);
+        }
+
+        try (ObjectInputStream in = new ConfigurableObjectInputStream(input, classLoader)) {
+            return in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot deserialize session attribute", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Cannot deserialize session attribute", e);
+        }
+    }
+}
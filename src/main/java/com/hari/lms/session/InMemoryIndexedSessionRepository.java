@@ -0,0 +1,88 @@
+package com.hari.lms.session;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session store kept in this JVM, for tests and single-instance development.
+ * Unlike {@link MapSessionRepository} it can find sessions by principal
+ * name, which the concurrent session limit needs. Lookups by principal scan
+ * all sessions, so it is not meant for production.
+ *
+ * @author Hari Parthu
+ */
+public class InMemoryIndexedSessionRepository implements FindByIndexNameSessionRepository<MapSession> {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final MapSessionRepository delegate = new MapSessionRepository(sessions);
+    private final Duration maxInactiveInterval;
+
+    public InMemoryIndexedSessionRepository(Duration maxInactiveInterval) {
+        this.maxInactiveInterval = maxInactiveInterval;
+    }
+
+    @Override
+    public MapSession createSession() {
+        MapSession session = delegate.createSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return session;
+    }
+
+    @Override
+    public void save(MapSession session) {
+        delegate.save(session);
+    }
+
+    @Override
+    public MapSession findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, MapSession> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Map.of();
+        }
+
+        Map<String, MapSession> matches = new HashMap<>();
+        sessions.values().removeIf(Session::isExpired);
+        for (Session session : sessions.values()) {
+            if (indexValue.equals(principalName(session))) {
+                matches.put(session.getId(), new MapSession(session));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Principal of a session: the explicit index attribute if set, otherwise
+     * the name of the authenticated user in the security context.
+     */
+    private static String principalName(Session session) {
+        String name = session.getAttribute(PRINCIPAL_NAME_INDEX_NAME);
+        if (name != null) {
+            return name;
+        }
+        Object context = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        if (context instanceof SecurityContext securityContext) {
+            Authentication authentication = securityContext.getAuthentication();
+            return authentication != null ? authentication.getName() : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.hari.lms.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to int values. Avoids
+ * boxing and per-entry objects for large counting workloads such as
+ * co-occurrence matrices. Not thread-safe.
+ *
+ * @author Hari Parthu
+ */
+public class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    // The sentinel key 0 is stored outside the table
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Get the value for a key, or {@code defaultValue} if absent.
+     */
+    public int get(long key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[indexOf(key)] == key;
+    }
+
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] != key) {
+            keys[index] = key;
+            size++;
+            values[index] = value;
+            ensureCapacity();
+            return;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Add {@code delta} to the value for a key (starting from 0) and return
+     * the new value.
+     */
+    public int addTo(long key, int delta) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue += delta;
+            return zeroValue;
+        }
+
+        int index = indexOf(key);
+        if (keys[index] != key) {
+            keys[index] = key;
+            values[index] = delta;
+            size++;
+            ensureCapacity();
+            return delta;
+        }
+        values[index] += delta;
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Call the consumer for every entry.
+     */
+    public void forEach(LongIntConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        hasZeroKey = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    /**
+     * Find the slot holding the key, or the empty slot where it belongs.
+     */
+    private int indexOf(long key) {
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void ensureCapacity() {
+        if (size <= keys.length * LOAD_FACTOR) {
+            return;
+        }
+
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Consumer of primitive long/int entries.
+     */
+    @FunctionalInterface
+    public interface LongIntConsumer {
+        void accept(long key, int value);
+    }
+}
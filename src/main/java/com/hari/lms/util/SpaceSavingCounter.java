@@ -0,0 +1,156 @@
+package com.hari.lms.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters counter (Metwally et al.). Tracks at most
+ * {@code capacity} keys; when full, a new key replaces the key with the
+ * smallest count and inherits that count as its error bound. Any key whose
+ * true count exceeds total / capacity is guaranteed to be tracked.
+ * Not thread-safe.
+ *
+ * @author Hari Parthu
+ */
+public class SpaceSavingCounter {
+
+    private final int capacity;
+    private final Map<Long, Entry> entries;
+    private final TreeSet<Entry> ordered = new TreeSet<>((a, b) -> a.count != b.count
+            ? Long.compare(a.count, b.count)
+            : Long.compare(a.key, b.key));
+
+    public SpaceSavingCounter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Add {@code delta} occurrences of a key.
+     */
+    public void increment(long key, long delta) {
+        if (delta <= 0) {
+            return;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            ordered.remove(entry);
+            entry.count += delta;
+            ordered.add(entry);
+            return;
+        }
+
+        if (entries.size() < capacity) {
+            entry = new Entry(key, delta, 0);
+        } else {
+            Entry min = ordered.pollFirst();
+            entries.remove(min.key);
+            entry = new Entry(key, min.count + delta, min.count);
+        }
+        entries.put(key, entry);
+        ordered.add(entry);
+    }
+
+    /**
+     * Remove one occurrence of a tracked key. Untracked keys are ignored.
+     */
+    public void decrement(long key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+
+        ordered.remove(entry);
+        entry.count = Math.max(0, entry.count - 1);
+        entry.error = Math.min(entry.error, entry.count);
+        ordered.add(entry);
+    }
+
+    /**
+     * Stop tracking a key.
+     */
+    public void remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            ordered.remove(entry);
+        }
+    }
+
+    /**
+     * Get the estimated count for a key, or 0 if it is not tracked.
+     */
+    public long estimate(long key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.count : 0;
+    }
+
+    /**
+     * Get the {@code k} keys with the highest counts, highest first.
+     */
+    public List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, entries.size()));
+        for (Entry entry : ordered.descendingSet()) {
+            if (result.size() >= k) {
+                break;
+            }
+            result.add(new Entry(entry.key, entry.count, entry.error));
+        }
+        return result;
+    }
+
+    /**
+     * Add every tracked count to the given map.
+     */
+    public void addTo(Map<Long, Long> counts) {
+        for (Entry entry : entries.values()) {
+            counts.merge(entry.key, entry.count, Long::sum);
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        ordered.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * A tracked key with its estimated count and maximum overestimation.
+     */
+    public static class Entry {
+        private final long key;
+        private long count;
+        private long error;
+
+        Entry(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
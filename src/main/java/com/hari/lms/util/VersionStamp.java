@@ -0,0 +1,52 @@
+package com.hari.lms.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds ETags from data version stamps (row counts, last modified
+ * timestamps, request parameters) instead of hashing the rendered body, so a
+ * conditional GET can be answered before any data is loaded or rendered.
+ *
+ * The tags are weak: they identify a version of the data rather than exact
+ * bytes, and Tomcat will not gzip responses carrying a strong ETag.
+ *
+ * @author Hari Parthu
+ */
+public final class VersionStamp {
+
+    private final StringBuilder parts = new StringBuilder();
+
+    private VersionStamp() {
+    }
+
+    /**
+     * Start a stamp from the given parts.
+     */
+    public static VersionStamp of(Object... parts) {
+        return new VersionStamp().and(parts);
+    }
+
+    /**
+     * Add parts to the stamp. Parts are compared by their string form.
+     */
+    public VersionStamp and(Object... values) {
+        for (Object value : values) {
+            parts.append(value).append('|');
+        }
+        return this;
+    }
+
+    /**
+     * Get the stamp as a weak ETag value.
+     */
+    public String toETag() {
+        return "W/\"" + DigestUtils.md5DigestAsHex(parts.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @Override
+    public String toString() {
+        return toETag();
+    }
+}
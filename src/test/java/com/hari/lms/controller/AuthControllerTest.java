@@ -60,6 +60,7 @@ public class AuthControllerTest {
         signupRequest = new SignupRequest();
         signupRequest.setUsername("newuser");
         signupRequest.setEmail("newuser@test.com");
+        signupRequest.setFullName("New User");
         signupRequest.setPassword("password123");
         signupRequest.setRole(Role.STUDENT);
 
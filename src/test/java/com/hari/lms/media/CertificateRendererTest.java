@@ -0,0 +1,57 @@
+package com.hari.lms.media;
+
+import com.hari.lms.dto.view.CertificateDataView;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CertificateRenderer.
+ *
+ * @author Hari Parthu
+ */
+class CertificateRendererTest {
+
+    private final CertificateRenderer renderer = new CertificateRenderer();
+
+    @Test
+    void render_ProducesPng() throws Exception {
+        byte[] png = renderer.render(certificate(1L, "Jane Student"));
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image);
+        assertEquals(1600, image.getWidth());
+        assertEquals(1131, image.getHeight());
+    }
+
+    @Test
+    void render_SameCertificate_SameBytes() throws Exception {
+        assertArrayEquals(renderer.render(certificate(1L, "Jane Student")),
+                renderer.render(certificate(1L, "Jane Student")));
+    }
+
+    @Test
+    void render_DifferentCertificates_DifferentBytes() throws Exception {
+        assertFalse(Arrays.equals(renderer.render(certificate(1L, "Jane Student")),
+                renderer.render(certificate(2L, "Jane Student"))));
+    }
+
+    @Test
+    void render_LongTitle_Fits() throws Exception {
+        CertificateDataView certificate = certificate(3L, "Jane Student");
+        certificate.setCourseTitle("A Very Long Course Title ".repeat(10));
+
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(renderer.render(certificate))));
+    }
+
+    private static CertificateDataView certificate(Long id, String studentName) {
+        return new CertificateDataView(id, 1, studentName, "Spring Boot Fundamentals", "John Instructor",
+                LocalDateTime.of(2024, 3, 15, 10, 30));
+    }
+}
@@ -0,0 +1,150 @@
+package com.hari.lms.media;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MediaFileSender.
+ *
+ * @author Hari Parthu
+ */
+class MediaFileSenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MediaFileSender sender;
+    private MediaFile file;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sender = new MediaFileSender(DataSize.ofKilobytes(48), meterRegistry);
+        content = new byte[100_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path path = Files.write(tempDir.resolve("lesson.mp4"), content);
+        file = new MediaFile(path, content.length, 1_700_000_000_000L, MediaType.parseMediaType("video/mp4"));
+    }
+
+    @Test
+    void send_WholeFile() throws Exception {
+        MockHttpServletResponse response = send(request());
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertEquals("video/mp4", response.getContentType());
+        assertEquals(content.length, response.getContentLengthLong());
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_ByteRange() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("Range", "bytes=1000-1999");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1000-1999/100000", response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 2000), response.getContentAsByteArray());
+    }
+
+    @Test
+    void send_SuffixAndOpenEndedRanges() throws Exception {
+        MockHttpServletRequest suffix = request();
+        suffix.addHeader("Range", "bytes=-500");
+        MockHttpServletRequest openEnded = request();
+        openEnded.addHeader("Range", "bytes=99900-");
+
+        assertEquals("bytes 99500-99999/100000", send(suffix).getHeader("Content-Range"));
+        MockHttpServletResponse response = send(openEnded);
+        assertEquals("bytes 99900-99999/100000", response.getHeader("Content-Range"));
+        assertEquals(100, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_UnsatisfiableRange() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("Range", "bytes=200000-");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */100000", response.getHeader("Content-Range"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_StaleIfRange_ReturnsWholeFile() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"outdated\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(content.length, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void send_MatchingIfRange_ReturnsRange() throws Exception {
+        MockHttpServletRequest request = request();
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", file.getETag());
+
+        assertEquals(206, send(request).getStatus());
+    }
+
+    @Test
+    void send_HandsLargeBodyToSendfile() throws Exception {
+        MockHttpServletRequest request = request();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=0-59999");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(60000, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(file.getPath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(60000L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(60000.0, meterRegistry.get("lms.media.sent").tag("mode", "sendfile").counter().count());
+    }
+
+    @Test
+    void send_Head_WritesNoBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/lessons/1/media");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(content.length, response.getContentLengthLong());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/lessons/1/media");
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(request, response, file);
+        return response;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hari.lms.media;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UploadPart and MediaFormat.
+ *
+ * @author Hari Parthu
+ */
+class UploadPartTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path part;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        part = tempDir.resolve("upload.part");
+        content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+    }
+
+    @Test
+    void write_ChunksInOrder_AssembleFileAndDigestChunks() throws Exception {
+        byte[] first = UploadPart.write(part, 0, 70_000, chunk(0, 70_000));
+        byte[] second = UploadPart.write(part, 70_000, 130_000, chunk(70_000, 200_000));
+
+        assertArrayEquals(content, Files.readAllBytes(part));
+        assertArrayEquals(sha256(Arrays.copyOfRange(content, 0, 70_000)), first);
+        assertArrayEquals(sha256(Arrays.copyOfRange(content, 70_000, 200_000)), second);
+    }
+
+    @Test
+    void write_ShortBody_ThrowsEOFException() {
+        assertThrows(EOFException.class,
+                () -> UploadPart.write(part, 0, 1000, chunk(0, 500)));
+    }
+
+    @Test
+    void write_LongBody_ThrowsIOException() {
+        assertThrows(IOException.class,
+                () -> UploadPart.write(part, 0, 500, chunk(0, 1000)));
+    }
+
+    @Test
+    void digest_HashesWholeFileFromDisk() throws Exception {
+        UploadPart.write(part, 0, 120_000, chunk(0, 120_000));
+        UploadPart.write(part, 120_000, 80_000, chunk(120_000, 200_000));
+
+        assertArrayEquals(sha256(content), UploadPart.digest(part, 200_000).digest());
+    }
+
+    @Test
+    void detect_RecognisesFormatsByLeadingBytes() throws Exception {
+        Path mp4 = Files.write(tempDir.resolve("a"), new byte[] {0, 0, 0, 32, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'});
+        Path webm = Files.write(tempDir.resolve("b"), new byte[] {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3, 1});
+        Path pdf = Files.write(tempDir.resolve("c"), "%PDF-1.7".getBytes(StandardCharsets.US_ASCII));
+        Path text = Files.write(tempDir.resolve("d"), "hello".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(Optional.of(MediaFormat.MP4), MediaFormat.detect(mp4));
+        assertEquals(Optional.of(MediaFormat.WEBM), MediaFormat.detect(webm));
+        assertEquals(Optional.of(MediaFormat.PDF), MediaFormat.detect(pdf));
+        assertEquals(Optional.empty(), MediaFormat.detect(text));
+    }
+
+    private ByteArrayInputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private static byte[] sha256(byte[] data) {
+        return UploadPart.sha256().digest(data);
+    }
+}
@@ -0,0 +1,101 @@
+package com.hari.lms.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryMetricsFilter and QueryStatsListener.
+ *
+ * @author Hari Parthu
+ */
+class QueryMetricsFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private QueryMetricsFilter filter;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "sa", "");
+        QueryStatsListener listener = new QueryStatsListener();
+        jdbcTemplate = new JdbcTemplate(ProxyDataSourceBuilder.create(dataSource)
+                .listener(listener)
+                .methodListener(listener)
+                .proxyResultSet()
+                .build());
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR(20))");
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryMetricsFilter(meterRegistry, 20);
+    }
+
+    @Test
+    void doFilter_CountsStatementsAndRows_TaggedByHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(this, getClass().getDeclaredMethod("listItems")));
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain(() -> {
+            jdbcTemplate.update("INSERT INTO items VALUES (1, 'a'), (2, 'b'), (3, 'c')");
+            List<String> names = jdbcTemplate.queryForList("SELECT name FROM items", String.class);
+            assertEquals(3, names.size());
+        }));
+
+        String handler = "QueryMetricsFilterTest#listItems";
+        assertEquals(2, meterRegistry.get("lms.request.db.statements").tag("handler", handler).summary().totalAmount());
+        assertEquals(6, meterRegistry.get("lms.request.db.rows").tag("handler", handler).summary().totalAmount());
+        assertEquals(1, meterRegistry.get("lms.request.db.time").tag("handler", handler).timer().count());
+    }
+
+    @Test
+    void doFilter_Batch_CountsEachStatement() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("POST", "/items"), new MockHttpServletResponse(), chain(() ->
+                jdbcTemplate.batchUpdate("INSERT INTO items VALUES (?, ?)",
+                        List.of(new Object[] {1L, "a"}, new Object[] {2L, "b"}))));
+
+        assertEquals(2, meterRegistry.get("lms.request.db.statements").tag("handler", "none").summary().totalAmount());
+        assertEquals(2, meterRegistry.get("lms.request.db.rows").tag("handler", "none").summary().totalAmount());
+    }
+
+    @Test
+    void doFilter_NoHandlerAndNoStatements_RecordsNothing() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/css/app.css"), new MockHttpServletResponse(),
+                chain(() -> {
+                }));
+
+        assertNull(meterRegistry.find("lms.request.db.statements").summary());
+    }
+
+    @Test
+    void statementsOutsideRequest_NotCounted() {
+        jdbcTemplate.update("INSERT INTO items VALUES (1, 'a')");
+
+        assertNull(RequestQueryStats.current());
+        assertNull(meterRegistry.find("lms.request.db.statements").summary());
+    }
+
+    @SuppressWarnings("unused")
+    private void listItems() {
+    }
+
+    private static FilterChain chain(Runnable body) {
+        return (request, response) -> body.run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.hari.lms.security;
+
+import com.hari.lms.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedPasswordEncoder.
+ *
+ * @author Hari Parthu
+ */
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_DelegateToBCrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 8, Duration.ofSeconds(5),
+                meterRegistry);
+
+        String hash = encoder.encode("secret123");
+
+        assertTrue(encoder.matches("secret123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+        assertEquals(1, meterRegistry.get("lms.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("lms.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void upgradeEncoding_TrueForWeakerHash() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), 1, 8, Duration.ofSeconds(5),
+                meterRegistry);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret123")));
+        assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret123")));
+    }
+
+    @Test
+    void encode_RejectedWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, Duration.ofSeconds(5),
+                meterRegistry);
+
+        // One operation running, one queued
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (meterRegistry.get("lms.password.hash.queue").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("c"));
+        assertEquals(1.0, meterRegistry.get("lms.password.hash.rejected").counter().count());
+        assertFalse(encoder.upgradeEncoding("{hash}a"));
+
+        release.countDown();
+        assertEquals("{hash}a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{hash}b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_RejectedWhenTimedOut() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), new CountDownLatch(1)), 1, 1,
+                Duration.ofMillis(50), meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.matches("a", "{hash}a"));
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                await(release);
+                return "{hash}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                await(release);
+                return encodedPassword.equals("{hash}" + rawPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return true;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hari.lms.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InMemoryRateLimiter.
+ *
+ * @author Hari Parthu
+ */
+class InMemoryRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(1000, Duration.ofMinutes(15), now::get);
+    private final RateLimit limit = new RateLimit("test", 3, Duration.ofSeconds(10));
+
+    @Test
+    void tryAcquire_AllowsBurstUpToCapacity() {
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", limit));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", limit));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", limit));
+
+        assertEquals(10_000, rateLimiter.tryAcquire("ip:1", limit));
+    }
+
+    @Test
+    void tryAcquire_RefillsOneTokenPerPeriod() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", limit);
+        }
+
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(6_000, rateLimiter.tryAcquire("ip:1", limit));
+
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+        assertEquals(0, rateLimiter.tryAcquire("ip:1", limit));
+        assertTrue(rateLimiter.tryAcquire("ip:1", limit) > 0);
+    }
+
+    @Test
+    void tryAcquire_IdleBucketRefillsToCapacityOnly() {
+        now.addAndGet(Duration.ofHours(1).toNanos());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("ip:1", limit));
+        }
+        assertTrue(rateLimiter.tryAcquire("ip:1", limit) > 0);
+    }
+
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("ip:1", limit);
+        }
+
+        assertTrue(rateLimiter.tryAcquire("ip:1", limit) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("ip:2", limit));
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersNeverExceedCapacity() throws Exception {
+        RateLimit burst = new RateLimit("burst", 500, Duration.ofMinutes(1));
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (rateLimiter.tryAcquire("user:alice", burst) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(500, allowed.get());
+    }
+
+    @Test
+    void rateLimit_RejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit("x", 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit("x", 1, Duration.ZERO));
+    }
+}
@@ -0,0 +1,121 @@
+package com.hari.lms.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoginRateLimitFilter.
+ *
+ * @author Hari Parthu
+ */
+class LoginRateLimitFilterTest {
+
+    private MeterRegistry meterRegistry;
+    private LoginRateLimitFilter filter;
+    private List<String> forwardedBodies;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new LoginRateLimitFilter(new InMemoryRateLimiter(1000, Duration.ofMinutes(15)),
+                new RateLimit("login-ip", 100, Duration.ofSeconds(1)),
+                new RateLimit("login-username", 1, Duration.ofMinutes(1)),
+                new RateLimit("signup-ip", 100, Duration.ofSeconds(1)),
+                new ObjectMapper(), meterRegistry);
+        forwardedBodies = new ArrayList<>();
+    }
+
+    @Test
+    void constructor_RegistersRejectionCounters() {
+        assertEquals(3, meterRegistry.find("lms.ratelimit.rejected").counters().size());
+    }
+
+    @Test
+    void signin_ChunkedBody_LimitsUsernameAndReplaysBody() throws Exception {
+        String body = "{\"username\":\"Student\",\"password\":\"secret\"}";
+
+        MockHttpServletResponse first = signin(chunked(body));
+        MockHttpServletResponse second = signin(chunked(body.replace("Student", "student")));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(List.of(body), forwardedBodies);
+        assertEquals(429, second.getStatus());
+        assertNotNull(second.getHeader("Retry-After"));
+        assertEquals(1, meterRegistry.get("lms.ratelimit.rejected").tag("limit", "login-username").counter().count());
+    }
+
+    @Test
+    void signin_BodyOverLimit_RejectedWith413() throws Exception {
+        MockHttpServletResponse response = signin(chunked("{\"username\":\"" + "x".repeat(20_000) + "\"}"));
+
+        assertEquals(413, response.getStatus());
+        assertTrue(forwardedBodies.isEmpty());
+    }
+
+    @Test
+    void signin_CachedBody_NotifiesReadListener() throws Exception {
+        AtomicInteger allDataRead = new AtomicInteger();
+        filter.doFilter(chunked("{\"username\":\"student\"}"), new MockHttpServletResponse(), (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    input.readAllBytes();
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    fail(t);
+                }
+            });
+        });
+
+        assertEquals(1, allDataRead.get());
+    }
+
+    private MockHttpServletResponse signin(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (servletRequest, servletResponse) -> forwardedBodies.add(
+                new String(servletRequest.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /**
+     * Sign-in request without a declared content length, as sent with
+     * chunked transfer encoding.
+     */
+    private static MockHttpServletRequest chunked(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/signin") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.entity.Course;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AdminStatsService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class AdminStatsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @InjectMocks
+    private AdminStatsService adminStatsService;
+
+    private Enrollment enrollment;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.countByRole(any(Role.class))).thenReturn(2L);
+        when(courseRepository.countByIsApproved(false)).thenReturn(1L);
+        when(courseRepository.findCourseEnrollmentStats()).thenReturn(List.of(
+                new CourseEnrollmentStats(10L, "Java", "Instructor One", 4L)));
+
+        User student = new User("student1", "student1@test.com", "Student One", "password", Role.STUDENT);
+        student.setId(3L);
+        Course course = new Course();
+        course.setId(10L);
+        enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+    }
+
+    @Test
+    void recompute_InstallsDatabaseCounts() {
+        when(enrollmentRepository.count()).thenReturn(4L);
+
+        adminStatsService.recompute();
+
+        AdminStatsService.AdminStats stats = adminStatsService.getSnapshot();
+        assertEquals(2L * Role.values().length, stats.getTotalUsers());
+        assertEquals(1, stats.getTotalCourses());
+        assertEquals(1, stats.getPendingCourses());
+        assertEquals(4, stats.getTotalEnrollments());
+    }
+
+    @Test
+    void recompute_EventDuringRead_ReadsAgain() {
+        when(enrollmentRepository.count())
+                .thenAnswer(invocation -> {
+                    // Commits while the counts are being read; the count may or may not include it
+                    adminStatsService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, enrollment));
+                    return 4L;
+                })
+                .thenReturn(5L);
+
+        adminStatsService.recompute();
+
+        assertEquals(5, adminStatsService.getSnapshot().getTotalEnrollments());
+        verify(enrollmentRepository, times(2)).count();
+    }
+
+    @Test
+    void recompute_ContinuousEvents_KeepsEventCounters() {
+        adminStatsService.recompute();
+        long before = adminStatsService.getSnapshot().getTotalEnrollments();
+
+        when(enrollmentRepository.count()).thenAnswer(invocation -> {
+            adminStatsService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, enrollment));
+            return 100L;
+        });
+        adminStatsService.recompute();
+
+        assertEquals(before + 3, adminStatsService.getSnapshot().getTotalEnrollments());
+    }
+}
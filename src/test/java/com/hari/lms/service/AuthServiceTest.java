@@ -0,0 +1,102 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.request.SignupRequest;
+import com.hari.lms.dto.response.UserResponse;
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthService registration.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder encoder;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserAvailabilityService userAvailabilityService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private SignupRequest signupRequest;
+
+    @BeforeEach
+    void setUp() {
+        signupRequest = new SignupRequest();
+        signupRequest.setUsername("newuser");
+        signupRequest.setEmail("newuser@test.com");
+        signupRequest.setFullName("New User");
+        signupRequest.setPassword("password123");
+        signupRequest.setRole(Role.STUDENT);
+    }
+
+    @Test
+    void registerUser_UsernameTakenOnAnotherInstance_ChecksDatabase() {
+        // The local filters have not seen the user; the database has
+        when(userRepository.existsByUsername("newuser")).thenReturn(true);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.registerUser(signupRequest));
+
+        assertEquals("Error: Username is already taken!", exception.getMessage());
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(userAvailabilityService);
+    }
+
+    @Test
+    void registerUser_ConcurrentRegistration_MapsConstraintViolation() {
+        when(encoder.encode("password123")).thenReturn("hash");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("unique constraint"));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> authService.registerUser(signupRequest));
+
+        assertEquals("Error: Username or email is already taken!", exception.getMessage());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void registerUser_Available_SavesAndPublishesEvent() {
+        when(encoder.encode("password123")).thenReturn("hash");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(5L);
+            return user;
+        });
+        UserResponse response = new UserResponse();
+        when(modelMapper.map(any(User.class), eq(UserResponse.class))).thenReturn(response);
+
+        assertSame(response, authService.registerUser(signupRequest));
+        verify(eventPublisher).publishEvent(any(UserEvent.class));
+    }
+}
@@ -0,0 +1,225 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CertificateResponse;
+import com.hari.lms.dto.view.CertificateDataView;
+import com.hari.lms.entity.Certificate;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.enums.CertificateStatus;
+import com.hari.lms.media.CertificateRenderer;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.repository.CertificateRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CertificateService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class CertificateServiceTest {
+
+    private static final Long STUDENT_ID = 3L;
+    private static final Long COURSE_ID = 10L;
+    private static final Long ENROLLMENT_ID = 20L;
+    private static final byte[] IMAGE = {1, 2, 3};
+
+    @Mock
+    private CertificateRepository certificateRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CertificateRenderer certificateRenderer;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path mediaRoot;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CertificateService certificateService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        certificateService = new CertificateService(certificateRepository, enrollmentRepository,
+                certificateRenderer, new LocalMediaStore(mediaRoot.toString()), authService, transactionManager,
+                2, 20, 100, 5, Duration.ofMinutes(1), Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        certificateService.shutdown();
+    }
+
+    @Test
+    void dispatch_LostClaim_RendersOnlyClaimed() throws Exception {
+        when(certificateRepository.findDueIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(certificateRepository.claim(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(1);
+        // Another instance claimed the second one first
+        when(certificateRepository.claim(eq(2L), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(0);
+        CertificateDataView certificate = certificate(1L, 1);
+        when(certificateRepository.findDataViewsByIdIn(List.of(1L))).thenReturn(List.of(certificate));
+        when(certificateRenderer.render(certificate)).thenReturn(IMAGE);
+
+        certificateService.dispatch();
+
+        verify(certificateRenderer, times(1)).render(any(CertificateDataView.class));
+        verify(certificateRepository).markIssued(eq(1L), eq(sha256(IMAGE)), any(LocalDateTime.class));
+        verify(certificateRepository, never()).markIssued(eq(2L), any(), any());
+        assertTrue(Files.exists(mediaRoot.resolve("certificates/" + sha256(IMAGE) + ".png")));
+    }
+
+    @Test
+    void dispatch_RenderFails_RetriesWithBackoff() throws Exception {
+        givenClaimed(certificate(1L, 3));
+        when(certificateRenderer.render(any(CertificateDataView.class))).thenThrow(new IOException("font missing"));
+
+        LocalDateTime before = LocalDateTime.now();
+        certificateService.dispatch();
+
+        // Third attempt: one minute doubled twice
+        ArgumentCaptor<LocalDateTime> nextAttemptAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(certificateRepository).markRetry(eq(1L), nextAttemptAt.capture(), eq("font missing"),
+                any(LocalDateTime.class));
+        assertFalse(nextAttemptAt.getValue().isBefore(before.plusMinutes(4)));
+        assertTrue(nextAttemptAt.getValue().isBefore(LocalDateTime.now().plusMinutes(4).plusSeconds(1)));
+        verify(certificateRepository, never()).markFailed(any(), any(), any());
+        assertEquals(1, meterRegistry.get("lms.certificates.generated").tag("outcome", "retried").counter().count());
+    }
+
+    @Test
+    void dispatch_RenderFailsAtMaxAttempts_MarksFailed() throws Exception {
+        givenClaimed(certificate(1L, 5));
+        when(certificateRenderer.render(any(CertificateDataView.class))).thenThrow(new IOException("font missing"));
+
+        certificateService.dispatch();
+
+        verify(certificateRepository).markFailed(eq(1L), eq("font missing"), any(LocalDateTime.class));
+        verify(certificateRepository, never()).markRetry(any(), any(), any(), any());
+        assertEquals(1, meterRegistry.get("lms.certificates.generated").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    void getCertificate_CompletedWithoutCertificate_RequestsOne() {
+        givenStudent();
+        Enrollment enrollment = givenCompletedEnrollment();
+        when(certificateRepository.existsByEnrollmentId(ENROLLMENT_ID)).thenReturn(false);
+        when(enrollmentRepository.getReferenceById(ENROLLMENT_ID)).thenReturn(enrollment);
+
+        CertificateResponse response = certificateService.getCertificate(COURSE_ID);
+
+        assertEquals(CertificateStatus.PENDING, response.getStatus());
+        assertNull(response.getUrl());
+        verify(certificateRepository).save(any(Certificate.class));
+    }
+
+    @Test
+    void getCertificate_RequestedConcurrently_StillPending() {
+        givenStudent();
+        Enrollment enrollment = givenCompletedEnrollment();
+        when(certificateRepository.existsByEnrollmentId(ENROLLMENT_ID)).thenReturn(false);
+        when(enrollmentRepository.getReferenceById(ENROLLMENT_ID)).thenReturn(enrollment);
+        // Another instance inserted the certificate after the check
+        when(certificateRepository.save(any(Certificate.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_certificates_enrollment"));
+
+        CertificateResponse response = certificateService.getCertificate(COURSE_ID);
+
+        assertEquals(CertificateStatus.PENDING, response.getStatus());
+        assertNull(response.getUrl());
+    }
+
+    @Test
+    void findImage_MissingOnThisInstance_RenderedAgain() throws Exception {
+        String contentHash = sha256(IMAGE);
+        CertificateDataView certificate = certificate(1L, 1);
+        when(certificateRepository.findIssuedDataViewsByContentHash(contentHash)).thenReturn(List.of(certificate));
+        when(certificateRenderer.render(certificate)).thenReturn(IMAGE);
+
+        Optional<MediaFile> image = certificateService.findImage(contentHash);
+        Optional<MediaFile> again = certificateService.findImage(contentHash);
+
+        assertTrue(image.isPresent());
+        assertEquals(IMAGE.length, image.get().getLength());
+        assertTrue(again.isPresent());
+        verify(certificateRenderer, times(1)).render(any(CertificateDataView.class));
+    }
+
+    @Test
+    void findImage_RendersDifferently_NotFound() throws Exception {
+        String contentHash = sha256(IMAGE);
+        when(certificateRepository.findIssuedDataViewsByContentHash(contentHash))
+                .thenReturn(List.of(certificate(1L, 1)));
+        when(certificateRenderer.render(any(CertificateDataView.class))).thenReturn(new byte[]{4, 5, 6});
+
+        assertTrue(certificateService.findImage(contentHash).isEmpty());
+        assertFalse(Files.exists(mediaRoot.resolve("certificates/" + contentHash + ".png")));
+    }
+
+    private void givenClaimed(CertificateDataView certificate) {
+        when(certificateRepository.findDueIds(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(certificate.getId()));
+        when(certificateRepository.claim(eq(certificate.getId()), any(LocalDateTime.class),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(certificateRepository.findDataViewsByIdIn(List.of(certificate.getId())))
+                .thenReturn(List.of(certificate));
+    }
+
+    private void givenStudent() {
+        when(authService.getCurrentUserId()).thenReturn(STUDENT_ID);
+        when(authService.isStudent()).thenReturn(true);
+        when(certificateRepository.findViewByStudentAndCourse(STUDENT_ID, COURSE_ID)).thenReturn(Optional.empty());
+    }
+
+    private Enrollment givenCompletedEnrollment() {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(ENROLLMENT_ID);
+        enrollment.setProgress(100);
+        when(enrollmentRepository.findByStudentIdAndCourseId(STUDENT_ID, COURSE_ID))
+                .thenReturn(Optional.of(enrollment));
+        return enrollment;
+    }
+
+    private static CertificateDataView certificate(Long id, int attempts) {
+        return new CertificateDataView(id, attempts, "Jane Student", "Java Programming", "Instructor One",
+                LocalDateTime.of(2024, 1, 15, 10, 0));
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,81 @@
+package com.hari.lms.service;
+
+import com.hari.lms.entity.Course;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.UserEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ContentVersionService.
+ *
+ * @author Hari Parthu
+ */
+class ContentVersionServiceTest {
+
+    private ContentVersionService contentVersionService;
+    private User student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        contentVersionService = new ContentVersionService(Duration.ofHours(1));
+        student = new User("student1", "student1@test.com", "Student One", "password", Role.STUDENT);
+        student.setId(3L);
+        course = new Course();
+        course.setId(10L);
+    }
+
+    @Test
+    void courseEvent_ChangesCourseAndListVersions() {
+        String course10 = contentVersionService.getCourseVersion(10L).toETag();
+        String course11 = contentVersionService.getCourseVersion(11L).toETag();
+        String courses = contentVersionService.getCoursesVersion().toETag();
+
+        contentVersionService.onCourseEvent(new CourseEvent(ChangeType.UPDATED, course));
+
+        assertNotEquals(course10, contentVersionService.getCourseVersion(10L).toETag());
+        assertEquals(course11, contentVersionService.getCourseVersion(11L).toETag());
+        assertNotEquals(courses, contentVersionService.getCoursesVersion().toETag());
+    }
+
+    @Test
+    void enrollmentEvent_ChangesStudentAndCourseVersions() {
+        String enrollments = contentVersionService.getStudentEnrollmentsVersion(3L).toETag();
+        String otherStudent = contentVersionService.getStudentEnrollmentsVersion(4L).toETag();
+        String course10 = contentVersionService.getCourseVersion(10L).toETag();
+
+        contentVersionService.onEnrollmentEvent(
+                new EnrollmentEvent(ChangeType.CREATED, new Enrollment(student, course)));
+
+        assertNotEquals(enrollments, contentVersionService.getStudentEnrollmentsVersion(3L).toETag());
+        assertEquals(otherStudent, contentVersionService.getStudentEnrollmentsVersion(4L).toETag());
+        assertNotEquals(course10, contentVersionService.getCourseVersion(10L).toETag());
+    }
+
+    @Test
+    void userEvent_ChangesVersionsShowingInstructors() {
+        String course10 = contentVersionService.getCourseVersion(10L).toETag();
+
+        contentVersionService.onUserEvent(new UserEvent(ChangeType.UPDATED, student));
+
+        assertNotEquals(course10, contentVersionService.getCourseVersion(10L).toETag());
+    }
+
+    @Test
+    void otherInstance_NeverSameVersion() {
+        ContentVersionService otherInstance = new ContentVersionService(Duration.ofHours(1));
+
+        assertNotEquals(contentVersionService.getCoursesVersion().toETag(),
+                otherInstance.getCoursesVersion().toETag());
+    }
+}
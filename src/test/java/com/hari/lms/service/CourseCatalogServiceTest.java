@@ -0,0 +1,114 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.entity.Course;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.hari.lms.service.CourseResponses.course;
+import static com.hari.lms.service.CourseResponses.ids;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CourseCatalogService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class CourseCatalogServiceTest {
+
+    private static final int MAX_CACHED_COURSES = 3;
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private EnrolledCourseCache enrolledCourseCache;
+
+    private CourseCatalogService courseCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        courseCatalogService = new CourseCatalogService(courseService, enrolledCourseCache, MAX_CACHED_COURSES,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getNewestCourses_LoadsCatalogOnce() {
+        givenPublished(3, course(12L), course(11L), course(10L));
+
+        assertEquals(List.of(12L, 11L), ids(courseCatalogService.getNewestCourses(2)));
+        assertEquals(List.of(12L, 11L, 10L), ids(courseCatalogService.getNewestCourses(10)));
+        verify(courseService, times(1)).getPublishedCourses(0, MAX_CACHED_COURSES, "createdAt", "desc");
+    }
+
+    @Test
+    void onCourseEvent_ReloadsCatalog() {
+        givenPublished(1, course(10L));
+        courseCatalogService.getNewestCourses(10);
+
+        Course course = new Course();
+        course.setId(11L);
+        courseCatalogService.onCourseEvent(new CourseEvent(ChangeType.CREATED, course));
+        courseCatalogService.getNewestCourses(10);
+
+        verify(courseService, times(2)).getPublishedCourses(0, MAX_CACHED_COURSES, "createdAt", "desc");
+    }
+
+    @Test
+    void getAvailableCourses_CompleteCatalog_FiltersEnrolledInMemory() {
+        givenPublished(3, course(12L), course(11L), course(10L));
+        when(enrolledCourseCache.getEnrolledCourses(3L)).thenReturn(Roaring64Bitmap.bitmapOf(11L));
+
+        Page<CourseResponse> available = courseCatalogService.getAvailableCourses(3L, 0, 10);
+
+        assertEquals(List.of(12L, 10L), ids(available.getContent()));
+        assertEquals(2, available.getTotalElements());
+        verify(courseService, never()).getAvailableCourses(3L, 0, 10);
+    }
+
+    @Test
+    void getAvailableCourses_PartialCatalog_UsesDatabase() {
+        givenPublished(5, course(14L), course(13L), course(12L));
+        Page<CourseResponse> fromDatabase = new PageImpl<>(List.of(course(10L)));
+        when(courseService.getAvailableCourses(3L, 0, 10)).thenReturn(fromDatabase);
+
+        assertSame(fromDatabase, courseCatalogService.getAvailableCourses(3L, 0, 10));
+        verifyNoInteractions(enrolledCourseCache);
+    }
+
+    @Test
+    void getCourses_PartialCatalog_LoadsOlderCoursesFromDatabase() {
+        givenPublished(5, course(14L), course(13L), course(12L));
+        when(courseService.getPublishedCoursesByIds(List.of(10L, 99L))).thenReturn(List.of(course(10L)));
+
+        assertEquals(List.of(10L, 13L), ids(courseCatalogService.getCourses(List.of(10L, 13L, 99L))));
+    }
+
+    @Test
+    void getCourses_CompleteCatalog_NoQuery() {
+        givenPublished(2, course(11L), course(10L));
+
+        assertEquals(List.of(10L), ids(courseCatalogService.getCourses(List.of(10L, 99L))));
+        verify(courseService, never()).getPublishedCoursesByIds(anyList());
+    }
+
+    private void givenPublished(long total, CourseResponse... courses) {
+        when(courseService.getPublishedCourses(0, MAX_CACHED_COURSES, "createdAt", "desc"))
+                .thenReturn(new PageImpl<>(List.of(courses), PageRequest.of(0, MAX_CACHED_COURSES), total));
+    }
+}
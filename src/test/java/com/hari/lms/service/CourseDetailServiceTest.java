@@ -0,0 +1,181 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.view.CourseDetailView;
+import com.hari.lms.dto.view.CoursePageView;
+import com.hari.lms.dto.view.EnrollmentStateView;
+import com.hari.lms.dto.view.LessonSummaryView;
+import com.hari.lms.entity.Course;
+import com.hari.lms.enums.ContentType;
+import com.hari.lms.enums.PaymentStatus;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.CourseEvent;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.LessonRepository;
+import com.hari.lms.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CourseDetailService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class CourseDetailServiceTest {
+
+    private static final Long COURSE_ID = 10L;
+    private static final Long INSTRUCTOR_ID = 1L;
+    private static final Long STUDENT_ID = 3L;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private AuthService authService;
+
+    private CourseDetailService courseDetailService;
+
+    @BeforeEach
+    void setUp() {
+        courseDetailService = new CourseDetailService(courseRepository, lessonRepository, enrollmentRepository,
+                paymentRepository, authService, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void getCoursePage_Anonymous_ServedFromCache() {
+        givenCourse(true);
+        givenAnonymous();
+
+        CoursePageView first = courseDetailService.getCoursePage(COURSE_ID);
+        CoursePageView second = courseDetailService.getCoursePage(COURSE_ID);
+
+        assertEquals("Java Programming", second.getCourse().getTitle());
+        assertEquals(List.of(1, 2), second.getLessons().stream().map(LessonSummaryView::getSequenceNumber).toList());
+        assertFalse(first.getViewer().isAuthenticated());
+        verify(courseRepository, times(1)).findDetailViewById(COURSE_ID);
+        verify(lessonRepository, times(1)).findSummaryViewsByCourseId(COURSE_ID);
+        verifyNoInteractions(enrollmentRepository, paymentRepository);
+    }
+
+    @Test
+    void getCoursePage_CourseEvent_InvalidatesCache() {
+        givenCourse(true);
+        givenAnonymous();
+        courseDetailService.getCoursePage(COURSE_ID);
+
+        Course course = new Course();
+        course.setId(COURSE_ID);
+        courseDetailService.onCourseEvent(new CourseEvent(ChangeType.UPDATED, course));
+        courseDetailService.getCoursePage(COURSE_ID);
+
+        verify(courseRepository, times(2)).findDetailViewById(COURSE_ID);
+    }
+
+    @Test
+    void getCoursePage_NotFound() {
+        when(courseRepository.findDetailViewById(COURSE_ID)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> courseDetailService.getCoursePage(COURSE_ID));
+    }
+
+    @Test
+    void getCoursePage_UnpublishedHiddenFromStudents() {
+        givenCourse(false);
+        givenUser(STUDENT_ID, Role.STUDENT);
+
+        assertThrows(ResourceNotFoundException.class, () -> courseDetailService.getCoursePage(COURSE_ID));
+        verifyNoInteractions(enrollmentRepository, paymentRepository);
+    }
+
+    @Test
+    void getCoursePage_UnpublishedVisibleToOwner() {
+        givenCourse(false);
+        givenUser(INSTRUCTOR_ID, Role.INSTRUCTOR);
+
+        CoursePageView page = courseDetailService.getCoursePage(COURSE_ID);
+
+        assertTrue(page.getViewer().isOwner());
+        assertEquals("INSTRUCTOR", page.getViewer().getRole());
+        verifyNoInteractions(enrollmentRepository, paymentRepository);
+    }
+
+    @Test
+    void getCoursePage_EnrolledStudent() {
+        givenCourse(true);
+        givenUser(STUDENT_ID, Role.STUDENT);
+        LocalDateTime enrolledAt = LocalDateTime.now();
+        when(enrollmentRepository.findStateView(STUDENT_ID, COURSE_ID))
+                .thenReturn(Optional.of(new EnrollmentStateView(40, "[100]", enrolledAt, PaymentStatus.COMPLETED)));
+
+        CoursePageView page = courseDetailService.getCoursePage(COURSE_ID);
+
+        assertTrue(page.getViewer().isEnrolled());
+        assertEquals(40, page.getViewer().getProgress());
+        assertEquals("[100]", page.getViewer().getCompletedLessons());
+        assertEquals(enrolledAt, page.getViewer().getEnrollmentDate());
+        assertEquals(PaymentStatus.COMPLETED, page.getViewer().getPaymentStatus());
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    void getCoursePage_StudentWithPendingPayment() {
+        givenCourse(true);
+        givenUser(STUDENT_ID, Role.STUDENT);
+        when(enrollmentRepository.findStateView(STUDENT_ID, COURSE_ID)).thenReturn(Optional.empty());
+        when(paymentRepository.findLatestStatuses(eq(STUDENT_ID), eq(COURSE_ID), any(Pageable.class)))
+                .thenReturn(List.of(PaymentStatus.PENDING));
+
+        CoursePageView page = courseDetailService.getCoursePage(COURSE_ID);
+
+        assertFalse(page.getViewer().isEnrolled());
+        assertNull(page.getViewer().getProgress());
+        assertEquals(PaymentStatus.PENDING, page.getViewer().getPaymentStatus());
+    }
+
+    private void givenCourse(boolean approved) {
+        CourseDetailView course = new CourseDetailView(COURSE_ID, "Java Programming", "Learn Java programming",
+                new BigDecimal("99.99"), approved, INSTRUCTOR_ID, "Instructor One", "instructor1", 5,
+                LocalDateTime.now(), LocalDateTime.now());
+        when(courseRepository.findDetailViewById(COURSE_ID)).thenReturn(Optional.of(course));
+        when(lessonRepository.findSummaryViewsByCourseId(COURSE_ID)).thenReturn(List.of(
+                new LessonSummaryView(100L, 1, "Introduction", ContentType.VIDEO),
+                new LessonSummaryView(101L, 2, "Variables", ContentType.TEXT)));
+    }
+
+    private void givenAnonymous() {
+        when(authService.getCurrentUserId()).thenReturn(null);
+    }
+
+    private void givenUser(Long userId, Role role) {
+        when(authService.getCurrentUserId()).thenReturn(userId);
+        lenient().when(authService.isAdmin()).thenReturn(role == Role.ADMIN);
+        lenient().when(authService.isInstructor()).thenReturn(role == Role.INSTRUCTOR);
+        lenient().when(authService.isStudent()).thenReturn(role == Role.STUDENT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.entity.Course;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.PopularityWindow;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.repository.CourseRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoursePopularityService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class CoursePopularityServiceTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    private CoursePopularityService coursePopularityService;
+
+    @BeforeEach
+    void setUp() {
+        coursePopularityService = new CoursePopularityService(courseRepository, enrollmentRepository, 500, 100);
+        when(courseRepository.findCourseEnrollmentStats()).thenReturn(List.of(
+                new CourseEnrollmentStats(10L, "Java", "Instructor One", 5L),
+                new CourseEnrollmentStats(11L, "Spring", "Instructor One", 2L)));
+        when(enrollmentRepository.findCourseEnrollmentDatesSince(any(LocalDateTime.class))).thenReturn(new ArrayList<>());
+        coursePopularityService.onApplicationReady();
+    }
+
+    @Test
+    void getTopCourses_LoadsNamesInOneQuery() {
+        when(courseRepository.findRankingStatsByIdIn(anyCollection(), eq(true))).thenReturn(new ArrayList<>(List.of(
+                new CourseEnrollmentStats(10L, "Java", "Instructor One", 0L),
+                new CourseEnrollmentStats(11L, "Spring", "Instructor One", 0L))));
+
+        List<CourseEnrollmentStats> top = coursePopularityService.getTopCourses(PopularityWindow.ALL_TIME, 10, true);
+
+        assertEquals(List.of(10L, 11L), top.stream().map(CourseEnrollmentStats::getCourseId).toList());
+        assertEquals(5, top.get(0).getEnrollmentCount());
+        verify(courseRepository).findRankingStatsByIdIn(anyCollection(), eq(true));
+        verify(courseRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void onEnrollmentEvent_Deleted_RemovesFromHourlyWindow() {
+        Enrollment first = enrollment(11L);
+        Enrollment second = enrollment(11L);
+        coursePopularityService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, first));
+        coursePopularityService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, second));
+        coursePopularityService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.DELETED, second));
+        when(courseRepository.findRankingStatsByIdIn(anyCollection(), eq(false))).thenReturn(new ArrayList<>(List.of(
+                new CourseEnrollmentStats(11L, "Spring", "Instructor One", 0L))));
+
+        List<CourseEnrollmentStats> top = coursePopularityService.getTopCourses(PopularityWindow.LAST_24_HOURS, 10,
+                false);
+
+        assertEquals(1, top.size());
+        assertEquals(1, top.get(0).getEnrollmentCount());
+    }
+
+    private Enrollment enrollment(Long courseId) {
+        User student = new User("student1", "student1@test.com", "Student One", "password", Role.STUDENT);
+        student.setId(3L);
+        Course course = new Course();
+        course.setId(courseId);
+        Enrollment enrollment = new Enrollment(student, course);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        return enrollment;
+    }
+}
@@ -0,0 +1,130 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseEnrollmentStats;
+import com.hari.lms.dto.response.CourseResponse;
+import com.hari.lms.enums.PopularityWindow;
+import com.hari.lms.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.hari.lms.service.CourseResponses.course;
+import static com.hari.lms.service.CourseResponses.ids;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CourseRecommendationService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class CourseRecommendationServiceTest {
+
+    // (student ID, course ID), ordered by student and course
+    private static final List<long[]> PAIRS = List.of(
+            new long[] {1L, 10L}, new long[] {1L, 11L},
+            new long[] {2L, 10L}, new long[] {2L, 11L},
+            new long[] {3L, 10L}, new long[] {3L, 12L},
+            new long[] {4L, 11L}, new long[] {4L, 13L});
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private EnrolledCourseCache enrolledCourseCache;
+
+    @Mock
+    private CourseCatalogService courseCatalogService;
+
+    @Mock
+    private CoursePopularityService coursePopularityService;
+
+    private CourseRecommendationService courseRecommendationService;
+
+    @BeforeEach
+    void setUp() {
+        // A page size of 3 splits student 2 across two pages
+        courseRecommendationService = new CourseRecommendationService(enrollmentRepository, enrolledCourseCache,
+                courseCatalogService, coursePopularityService, new SimpleMeterRegistry(), 20, 100, 3);
+        lenient().when(courseCatalogService.getCourses(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(CourseResponses::course)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Test
+    void rebuildModel_PagesThroughPairs_RanksByCoEnrollment() {
+        givenEnrollmentPairs();
+        courseRecommendationService.rebuildModel();
+        when(enrolledCourseCache.getEnrolledCourses(5L)).thenReturn(Roaring64Bitmap.bitmapOf(10L));
+
+        List<CourseResponse> recommendations = courseRecommendationService.getRecommendations(5L, 2);
+
+        // 11 shares two students with 10, 12 only one; 13 is never taken with 10
+        assertEquals(List.of(11L, 12L), ids(recommendations));
+        verify(enrollmentRepository).findPublishedEnrollmentPairsAfter(eq(2L), eq(10L), any(Pageable.class));
+        verify(enrollmentRepository).findPublishedEnrollmentPairsAfter(eq(3L), eq(12L), any(Pageable.class));
+        // The short third page ends the rebuild
+        verify(enrollmentRepository, times(3)).findPublishedEnrollmentPairsAfter(anyLong(), anyLong(),
+                any(Pageable.class));
+        // The student's courses come from the enrolled-course cache
+        verify(enrollmentRepository, never()).findCourseIdsByStudentId(anyLong());
+    }
+
+    @Test
+    void getRecommendations_NoEnrollments_FallsBackToPopularThenNewest() {
+        givenEnrollmentPairs();
+        courseRecommendationService.rebuildModel();
+        when(enrolledCourseCache.getEnrolledCourses(6L)).thenReturn(new Roaring64Bitmap());
+        when(coursePopularityService.getTopCourses(PopularityWindow.ALL_TIME, 3, true))
+                .thenReturn(List.of(new CourseEnrollmentStats(13L, "Course 13", "Instructor One", 9L)));
+        when(courseCatalogService.getNewestCourses(3)).thenReturn(List.of(course(13L), course(12L), course(11L)));
+
+        List<CourseResponse> recommendations = courseRecommendationService.getRecommendations(6L, 3);
+
+        assertEquals(List.of(13L, 12L, 11L), ids(recommendations));
+    }
+
+    @Test
+    void getRecommendations_BeforeFirstRebuild_UsesFallbacks() {
+        when(enrolledCourseCache.getEnrolledCourses(5L)).thenReturn(Roaring64Bitmap.bitmapOf(10L));
+        when(coursePopularityService.getTopCourses(PopularityWindow.ALL_TIME, 3, true))
+                .thenReturn(List.of(new CourseEnrollmentStats(10L, "Course 10", "Instructor One", 9L)));
+        when(courseCatalogService.getNewestCourses(3)).thenReturn(List.of(course(12L), course(10L)));
+
+        List<CourseResponse> recommendations = courseRecommendationService.getRecommendations(5L, 2);
+
+        assertEquals(List.of(12L), ids(recommendations));
+        verify(enrollmentRepository, never()).findPublishedEnrollmentPairsAfter(anyLong(), anyLong(), any());
+        verify(coursePopularityService).getTopCourses(any(), anyInt(), eq(true));
+    }
+
+    private void givenEnrollmentPairs() {
+        when(enrollmentRepository.findPublishedEnrollmentPairsAfter(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long afterStudent = invocation.getArgument(0);
+                    long afterCourse = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return PAIRS.stream()
+                            .filter(pair -> pair[0] > afterStudent || (pair[0] == afterStudent && pair[1] > afterCourse))
+                            .limit(pageable.getPageSize())
+                            .map(pair -> new Object[] {pair[0], pair[1]})
+                            .collect(Collectors.toList());
+                });
+    }
+}
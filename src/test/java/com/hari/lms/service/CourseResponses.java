@@ -0,0 +1,27 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.CourseResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Course response fixtures shared by the catalog and recommendation tests.
+ *
+ * @author Hari Parthu
+ */
+final class CourseResponses {
+
+    private CourseResponses() {
+    }
+
+    static CourseResponse course(Long id) {
+        return new CourseResponse(id, "Course " + id, "Description", BigDecimal.TEN, true, "instructor1",
+                "instructor1@test.com", 3, 5, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    static List<Long> ids(List<CourseResponse> courses) {
+        return courses.stream().map(CourseResponse::getId).toList();
+    }
+}
@@ -1,6 +1,7 @@
 package com.hari.lms.service;
 
 import com.hari.lms.dto.request.CourseRequest;
+import com.hari.lms.dto.response.CourseDeletionStatus;
 import com.hari.lms.dto.response.CourseResponse;
 import com.hari.lms.entity.Course;
 import com.hari.lms.entity.User;
@@ -15,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -46,6 +48,12 @@ class CourseServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CourseDeletionService courseDeletionService;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -263,6 +271,40 @@ class CourseServiceTest {
         courseService.deleteCourse(1L);
 
         // Then
-        verify(courseRepository).delete(course);
+        verify(courseDeletionService).deleteCourse(course);
+        verify(courseRepository, never()).delete(any(Course.class));
+    }
+
+    @Test
+    void getDeletionStatus_WhenOwner_ShouldReturnStatus() {
+        // Given
+        CourseDeletionStatus status = new CourseDeletionStatus(1L, instructor.getId());
+        when(courseDeletionService.getStatus(1L)).thenReturn(Optional.of(status));
+        when(authService.isAdmin()).thenReturn(false);
+        when(authService.getCurrentUserId()).thenReturn(instructor.getId());
+
+        // When & Then
+        assertSame(status, courseService.getDeletionStatus(1L).orElseThrow());
+    }
+
+    @Test
+    void getDeletionStatus_WhenOtherInstructor_ShouldThrowException() {
+        // Given
+        when(courseDeletionService.getStatus(1L)).thenReturn(Optional.of(new CourseDeletionStatus(1L, 99L)));
+        when(authService.isAdmin()).thenReturn(false);
+        when(authService.getCurrentUserId()).thenReturn(instructor.getId());
+
+        // When & Then
+        assertThrows(UnauthorizedAccessException.class, () -> courseService.getDeletionStatus(1L));
+    }
+
+    @Test
+    void getDeletionStatus_WhenAdmin_ShouldReturnStatus() {
+        // Given
+        when(courseDeletionService.getStatus(1L)).thenReturn(Optional.of(new CourseDeletionStatus(1L, 99L)));
+        when(authService.isAdmin()).thenReturn(true);
+
+        // When & Then
+        assertTrue(courseService.getDeletionStatus(1L).isPresent());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,259 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.response.InstructorAnalyticsResponse;
+import com.hari.lms.dto.view.CourseAnalyticsView;
+import com.hari.lms.entity.Course;
+import com.hari.lms.entity.CourseStats;
+import com.hari.lms.entity.Enrollment;
+import com.hari.lms.entity.Payment;
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.PaymentStatus;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.EnrollmentEvent;
+import com.hari.lms.event.PaymentEvent;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.repository.CourseEnrollmentDayRepository;
+import com.hari.lms.repository.CourseStatsRepository;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for InstructorAnalyticsService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class InstructorAnalyticsServiceTest {
+
+    private static final Long COURSE_ID = 10L;
+    private static final Long INSTRUCTOR_ID = 1L;
+    private static final Long STUDENT_ID = 3L;
+
+    @Mock
+    private CourseStatsRepository courseStatsRepository;
+
+    @Mock
+    private CourseEnrollmentDayRepository courseEnrollmentDayRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InstructorAnalyticsService instructorAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        instructorAnalyticsService = new InstructorAnalyticsService(courseStatsRepository,
+                courseEnrollmentDayRepository, enrollmentRepository, paymentRepository, authService,
+                transactionManager, 500, 365);
+    }
+
+    @Test
+    void getInstructorAnalytics_SumsCourseRows() {
+        when(authService.getCurrentUserId()).thenReturn(INSTRUCTOR_ID);
+        when(courseStatsRepository.findAnalyticsByInstructorId(INSTRUCTOR_ID)).thenReturn(List.of(
+                new CourseAnalyticsView(COURSE_ID, INSTRUCTOR_ID, "Java", true, 4L, 1L, 200L, new BigDecimal("99.00")),
+                new CourseAnalyticsView(11L, INSTRUCTOR_ID, "Spring", false, null, null, null, null)));
+        when(courseEnrollmentDayRepository.findDailyByInstructorId(eq(INSTRUCTOR_ID), any(LocalDate.class)))
+                .thenReturn(List.of());
+
+        InstructorAnalyticsResponse analytics = instructorAnalyticsService.getInstructorAnalytics(30);
+
+        assertEquals(2, analytics.getCourseCount());
+        assertEquals(4, analytics.getEnrollmentCount());
+        assertEquals(1, analytics.getCompletedCount());
+        assertEquals(50.0, analytics.getAverageProgress(), 0.001);
+        assertEquals(25.0, analytics.getCompletionRate(), 0.001);
+        assertEquals(new BigDecimal("99.00"), analytics.getRevenue());
+        assertEquals(0, analytics.getCourses().get(1).getEnrollmentCount());
+    }
+
+    @Test
+    void getCourseAnalytics_OtherInstructor_ThrowsUnauthorizedAccessException() {
+        when(courseStatsRepository.findAnalyticsByCourseId(COURSE_ID)).thenReturn(Optional.of(
+                new CourseAnalyticsView(COURSE_ID, INSTRUCTOR_ID, "Java", true, 4L, 1L, 200L, BigDecimal.ZERO)));
+        when(authService.getCurrentUserId()).thenReturn(2L);
+        when(authService.isAdmin()).thenReturn(false);
+
+        assertThrows(UnauthorizedAccessException.class,
+                () -> instructorAnalyticsService.getCourseAnalytics(COURSE_ID, 30));
+    }
+
+    @Test
+    void onEnrollmentEvent_Created_AddsEnrollmentAndDay() {
+        when(courseStatsRepository.addEnrollments(eq(COURSE_ID), eq(1L), eq(0L), eq(0L), any())).thenReturn(1);
+        when(courseEnrollmentDayRepository.addEnrollments(COURSE_ID, LocalDate.now(), 1)).thenReturn(1);
+
+        instructorAnalyticsService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, enrollment(0)));
+
+        verify(courseStatsRepository, never()).insert(anyLong(), anyLong(), anyLong(), anyLong(), any(), any());
+        verify(courseEnrollmentDayRepository, never()).insert(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void onEnrollmentEvent_ProgressCompletesCourse_AddsDeltas() {
+        when(courseStatsRepository.addEnrollments(eq(COURSE_ID), eq(0L), eq(1L), eq(40L), any())).thenReturn(1);
+
+        instructorAnalyticsService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.UPDATED, enrollment(100), 60));
+
+        verify(courseStatsRepository).addEnrollments(eq(COURSE_ID), eq(0L), eq(1L), eq(40L), any());
+        verifyNoInteractions(courseEnrollmentDayRepository);
+    }
+
+    @Test
+    void onPaymentEvent_NoRowYet_InsertsRow() {
+        BigDecimal amount = new BigDecimal("49.99");
+        when(courseStatsRepository.addRevenue(eq(COURSE_ID), eq(amount), any())).thenReturn(0);
+
+        instructorAnalyticsService.onPaymentEvent(new PaymentEvent(payment(amount, PaymentStatus.COMPLETED)));
+
+        verify(courseStatsRepository).insert(eq(COURSE_ID), eq(0L), eq(0L), eq(0L), eq(amount), any());
+    }
+
+    @Test
+    void onPaymentEvent_ConcurrentInsert_RetriesUpdate() {
+        BigDecimal amount = new BigDecimal("49.99");
+        when(courseStatsRepository.addRevenue(eq(COURSE_ID), eq(amount), any())).thenReturn(0, 1);
+        when(courseStatsRepository.insert(eq(COURSE_ID), eq(0L), eq(0L), eq(0L), eq(amount), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        instructorAnalyticsService.onPaymentEvent(new PaymentEvent(payment(amount, PaymentStatus.COMPLETED)));
+
+        verify(courseStatsRepository, times(2)).addRevenue(eq(COURSE_ID), eq(amount), any());
+    }
+
+    @Test
+    void onEnrollmentEvent_CreatedOnNewDay_InsertsDayInSameTransaction() {
+        when(courseStatsRepository.addEnrollments(eq(COURSE_ID), eq(1L), eq(0L), eq(0L), any())).thenReturn(1);
+        when(courseEnrollmentDayRepository.addEnrollments(COURSE_ID, LocalDate.now(), 1)).thenReturn(0);
+
+        instructorAnalyticsService.onEnrollmentEvent(new EnrollmentEvent(ChangeType.CREATED, enrollment(0)));
+
+        verify(courseEnrollmentDayRepository).insert(COURSE_ID, LocalDate.now(), 1);
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void recompute_LocksTotalsBeforeAggregating() {
+        CourseStats stats = new CourseStats(COURSE_ID);
+        givenCourses(List.of(COURSE_ID));
+        when(courseStatsRepository.findExistingIds(List.of(COURSE_ID))).thenReturn(List.of(COURSE_ID));
+        when(courseStatsRepository.findAllByIdForUpdate(List.of(COURSE_ID))).thenReturn(List.of(stats));
+        List<Object[]> aggregates = List.<Object[]>of(new Object[]{COURSE_ID, 4L, 1L, 250L});
+        when(enrollmentRepository.aggregateByCourseIds(List.of(COURSE_ID))).thenReturn(aggregates);
+        List<Object[]> revenue = List.<Object[]>of(new Object[]{COURSE_ID, new BigDecimal("99.00")});
+        when(paymentRepository.sumRevenueByCourseIds(List.of(COURSE_ID))).thenReturn(revenue);
+
+        instructorAnalyticsService.recompute();
+
+        InOrder inOrder = inOrder(courseStatsRepository, enrollmentRepository, courseEnrollmentDayRepository);
+        inOrder.verify(courseStatsRepository).findAllByIdForUpdate(List.of(COURSE_ID));
+        inOrder.verify(enrollmentRepository).aggregateByCourseIds(List.of(COURSE_ID));
+        inOrder.verify(courseEnrollmentDayRepository).deleteByCourseIdIn(List.of(COURSE_ID));
+        assertEquals(4, stats.getEnrollmentCount());
+        assertEquals(1, stats.getCompletedCount());
+        assertEquals(250, stats.getProgressSum());
+        assertEquals(new BigDecimal("99.00"), stats.getRevenue());
+        verify(courseStatsRepository, never()).insert(anyLong(), anyLong(), anyLong(), anyLong(), any(), any());
+    }
+
+    @Test
+    void recompute_NewCourse_CreatesTotalsBeforeLocking() {
+        givenCourses(List.of(COURSE_ID));
+        when(courseStatsRepository.findExistingIds(List.of(COURSE_ID))).thenReturn(List.of());
+        when(courseStatsRepository.findAllByIdForUpdate(List.of(COURSE_ID)))
+                .thenReturn(List.of(new CourseStats(COURSE_ID)));
+
+        instructorAnalyticsService.recompute();
+
+        InOrder inOrder = inOrder(courseStatsRepository);
+        inOrder.verify(courseStatsRepository).insert(eq(COURSE_ID), eq(0L), eq(0L), eq(0L), eq(BigDecimal.ZERO),
+                any());
+        inOrder.verify(courseStatsRepository).findAllByIdForUpdate(List.of(COURSE_ID));
+    }
+
+    @Test
+    void recompute_DeletesRowsOfPurgedCourses() {
+        givenCourses(List.of());
+
+        instructorAnalyticsService.recompute();
+
+        verify(courseStatsRepository).deleteOrphans();
+        verify(courseEnrollmentDayRepository).deleteOrphans();
+        verify(courseEnrollmentDayRepository).deleteExpired(LocalDate.now().minusDays(364));
+    }
+
+    @Test
+    void onPaymentEvent_Failed_Ignored() {
+        instructorAnalyticsService.onPaymentEvent(new PaymentEvent(payment(BigDecimal.TEN, PaymentStatus.FAILED)));
+
+        verifyNoInteractions(courseStatsRepository);
+    }
+
+    private void givenCourses(List<Long> courseIds) {
+        when(courseStatsRepository.findCourseIdsAfter(eq(0L), any(Pageable.class))).thenReturn(courseIds);
+        if (!courseIds.isEmpty()) {
+            when(courseStatsRepository.findCourseIdsAfter(eq(courseIds.get(courseIds.size() - 1)),
+                    any(Pageable.class))).thenReturn(List.of());
+        }
+    }
+
+    private Enrollment enrollment(int progress) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(5L);
+        enrollment.setStudent(user());
+        enrollment.setCourse(course());
+        enrollment.setProgress(progress);
+        return enrollment;
+    }
+
+    private Payment payment(BigDecimal amount, PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setId(7L);
+        payment.setStudent(user());
+        payment.setCourse(course());
+        payment.setAmount(amount);
+        payment.setStatus(status);
+        return payment;
+    }
+
+    private User user() {
+        User student = new User();
+        student.setId(STUDENT_ID);
+        return student;
+    }
+
+    private Course course() {
+        Course course = new Course();
+        course.setId(COURSE_ID);
+        return course;
+    }
+}
@@ -0,0 +1,129 @@
+package com.hari.lms.service;
+
+import com.hari.lms.dto.view.LessonMediaView;
+import com.hari.lms.enums.ContentType;
+import com.hari.lms.exception.ResourceNotFoundException;
+import com.hari.lms.exception.UnauthorizedAccessException;
+import com.hari.lms.media.LocalMediaStore;
+import com.hari.lms.media.MediaFile;
+import com.hari.lms.repository.EnrollmentRepository;
+import com.hari.lms.repository.LessonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LessonMediaService.
+ *
+ * @author Hari Parthu
+ */
+@ExtendWith(MockitoExtension.class)
+class LessonMediaServiceTest {
+
+    private static final Long LESSON_ID = 100L;
+    private static final Long COURSE_ID = 10L;
+    private static final Long INSTRUCTOR_ID = 1L;
+    private static final Long STUDENT_ID = 3L;
+    private static final String KEY = "lessons/100/video.mp4";
+
+    @Mock
+    private LessonRepository lessonRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private EnrolledCourseCache enrolledCourseCache;
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private LocalMediaStore mediaStore;
+
+    private LessonMediaService lessonMediaService;
+
+    @BeforeEach
+    void setUp() {
+        lessonMediaService = new LessonMediaService(lessonRepository, enrollmentRepository, enrolledCourseCache,
+                authService, mediaStore, 100, Duration.ofMinutes(5));
+        when(lessonRepository.findMediaViewById(LESSON_ID)).thenReturn(Optional.of(new LessonMediaView(LESSON_ID,
+                COURSE_ID, INSTRUCTOR_ID, true, ContentType.VIDEO, LocalMediaStore.toContentUrl(KEY))));
+        when(authService.getCurrentUserId()).thenReturn(STUDENT_ID);
+        when(authService.isAdmin()).thenReturn(false);
+        lenient().when(authService.isStudent()).thenReturn(true);
+    }
+
+    @Test
+    void getLessonMedia_EnrolledInCache_SkipsDatabase() {
+        when(enrolledCourseCache.isEnrolled(STUDENT_ID, COURSE_ID)).thenReturn(true);
+        MediaFile file = givenStored();
+
+        assertSame(file, lessonMediaService.getLessonMedia(LESSON_ID));
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void getLessonMedia_EnrolledOnAnotherInstance_ConfirmedInDatabase() {
+        // The cached set predates an enrollment made elsewhere
+        when(enrolledCourseCache.isEnrolled(STUDENT_ID, COURSE_ID)).thenReturn(false);
+        when(enrollmentRepository.existsByStudentIdAndCourseId(STUDENT_ID, COURSE_ID)).thenReturn(true);
+        MediaFile file = givenStored();
+
+        assertSame(file, lessonMediaService.getLessonMedia(LESSON_ID));
+        verify(enrolledCourseCache).evict(STUDENT_ID);
+    }
+
+    @Test
+    void getLessonMedia_NotEnrolled_ThrowsUnauthorizedAccessException() {
+        when(enrolledCourseCache.isEnrolled(STUDENT_ID, COURSE_ID)).thenReturn(false);
+        when(enrollmentRepository.existsByStudentIdAndCourseId(STUDENT_ID, COURSE_ID)).thenReturn(false);
+
+        assertThrows(UnauthorizedAccessException.class, () -> lessonMediaService.getLessonMedia(LESSON_ID));
+        verify(enrolledCourseCache, never()).evict(any());
+        verifyNoInteractions(mediaStore);
+    }
+
+    @Test
+    void getLessonMedia_ReplacedOnAnotherInstance_ReloadsLesson() {
+        String replacedKey = "lessons/100/replacement.mp4";
+        when(lessonRepository.findMediaViewById(LESSON_ID)).thenReturn(
+                Optional.of(new LessonMediaView(LESSON_ID, COURSE_ID, INSTRUCTOR_ID, true, ContentType.VIDEO,
+                        LocalMediaStore.toContentUrl(KEY))),
+                Optional.of(new LessonMediaView(LESSON_ID, COURSE_ID, INSTRUCTOR_ID, true, ContentType.VIDEO,
+                        LocalMediaStore.toContentUrl(replacedKey))));
+        when(enrolledCourseCache.isEnrolled(STUDENT_ID, COURSE_ID)).thenReturn(true);
+        when(mediaStore.find(KEY)).thenReturn(Optional.empty());
+        MediaFile file = new MediaFile(Path.of(replacedKey), 2048, 0L, MediaType.valueOf("video/mp4"));
+        when(mediaStore.find(replacedKey)).thenReturn(Optional.of(file));
+
+        assertSame(file, lessonMediaService.getLessonMedia(LESSON_ID));
+        assertSame(file, lessonMediaService.getLessonMedia(LESSON_ID));
+        verify(lessonRepository, times(2)).findMediaViewById(LESSON_ID);
+    }
+
+    @Test
+    void getLessonMedia_FileMissing_ThrowsResourceNotFoundException() {
+        when(enrolledCourseCache.isEnrolled(STUDENT_ID, COURSE_ID)).thenReturn(true);
+        when(mediaStore.find(KEY)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> lessonMediaService.getLessonMedia(LESSON_ID));
+    }
+
+    private MediaFile givenStored() {
+        MediaFile file = new MediaFile(Path.of(KEY), 1024, 0L, MediaType.valueOf("video/mp4"));
+        when(mediaStore.find(KEY)).thenReturn(Optional.of(file));
+        return file;
+    }
+}
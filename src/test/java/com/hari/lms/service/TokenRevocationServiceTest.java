@@ -0,0 +1,83 @@
+package com.hari.lms.service;
+
+import com.hari.lms.entity.User;
+import com.hari.lms.enums.Role;
+import com.hari.lms.event.ChangeType;
+import com.hari.lms.event.UserBatchEvent;
+import com.hari.lms.event.UserEvent;
+import com.hari.lms.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenRevocationService.
+ *
+ * @author Hari Parthu
+ */
+class TokenRevocationServiceTest {
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        when(jwtUtils.getJwtExpirationMs()).thenReturn(900_000L);
+        tokenRevocationService = new TokenRevocationService(jwtUtils);
+    }
+
+    @Test
+    void isRevoked_FalseForUnknownToken() {
+        assertFalse(tokenRevocationService.isRevoked(claims("jti-1", new Date()), 1L));
+    }
+
+    @Test
+    void revokeToken_RevokesOnlyThatToken() {
+        tokenRevocationService.revokeToken("jti-1");
+
+        assertTrue(tokenRevocationService.isRevoked(claims("jti-1", new Date()), 1L));
+        assertFalse(tokenRevocationService.isRevoked(claims("jti-2", new Date()), 1L));
+    }
+
+    @Test
+    void revokeUser_RevokesTokensIssuedBeforeButNotAfter() {
+        Date before = new Date(System.currentTimeMillis() - 60_000);
+        Date after = new Date(System.currentTimeMillis() + 60_000);
+
+        tokenRevocationService.revokeUser(1L);
+
+        assertTrue(tokenRevocationService.isRevoked(claims("jti-1", before), 1L));
+        assertFalse(tokenRevocationService.isRevoked(claims("jti-2", after), 1L));
+        assertFalse(tokenRevocationService.isRevoked(claims("jti-3", before), 2L));
+    }
+
+    @Test
+    void onUserEvent_RevokesUpdatedAndDeletedUsersOnly() {
+        Date before = new Date(System.currentTimeMillis() - 60_000);
+
+        tokenRevocationService.onUserEvent(new UserEvent(ChangeType.CREATED, user(1L)));
+        tokenRevocationService.onUserEvent(new UserEvent(ChangeType.UPDATED, user(2L)));
+        tokenRevocationService.onUserBatchEvent(new UserBatchEvent(ChangeType.DELETED, List.of(3L)));
+
+        assertFalse(tokenRevocationService.isRevoked(claims("a", before), 1L));
+        assertTrue(tokenRevocationService.isRevoked(claims("b", before), 2L));
+        assertTrue(tokenRevocationService.isRevoked(claims("c", before), 3L));
+    }
+
+    private static Claims claims(String tokenId, Date issuedAt) {
+        return Jwts.claims().setId(tokenId).setIssuedAt(issuedAt);
+    }
+
+    private static User user(Long id) {
+        User user = new User("user" + id, "user" + id + "@test.com", "User " + id, "password", Role.STUDENT);
+        user.setId(id);
+        return user;
+    }
+}
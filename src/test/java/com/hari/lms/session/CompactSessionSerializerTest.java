@@ -0,0 +1,71 @@
+package com.hari.lms.session;
+
+import com.hari.lms.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompactSessionSerializer.
+ *
+ * @author Hari Parthu
+ */
+class CompactSessionSerializerTest {
+
+    private final CompactSessionSerializer serializer = new CompactSessionSerializer(512,
+            getClass().getClassLoader());
+
+    @Test
+    void smallValues_RoundTripWithoutCompression() {
+        byte[] bytes = serializer.serialize("hello");
+
+        assertEquals(0, bytes[0]);
+        assertEquals("hello", serializer.deserialize(bytes));
+    }
+
+    @Test
+    void securityContext_RoundTripsSmallerThanJavaSerialization() {
+        UserDetailsImpl user = new UserDetailsImpl(42L, "student1", "student1@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_STUDENT")), true);
+        SecurityContext context = new SecurityContextImpl(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        byte[] compact = serializer.serialize(context);
+        byte[] plain = new SerializingConverter().convert(context);
+
+        assertEquals(1, compact[0]);
+        assertTrue(compact.length < plain.length * 2 / 3,
+                "compact " + compact.length + " bytes, plain " + plain.length + " bytes");
+        SecurityContext restored = (SecurityContext) serializer.deserialize(compact);
+        assertEquals("student1", restored.getAuthentication().getName());
+        assertEquals(42L, ((UserDetailsImpl) restored.getAuthentication().getPrincipal()).getId());
+    }
+
+    @Test
+    void largeIncompressibleValues_StayRaw() {
+        Map<String, String> values = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            values.put("k" + i, Long.toString(random.nextLong(), 36));
+        }
+
+        byte[] bytes = serializer.serialize(values);
+
+        assertEquals(values, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_RejectsUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> serializer.deserialize(new byte[] { 7, 0 }));
+    }
+}
@@ -0,0 +1,79 @@
+package com.hari.lms.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BloomFilter. The benchmark at one million users is tagged
+ * "benchmark" and excluded from the default build; run it with
+ * {@code mvn test -Dtest.excludedGroups= -Dgroups=benchmark}.
+ *
+ * @author Hari Parthu
+ */
+class BloomFilterTest {
+
+    private static final int USERS = 1_000_000;
+
+    @Test
+    void mightContain_NeverFalseForAddedValues() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    void constructor_RejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1));
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateBelowTarget() {
+        BloomFilter filter = new BloomFilter(20_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("student" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("visitor" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 100, falsePositives + " false positives");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmark_OneMillionUsers_FalsePositiveRate() {
+        // Sized like UserAvailabilityService: twice the user count at 1%
+        BloomFilter filter = new BloomFilter(2L * USERS, 0.01);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("student" + i + "@example.com");
+        }
+
+        // Look up values that were never added
+        int falsePositives = 0;
+        for (int i = 0; i < USERS; i++) {
+            if (filter.mightContain("visitor" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+        double falsePositiveRate = (double) falsePositives / USERS;
+
+        // At half the designed capacity the rate stays well under the 1% target
+        assertTrue(falsePositiveRate < 0.01, "False positive rate " + falsePositiveRate);
+        for (int i = 0; i < USERS; i += 997) {
+            assertTrue(filter.mightContain("student" + i + "@example.com"));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.hari.lms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LongIntHashMap.
+ *
+ * @author Hari Parthu
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void putAndGet_OverwritesExistingKey() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(7L, 1);
+        map.put(7L, 2);
+
+        assertEquals(2, map.get(7L, -1));
+        assertEquals(-1, map.get(8L, -1));
+        assertTrue(map.containsKey(7L));
+        assertFalse(map.containsKey(8L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void zeroKey_StoredOutsideTable() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertFalse(map.containsKey(0L));
+        assertEquals(-1, map.get(0L, -1));
+
+        assertEquals(3, map.addTo(0L, 3));
+        assertEquals(5, map.addTo(0L, 2));
+        map.put(1L, 1);
+
+        assertTrue(map.containsKey(0L));
+        assertEquals(5, map.get(0L, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void addTo_ManyKeys_GrowsAndMatchesHashMap() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // Packed pairs and negative keys, as used by the co-enrollment counts
+        for (int i = 0; i < 20_000; i++) {
+            long key = i % 3 == 0 ? -i : ((long) (i % 500) << 32) | (i % 97);
+            map.addTo(key, i % 5 + 1);
+            expected.merge(key, i % 5 + 1, Integer::sum);
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        expected.forEach((key, value) -> assertEquals(value, map.get(key, -1)));
+    }
+
+    @Test
+    void clear_RemovesAllEntries() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(0L, 1);
+        map.put(42L, 2);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(0L));
+        assertFalse(map.containsKey(42L));
+        map.forEach((key, value) -> fail("Unexpected entry " + key));
+    }
+}
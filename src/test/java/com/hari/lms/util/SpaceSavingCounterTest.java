@@ -0,0 +1,70 @@
+package com.hari.lms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpaceSavingCounter.
+ *
+ * @author Hari Parthu
+ */
+class SpaceSavingCounterTest {
+
+    @Test
+    void top_ExactCountsWithinCapacity() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(10);
+        counter.increment(1L, 5);
+        counter.increment(2L, 3);
+        counter.increment(3L, 7);
+
+        List<SpaceSavingCounter.Entry> top = counter.top(2);
+
+        assertEquals(2, top.size());
+        assertEquals(3L, top.get(0).getKey());
+        assertEquals(7, top.get(0).getCount());
+        assertEquals(1L, top.get(1).getKey());
+        assertEquals(0, top.get(1).getError());
+    }
+
+    @Test
+    void increment_WhenFull_ReplacesMinimumAndKeepsHeavyHitters() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(10);
+
+        // Two heavy keys mixed with a long tail of one-off keys; both are above total / capacity
+        for (long i = 0; i < 1000; i++) {
+            counter.increment(1L, 1);
+            if (i % 2 == 0) {
+                counter.increment(2L, 1);
+            }
+            counter.increment(100L + i, 1);
+        }
+
+        assertEquals(10, counter.size());
+        List<SpaceSavingCounter.Entry> top = counter.top(2);
+        assertEquals(1L, top.get(0).getKey());
+        assertEquals(2L, top.get(1).getKey());
+        // Counts never underestimate and the error bounds the overestimation
+        assertTrue(top.get(0).getCount() >= 1000);
+        assertTrue(top.get(0).getCount() - top.get(0).getError() <= 1000);
+    }
+
+    @Test
+    void decrementAndRemove_UpdateTrackedKeys() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(5);
+        counter.increment(1L, 2);
+        counter.increment(2L, 1);
+
+        counter.decrement(1L);
+        counter.decrement(1L);
+        counter.decrement(1L);
+        counter.remove(2L);
+        counter.decrement(42L);
+
+        assertEquals(0, counter.estimate(1L));
+        assertEquals(0, counter.estimate(2L));
+        assertEquals(1, counter.size());
+    }
+}